@@ -0,0 +1,103 @@
+package com.example.jalai_backend.service;
+
+import com.example.jalai_backend.dto.ProductSummaryProjection;
+import com.example.jalai_backend.model.Admin;
+import com.example.jalai_backend.model.Category;
+import com.example.jalai_backend.model.Client;
+import com.example.jalai_backend.model.Notification;
+import com.example.jalai_backend.model.Product;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+// Detached entities and projections shaped like real catalog rows, built once per trial
+final class BenchmarkData {
+
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2025, 7, 30, 10, 15, 30);
+
+    private BenchmarkData() {
+    }
+
+    static List<ProductSummaryProjection> summaryRows(int count) {
+        List<ProductSummaryProjection> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            rows.add(new ProductSummaryProjection(
+                    UUID.randomUUID(),
+                    "Product " + i,
+                    "Gently used item number " + i + ", collected from a local seller",
+                    new BigDecimal("1500.00").add(BigDecimal.valueOf(i)),
+                    "/api/images/" + UUID.randomUUID(),
+                    i % 5 == 0,
+                    i % 7 != 0,
+                    true,
+                    3.5 + (i % 3) * 0.5,
+                    i % 40,
+                    CREATED_AT.minusHours(i),
+                    CREATED_AT.minusHours(i).plusMinutes(5),
+                    UUID.randomUUID(),
+                    "Seller " + (i % 10),
+                    UUID.randomUUID(),
+                    "Category " + (i % 6),
+                    UUID.randomUUID(),
+                    "Admin"));
+        }
+        return rows;
+    }
+
+    static Product product() {
+        Admin admin = new Admin();
+        admin.setId(UUID.randomUUID());
+        admin.setName("Admin");
+
+        Client seller = new Client();
+        seller.setId(UUID.randomUUID());
+        seller.setName("Seller");
+        seller.setEmail("seller@jalai.test");
+
+        Category category = new Category();
+        category.setId(UUID.randomUUID());
+        category.setName("Furniture");
+
+        Product product = new Product();
+        product.setId(UUID.randomUUID());
+        product.setName("Wooden chair");
+        product.setDescription("Solid wood chair in good condition");
+        product.setPrice(new BigDecimal("12500.00"));
+        product.setImageUrl("/api/images/" + UUID.randomUUID());
+        product.setIsApproved(true);
+        product.setIsAvailable(true);
+        product.setIsDonated(false);
+        product.setCreatedAt(CREATED_AT);
+        product.setUpdatedAt(CREATED_AT.plusDays(1));
+        product.setSeller(seller);
+        product.setCategory(category);
+        product.setApprovedBy(admin);
+        return product;
+    }
+
+    static Notification notification() {
+        Client recipient = new Client();
+        recipient.setId(UUID.randomUUID());
+        recipient.setName("Client");
+
+        Admin sender = new Admin();
+        sender.setId(UUID.randomUUID());
+        sender.setName("Admin");
+
+        Notification notification = new Notification();
+        notification.setId(UUID.randomUUID());
+        notification.setTitle("Product approved");
+        notification.setMessage("Your product 'Wooden chair' has been approved and is now visible.");
+        notification.setType(Notification.NotificationType.PRODUCT_APPROVED);
+        notification.setCreatedAt(CREATED_AT);
+        notification.setUpdatedAt(CREATED_AT);
+        notification.setRelatedEntityId(UUID.randomUUID());
+        notification.setRelatedEntityType("PRODUCT");
+        notification.setRecipientClient(recipient);
+        notification.setSenderAdmin(sender);
+        return notification;
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.jalai_backend.service;
+
+import com.example.jalai_backend.dto.NotificationDTO;
+import com.example.jalai_backend.dto.ProductDetailDTO;
+import com.example.jalai_backend.dto.ProductSummaryDTO;
+import com.example.jalai_backend.dto.ProductSummaryProjection;
+import com.example.jalai_backend.model.Notification;
+import com.example.jalai_backend.model.Product;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Entity/projection to DTO conversions on the list, detail and notification paths.
+// Run with -prof gc (the default jmh.args) to see gc.alloc.rate.norm, the bytes
+// allocated per operation.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DtoConversionBenchmark {
+
+    private ProductService productService;
+    private NotificationService notificationService;
+    private ProductSummaryProjection row;
+    private Product product;
+    private Notification notification;
+
+    @Setup
+    public void setUp() {
+        // The conversions touch no collaborators, so the services need no Spring context
+        productService = new ProductService();
+        notificationService = new NotificationService();
+        row = BenchmarkData.summaryRows(1).get(0);
+        product = BenchmarkData.product();
+        notification = BenchmarkData.notification();
+    }
+
+    @Benchmark
+    public ProductSummaryDTO summary() {
+        return productService.convertToSummaryDTO(row);
+    }
+
+    @Benchmark
+    public void summaryPage(SummaryPage page, Blackhole blackhole) {
+        for (ProductSummaryProjection pageRow : page.rows) {
+            blackhole.consume(productService.convertToSummaryDTO(pageRow));
+        }
+    }
+
+    @Benchmark
+    public ProductDetailDTO detail() {
+        return productService.convertToDetailDTO(product);
+    }
+
+    @Benchmark
+    public NotificationDTO notification() {
+        return notificationService.convertToDTO(notification);
+    }
+
+    // Only the page benchmarks take the page size, so the single-object ones run once
+    @State(Scope.Benchmark)
+    public static class SummaryPage {
+
+        @Param({"10", "100"})
+        private int pageSize;
+
+        private List<ProductSummaryProjection> rows;
+
+        @Setup
+        public void setUp() {
+            rows = BenchmarkData.summaryRows(pageSize);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.jalai_backend.service;
+
+import com.example.jalai_backend.dto.ProductSummaryDTO;
+import com.example.jalai_backend.dto.ProductSummaryProjection;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Cost of writing a Page<ProductSummaryDTO> response body, alone and together with
+// the conversion that produces it
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProductPageSerializationBenchmark {
+
+    @Param({"10", "100"})
+    private int pageSize;
+
+    private ObjectMapper objectMapper;
+    private ProductService productService;
+    private PageRequest pageRequest;
+    private List<ProductSummaryProjection> rows;
+    private Page<ProductSummaryDTO> page;
+
+    @Setup
+    public void setUp() {
+        // Same settings as the application's spring.jackson.* properties
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS,
+                        SerializationFeature.FAIL_ON_EMPTY_BEANS)
+                .build();
+        productService = new ProductService();
+        pageRequest = PageRequest.of(0, pageSize);
+        rows = BenchmarkData.summaryRows(pageSize);
+        page = new PageImpl<>(rows.stream().map(productService::convertToSummaryDTO).toList(),
+                pageRequest, 1000);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] convertAndSerialize() throws JsonProcessingException {
+        List<ProductSummaryDTO> content = rows.stream().map(productService::convertToSummaryDTO).toList();
+        return objectMapper.writeValueAsBytes(new PageImpl<>(content, pageRequest, 1000));
+    }
+}
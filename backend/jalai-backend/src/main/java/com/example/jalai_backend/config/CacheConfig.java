@@ -0,0 +1,44 @@
+package com.example.jalai_backend.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Bounded caches backed by Caffeine (W-TinyLFU admission and eviction). Each cache
+ * gets its own maximum weight and time to live from {@link CacheSettings} and
+ * records statistics, which Actuator publishes as cache.gets / cache.puts /
+ * cache.evictions metrics and lists under /actuator/caches.
+ */
+@Configuration
+@EnableConfigurationProperties(CacheSettings.class)
+public class CacheConfig {
+
+    @Bean
+    public CacheManager cacheManager(CacheSettings settings) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        // Only the configured caches exist; an unknown cache name fails instead of growing unbounded
+        cacheManager.setCacheNames(List.of());
+        settings.getCaches().forEach((name, spec) -> cacheManager.registerCustomCache(name, Caffeine.newBuilder()
+                .maximumWeight(spec.getMaxWeight())
+                .weigher(CacheConfig::weigh)
+                .expireAfterWrite(spec.getTtl())
+                .recordStats()
+                .build()));
+        return cacheManager;
+    }
+
+    // Size-aware weight: collections count their elements, anything else counts once
+    private static int weigh(Object key, Object value) {
+        if (value instanceof Collection<?> collection) {
+            return Math.max(1, collection.size());
+        }
+        return 1;
+    }
+}
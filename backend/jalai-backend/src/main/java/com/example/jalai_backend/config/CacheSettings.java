@@ -0,0 +1,26 @@
+package com.example.jalai_backend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Per-cache limits, bound from jalai.cache.caches.&lt;name&gt;.max-weight / ttl.
+ * Every cache used with @Cacheable must be listed here.
+ */
+@Data
+@ConfigurationProperties(prefix = "jalai.cache")
+public class CacheSettings {
+
+    private Map<String, Spec> caches = new LinkedHashMap<>();
+
+    @Data
+    public static class Spec {
+        // Total weight the cache may hold; a cached list weighs one per element
+        private long maxWeight = 1000;
+        private Duration ttl = Duration.ofMinutes(10);
+    }
+}
@@ -132,7 +132,7 @@ public class AdminController {
     public ResponseEntity<?> getClient(@PathVariable String id) {
         try {
             UUID clientId = UUID.fromString(id);
-            Client client = clientRepository.findById(clientId)
+            Client client = clientRepository.findWithManagerById(clientId)
                     .orElseThrow(() -> new RuntimeException("Client not found"));
             return ResponseEntity.ok(client);
         } catch (Exception e) {
@@ -149,7 +149,7 @@ public class AdminController {
             @RequestParam Boolean status) {
         try {
             UUID clientId = UUID.fromString(id);
-            Client client = clientRepository.findById(clientId)
+            Client client = clientRepository.findWithManagerById(clientId)
                     .orElseThrow(() -> new RuntimeException("Client not found"));
 
             client.setIsActive(status);
@@ -192,15 +192,18 @@ public class AdminController {
 
             // Get recent orders (last 5)
             Pageable recentPageable = PageRequest.of(0, 5);
-            Page<Order> recentOrders = orderRepository.findAll(recentPageable);
+            List<UUID> recentOrderIds = orderRepository.findRecentIds(recentPageable).getContent();
+            List<Order> recentOrders = recentOrderIds.isEmpty()
+                    ? List.of()
+                    : orderRepository.findWithAssociationsByOrderIdIn(recentOrderIds);
 
             // Get recent clients (last 5)
-            Page<Client> recentClients = clientRepository.findAll(recentPageable);
+            Page<Client> recentClients = clientRepository.findAllWithManager(recentPageable);
 
             // Get recent donations (last 5)
             Page<Donation> recentDonations = donationRepository.findAll(recentPageable);
 
-            activity.put("recentOrders", recentOrders.getContent());
+            activity.put("recentOrders", recentOrders);
             activity.put("recentClients", recentClients.getContent());
             activity.put("recentDonations", recentDonations.getContent());
 
@@ -4,9 +4,11 @@ import com.example.jalai_backend.model.Category;
 import com.example.jalai_backend.service.CategoryService;
 import com.example.jalai_backend.dto.MessageResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.Optional;
@@ -22,10 +24,15 @@ public class CategoryController {
 
     // Public endpoints (no authentication required)
     @GetMapping("/public")
-    public ResponseEntity<?> getAllCategoriesPublic() {
+    public ResponseEntity<?> getAllCategoriesPublic(WebRequest request) {
         try {
+            // Answer 304 from the list version alone, before loading the categories
+            String etag = categoryService.getCategoriesEtag();
+            if (request.checkNotModified(etag)) {
+                return null;
+            }
             List<Category> categories = categoryService.getAllCategories();
-            return ResponseEntity.ok(categories);
+            return ResponseEntity.ok().cacheControl(CacheControl.noCache()).eTag(etag).body(categories);
         } catch (Exception e) {
             return ResponseEntity.badRequest()
                     .body(new MessageResponse("Error: " + e.getMessage()));
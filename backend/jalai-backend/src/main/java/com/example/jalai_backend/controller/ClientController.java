@@ -1,7 +1,11 @@
 package com.example.jalai_backend.controller;
 
 import com.example.jalai_backend.model.Client;
+import com.example.jalai_backend.service.CartService;
 import com.example.jalai_backend.service.ClientService;
+import com.example.jalai_backend.service.DonationService;
+import com.example.jalai_backend.service.OrderService;
+import com.example.jalai_backend.service.ReviewService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -20,6 +24,18 @@ public class ClientController {
     @Autowired
     private ClientService clientService;
 
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private DonationService donationService;
+
+    @Autowired
+    private CartService cartService;
+
+    @Autowired
+    private ReviewService reviewService;
+
     @GetMapping("/profile/{id}")
     @PreAuthorize("hasRole('CLIENT') or hasRole('ADMIN')")
     public ResponseEntity<?> getClientProfile(@PathVariable UUID id) {
@@ -63,9 +79,10 @@ public class ClientController {
     @PreAuthorize("hasRole('CLIENT') or hasRole('ADMIN')")
     public ResponseEntity<?> getClientOrders(@PathVariable UUID id) {
         try {
-            Client client = clientService.getClientById(id)
-                    .orElseThrow(() -> new RuntimeException("Client not found"));
-            return ResponseEntity.ok(client.getOrders());
+            if (clientService.getClientById(id).isEmpty()) {
+                throw new RuntimeException("Client not found");
+            }
+            return ResponseEntity.ok(orderService.getOrdersByClient(id));
         } catch (Exception e) {
             return ResponseEntity.badRequest()
                     .body(new MessageResponse("Error: " + e.getMessage()));
@@ -76,9 +93,10 @@ public class ClientController {
     @PreAuthorize("hasRole('CLIENT') or hasRole('ADMIN')")
     public ResponseEntity<?> getClientDonations(@PathVariable UUID id) {
         try {
-            Client client = clientService.getClientById(id)
-                    .orElseThrow(() -> new RuntimeException("Client not found"));
-            return ResponseEntity.ok(client.getDonations());
+            if (clientService.getClientById(id).isEmpty()) {
+                throw new RuntimeException("Client not found");
+            }
+            return ResponseEntity.ok(donationService.getDonationsByClient(id));
         } catch (Exception e) {
             return ResponseEntity.badRequest()
                     .body(new MessageResponse("Error: " + e.getMessage()));
@@ -89,9 +107,10 @@ public class ClientController {
     @PreAuthorize("hasRole('CLIENT') or hasRole('ADMIN')")
     public ResponseEntity<?> getClientCart(@PathVariable UUID id) {
         try {
-            Client client = clientService.getClientById(id)
-                    .orElseThrow(() -> new RuntimeException("Client not found"));
-            return ResponseEntity.ok(client.getCartItems());
+            if (clientService.getClientById(id).isEmpty()) {
+                throw new RuntimeException("Client not found");
+            }
+            return ResponseEntity.ok(cartService.getCartItemsByClient(id));
         } catch (Exception e) {
             return ResponseEntity.badRequest()
                     .body(new MessageResponse("Error: " + e.getMessage()));
@@ -102,9 +121,10 @@ public class ClientController {
     @PreAuthorize("hasRole('CLIENT') or hasRole('ADMIN')")
     public ResponseEntity<?> getClientReviews(@PathVariable UUID id) {
         try {
-            Client client = clientService.getClientById(id)
-                    .orElseThrow(() -> new RuntimeException("Client not found"));
-            return ResponseEntity.ok(client.getReviews());
+            if (clientService.getClientById(id).isEmpty()) {
+                throw new RuntimeException("Client not found");
+            }
+            return ResponseEntity.ok(reviewService.getReviewsByClient(id));
         } catch (Exception e) {
             return ResponseEntity.badRequest()
                     .body(new MessageResponse("Error: " + e.getMessage()));
@@ -1,17 +1,31 @@
 package com.example.jalai_backend.controller;
 
 import com.example.jalai_backend.dto.MessageResponse;
+import com.example.jalai_backend.exception.ImageQueueFullException;
+import com.example.jalai_backend.model.Image;
+import com.example.jalai_backend.security.CustomUserDetailsService;
+import com.example.jalai_backend.service.ImageProcessingPipeline;
 import com.example.jalai_backend.service.ImageService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
 import java.util.Map;
 import java.util.UUID;
 
@@ -23,12 +37,19 @@ public class ImageController {
     @Autowired
     private ImageService imageService;
 
+    @Autowired
+    private ImageProcessingPipeline imageProcessingPipeline;
+
+    // Suggested wait before retrying an upload refused with 429
+    private static final String RETRY_AFTER_SECONDS = "5";
+
     /**
-     * Upload image file and return image ID for product creation
+     * Upload image file and return image ID for product creation. Resizing happens in
+     * the background: the image is PROCESSING until GET /{imageId}/status says READY.
      */
     @PostMapping("/upload")
     @PreAuthorize("hasRole('CLIENT')")
-    public ResponseEntity<?> uploadImage(@RequestParam("file") MultipartFile file) {
+    public ResponseEntity<?> uploadImage(@RequestParam("file") MultipartFile file, Authentication authentication) {
         try {
             // Validate file
             if (file.isEmpty()) {
@@ -49,17 +70,25 @@ public class ImageController {
                     .body(new MessageResponse("Error: File size must be less than 5MB"));
             }
 
-            // Save image and get ID
-            UUID imageId = imageService.saveImage(file);
+            // Store the upload and queue it for processing
+            UUID imageId = imageProcessingPipeline.submit(file.getBytes(), file.getOriginalFilename(), contentType,
+                    uploaderId(authentication));
             
             Map<String, Object> response = new HashMap<>();
             response.put("imageId", imageId);
             response.put("filename", file.getOriginalFilename());
             response.put("size", file.getSize());
             response.put("contentType", contentType);
+            // An identical earlier upload may already be READY
+            response.put("status", imageService.getImageStatus(imageId));
+            response.put("statusUrl", "/api/images/" + imageId + "/status");
             response.put("message", "Image uploaded successfully");
 
-            return ResponseEntity.ok(response);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+        } catch (ImageQueueFullException e) {
+            return queueFull(e);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new MessageResponse("Error: " + e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                 .body(new MessageResponse("Error uploading image: " + e.getMessage()));
@@ -67,23 +96,68 @@ public class ImageController {
     }
 
     /**
-     * Get image by ID
+     * Get image by ID, optionally as a smaller rendition (size=thumbnail|card|full,
+     * or 160|400|800). The body is streamed from the blob store through a small copy
+     * buffer, so the image is never loaded into memory as a whole.
+     *
+     * The ETag is the content hash of the served file. If-None-Match / If-Modified-Since
+     * get 304, and a Range request gets 206 with only the requested bytes (honouring
+     * If-Range), so interrupted downloads can resume.
      */
     @GetMapping("/{imageId}")
-    public ResponseEntity<byte[]> getImage(@PathVariable UUID imageId) {
+    public ResponseEntity<?> getImage(@PathVariable UUID imageId,
+            @RequestParam(required = false) String size,
+            @RequestHeader HttpHeaders requestHeaders,
+            WebRequest request) {
+        Image.Variant variant = Image.Variant.fromParam(size);
+        if (variant == null) {
+            return ResponseEntity.badRequest()
+                .body(new MessageResponse("Error: size must be one of thumbnail, card or full"));
+        }
+        if (!imageService.imageMightExist(imageId)) {
+            return ResponseEntity.notFound().build();
+        }
         try {
-            ImageService.ImageData imageData = imageService.getImage(imageId);
+            ImageService.ImageData imageData = imageService.getImage(imageId, variant);
             
             if (imageData == null) {
+                // Still being resized: tell the client to come back instead of a 404
+                if (imageService.getImageStatus(imageId) == Image.Status.PROCESSING) {
+                    return ResponseEntity.status(HttpStatus.ACCEPTED)
+                        .header(HttpHeaders.RETRY_AFTER, "1")
+                        .body(new MessageResponse("Image is still being processed"));
+                }
                 return ResponseEntity.notFound().build();
             }
 
+            // Files are immutable: a blob key always names the same bytes
+            String etag = "\"" + imageData.getContentHash() + "\"";
+            long lastModified = imageData.getLastModified() != null
+                ? imageData.getLastModified().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()
+                : -1;
+            if (request.checkNotModified(etag, lastModified)) {
+                return null;
+            }
+
+            Resource resource = imageData.getResource();
             HttpHeaders headers = new HttpHeaders();
             headers.setContentType(MediaType.parseMediaType(imageData.getContentType()));
-            headers.setContentLength(imageData.getData().length);
             headers.set("Cache-Control", "public, max-age=31536000"); // Cache for 1 year
-            
-            return new ResponseEntity<>(imageData.getData(), headers, HttpStatus.OK);
+            headers.set(HttpHeaders.ACCEPT_RANGES, "bytes");
+            headers.setETag(etag);
+            if (lastModified >= 0) {
+                headers.setLastModified(lastModified);
+            }
+
+            // Spring answers a Range header on a Resource body itself (206, or 416 with
+            // Content-Range) and copies only the requested bytes. It does not check
+            // If-Range, so a stale one gets a plain stream that it sends whole.
+            String ifRange = requestHeaders.getFirst(HttpHeaders.IF_RANGE);
+            if (requestHeaders.getFirst(HttpHeaders.RANGE) != null && !rangeStillValid(ifRange, etag, lastModified)) {
+                headers.setContentLength(resource.contentLength());
+                return new ResponseEntity<>(new InputStreamResource(resource.getInputStream()), headers, HttpStatus.OK);
+            }
+            return new ResponseEntity<>(resource, headers, HttpStatus.OK);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
@@ -94,25 +168,34 @@ public class ImageController {
      */
     @PostMapping("/upload-base64")
     @PreAuthorize("hasRole('CLIENT')")
-    public ResponseEntity<?> uploadBase64Image(@RequestBody Base64ImageRequest request) {
+    public ResponseEntity<?> uploadBase64Image(@RequestBody Base64ImageRequest request,
+            Authentication authentication) {
         try {
             if (request.getImageData() == null || request.getImageData().trim().isEmpty()) {
                 return ResponseEntity.badRequest()
                     .body(new MessageResponse("Error: Image data is required"));
             }
 
-            UUID imageId = imageService.saveBase64Image(
-                request.getImageData(), 
+            UUID imageId = imageProcessingPipeline.submit(
+                ImageService.decodeBase64Image(request.getImageData()),
                 request.getFilename(), 
-                request.getContentType()
+                request.getContentType(),
+                uploaderId(authentication)
             );
             
             Map<String, Object> response = new HashMap<>();
             response.put("imageId", imageId);
             response.put("filename", request.getFilename());
+            // An identical earlier upload may already be READY
+            response.put("status", imageService.getImageStatus(imageId));
+            response.put("statusUrl", "/api/images/" + imageId + "/status");
             response.put("message", "Image uploaded successfully");
 
-            return ResponseEntity.ok(response);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+        } catch (ImageQueueFullException e) {
+            return queueFull(e);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new MessageResponse("Error: " + e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                 .body(new MessageResponse("Error uploading image: " + e.getMessage()));
@@ -120,13 +203,17 @@ public class ImageController {
     }
 
     /**
-     * Delete image by ID
+     * Delete image by ID. A client gives up one of their own uploads of it and gets 404
+     * when they hold none (an image from before uploads were recorded just loses one
+     * reference); an admin removes the image outright.
      */
     @DeleteMapping("/{imageId}")
     @PreAuthorize("hasRole('CLIENT') or hasRole('ADMIN')")
-    public ResponseEntity<?> deleteImage(@PathVariable UUID imageId) {
+    public ResponseEntity<?> deleteImage(@PathVariable UUID imageId, Authentication authentication) {
         try {
-            boolean deleted = imageService.deleteImage(imageId);
+            boolean isAdmin = authentication.getAuthorities().stream()
+                .anyMatch(authority -> "ROLE_ADMIN".equals(authority.getAuthority()));
+            boolean deleted = imageService.deleteImage(imageId, isAdmin ? null : uploaderId(authentication));
             if (deleted) {
                 return ResponseEntity.ok(new MessageResponse("Image deleted successfully"));
             } else {
@@ -138,6 +225,34 @@ public class ImageController {
         }
     }
 
+    /**
+     * Processing state of an upload, for clients to poll until it is READY (or FAILED)
+     */
+    @GetMapping("/{imageId}/status")
+    public ResponseEntity<?> getImageStatus(@PathVariable UUID imageId) {
+        try {
+            Image.Status status = imageService.getImageStatus(imageId);
+            if (status == null) {
+                return ResponseEntity.notFound().build();
+            }
+            Map<String, Object> response = new HashMap<>();
+            response.put("imageId", imageId);
+            response.put("status", status);
+            if (status == Image.Status.READY) {
+                Map<String, String> variants = new LinkedHashMap<>();
+                for (Image.Variant variant : Image.Variant.values()) {
+                    variants.put(variant.name().toLowerCase(Locale.ROOT),
+                        ImageService.variantUrl("/api/images/" + imageId, variant));
+                }
+                response.put("variants", variants);
+            }
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(new MessageResponse("Error getting image status: " + e.getMessage()));
+        }
+    }
+
     /**
      * Get image metadata
      */
@@ -155,7 +270,41 @@ public class ImageController {
         }
     }
 
+    // If-Range: serve the requested range only if the client's copy is still current,
+    // judged by a strong ETag or an exact Last-Modified date
+    private static boolean rangeStillValid(String ifRange, String etag, long lastModified) {
+        if (ifRange == null) {
+            return true;
+        }
+        if (ifRange.startsWith("\"")) {
+            return ifRange.equals(etag);
+        }
+        if (ifRange.startsWith("W/")) {
+            return false;
+        }
+        try {
+            long date = ZonedDateTime.parse(ifRange, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant().toEpochMilli();
+            return lastModified >= 0 && date / 1000 == lastModified / 1000;
+        } catch (DateTimeParseException e) {
+            return false;
+        }
+    }
+
+    private ResponseEntity<?> queueFull(ImageQueueFullException e) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+            .header(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS)
+            .body(new MessageResponse("Error: " + e.getMessage()));
+    }
+
     // DTOs
+    // Uploads are recorded against the user id from the token, not the changeable email
+    private static String uploaderId(Authentication authentication) {
+        if (authentication.getPrincipal() instanceof CustomUserDetailsService.CustomUserPrincipal principal) {
+            return principal.getId();
+        }
+        return authentication.getName();
+    }
+
     public static class Base64ImageRequest {
         private String imageData;
         private String filename;
@@ -54,7 +54,7 @@ public class NotificationController {
     @PreAuthorize("hasRole('CLIENT') or hasRole('ADMIN')")
     public ResponseEntity<?> getUnreadNotificationsByClient(@PathVariable UUID clientId) {
         try {
-            List<Notification> notifications = notificationService.getUnreadNotificationsByClient(clientId);
+            List<NotificationDTO> notifications = notificationService.getUnreadNotificationsByClient(clientId);
             return ResponseEntity.ok(notifications);
         } catch (Exception e) {
             return ResponseEntity.badRequest()
@@ -83,7 +83,7 @@ public class NotificationController {
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size) {
         try {
-            Page<Notification> notifications = notificationService.getNotificationsByClientPaginated(clientId, page,
+            Page<NotificationDTO> notifications = notificationService.getNotificationsByClientPaginated(clientId, page,
                     size);
             return ResponseEntity.ok(notifications);
         } catch (Exception e) {
@@ -97,7 +97,7 @@ public class NotificationController {
     @PreAuthorize("hasRole('CLIENT') or hasRole('ADMIN')")
     public ResponseEntity<?> markAsRead(@PathVariable UUID notificationId) {
         try {
-            Notification notification = notificationService.markAsRead(notificationId);
+            NotificationDTO notification = notificationService.markAsRead(notificationId);
             return ResponseEntity.ok(notification);
         } catch (Exception e) {
             return ResponseEntity.badRequest()
@@ -125,7 +125,7 @@ public class NotificationController {
             @PathVariable UUID clientId,
             @RequestParam(defaultValue = "7") int days) {
         try {
-            List<Notification> notifications = notificationService.getRecentNotifications(clientId, days);
+            List<NotificationDTO> notifications = notificationService.getRecentNotifications(clientId, days);
             return ResponseEntity.ok(notifications);
         } catch (Exception e) {
             return ResponseEntity.badRequest()
@@ -140,7 +140,7 @@ public class NotificationController {
             @PathVariable UUID clientId,
             @RequestParam(defaultValue = "5") int limit) {
         try {
-            List<Notification> notifications = notificationService.getLatestNotifications(clientId, limit);
+            List<NotificationDTO> notifications = notificationService.getLatestNotifications(clientId, limit);
             return ResponseEntity.ok(notifications);
         } catch (Exception e) {
             return ResponseEntity.badRequest()
@@ -155,7 +155,7 @@ public class NotificationController {
             @PathVariable UUID clientId,
             @PathVariable Notification.NotificationType type) {
         try {
-            List<Notification> notifications = notificationService.getNotificationsByTypeAndClient(clientId, type);
+            List<NotificationDTO> notifications = notificationService.getNotificationsByTypeAndClient(clientId, type);
             return ResponseEntity.ok(notifications);
         } catch (Exception e) {
             return ResponseEntity.badRequest()
@@ -170,7 +170,7 @@ public class NotificationController {
             @PathVariable UUID clientId,
             @RequestBody CustomNotificationRequest request) {
         try {
-            Notification notification = notificationService.createCustomNotification(
+            NotificationDTO notification = notificationService.createCustomNotification(
                     clientId, request.getTitle(), request.getMessage(), request.getType());
             return ResponseEntity.ok(notification);
         } catch (Exception e) {
@@ -209,7 +209,7 @@ public class NotificationController {
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<?> getNotificationsByType(@PathVariable Notification.NotificationType type) {
         try {
-            List<Notification> notifications = notificationService.getNotificationsByType(type);
+            List<NotificationDTO> notifications = notificationService.getNotificationsByType(type);
             return ResponseEntity.ok(notifications);
         } catch (Exception e) {
             return ResponseEntity.badRequest()
@@ -3,6 +3,7 @@ package com.example.jalai_backend.controller;
 import com.example.jalai_backend.model.Orphanage;
 import com.example.jalai_backend.repository.OrphanageRepository;
 import com.example.jalai_backend.dto.MessageResponse;
+import com.example.jalai_backend.service.OrphanageService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -28,6 +29,9 @@ public class OrphanageController {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private OrphanageService orphanageService;
+
     @GetMapping
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<?> getAllOrphanagesForAdmin(
@@ -55,7 +59,7 @@ public class OrphanageController {
                 orphanages = orphanageRepository.findByLocationContainingIgnoreCase(location.trim());
                 System.out.println("Filtered by location: " + orphanages.size() + " results");
             } else if (name != null && !name.trim().isEmpty()) {
-                orphanages = orphanageRepository.findByNameContainingIgnoreCase(name.trim());
+                orphanages = orphanageService.searchOrphanagesByName(name.trim(), false);
                 System.out.println("Filtered by name: " + orphanages.size() + " results");
             } else if (active != null) {
                 orphanages = active ? orphanageRepository.findByIsActiveTrue()
@@ -118,7 +122,7 @@ public class OrphanageController {
                 orphanages = orphanageRepository.findByLocationContainingIgnoreCaseAndIsActiveTrue(location.trim());
                 System.out.println("Filtered by location (active only): " + orphanages.size() + " results");
             } else if (name != null && !name.trim().isEmpty()) {
-                orphanages = orphanageRepository.findByNameContainingIgnoreCaseAndIsActiveTrue(name.trim());
+                orphanages = orphanageService.searchOrphanagesByName(name.trim(), true);
                 System.out.println("Filtered by name (active only): " + orphanages.size() + " results");
             } else {
                 // Get all active orphanages
@@ -180,7 +184,7 @@ public class OrphanageController {
             List<Orphanage> results;
 
             if (query != null && !query.trim().isEmpty()) {
-                results = orphanageRepository.findByNameContainingIgnoreCase(query.trim());
+                results = orphanageService.searchOrphanagesByName(query.trim(), false);
             } else if (location != null && !location.trim().isEmpty()) {
                 results = orphanageRepository.findByLocationContainingIgnoreCase(location.trim());
             } else {
@@ -1,7 +1,10 @@
 package com.example.jalai_backend.controller;
 
+import com.example.jalai_backend.dto.BulkModerationRequest;
+import com.example.jalai_backend.dto.BulkModerationResult;
 import com.example.jalai_backend.dto.ProductSummaryDTO;
 import com.example.jalai_backend.dto.ProductDetailDTO;
+import com.example.jalai_backend.dto.Versioned;
 import com.example.jalai_backend.model.Product;
 import com.example.jalai_backend.service.ProductService;
 import jakarta.validation.Valid;
@@ -9,9 +12,14 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.math.BigDecimal;
 import java.util.List;
@@ -23,15 +31,29 @@ import java.util.UUID;
 @CrossOrigin(origins = "*", maxAge = 3600)
 public class ProductController {
 
+    // Listing modes: classic offset pages, count-free slices for infinite scroll,
+    // or keyset pages with an opaque cursor
+    private static final String MODE_PAGE = "page";
+    private static final String MODE_SLICE = "slice";
+    private static final String MODE_CURSOR = "cursor";
+
     @Autowired
     private ProductService productService;
 
     @GetMapping
     public ResponseEntity<?> getAllProducts(
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = MODE_PAGE) String mode,
+            @RequestParam(required = false) String cursor) {
         try {
+            if (MODE_CURSOR.equalsIgnoreCase(mode)) {
+                return ResponseEntity.ok(productService.getProductSummariesAfter(cursor, size));
+            }
             Pageable pageable = PageRequest.of(page, size);
+            if (MODE_SLICE.equalsIgnoreCase(mode)) {
+                return ResponseEntity.ok(productService.getProductSummarySlice(pageable));
+            }
             // Use summary DTO to avoid large image data in list responses
             Page<ProductSummaryDTO> products = productService.getProductSummariesWithPagination(pageable);
             return ResponseEntity.ok(products);
@@ -42,10 +64,34 @@ public class ProductController {
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<?> getProductById(@PathVariable UUID id) {
+    public ResponseEntity<?> getProductById(@PathVariable UUID id, WebRequest request) {
+        if (!productService.productMightExist(id)) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(new MessageResponse("Error: Product not found"));
+        }
+        try {
+            Versioned<ProductDetailDTO> product = productService.getProductDetailIfModified(id,
+                    request::checkNotModified);
+            if (product.isNotModified()) {
+                return null; // 304, status and ETag already set by checkNotModified
+            }
+            return withEtag(product.getEtag(), product.getBody());
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(new MessageResponse("Error: " + e.getMessage()));
+        }
+    }
+
+    @GetMapping("/{id}/related")
+    public ResponseEntity<?> getRelatedProducts(@PathVariable UUID id,
+            @RequestParam(defaultValue = "8") int limit) {
+        if (!productService.productMightExist(id)) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(new MessageResponse("Error: Product not found"));
+        }
         try {
-            ProductDetailDTO product = productService.getProductDetailById(id);
-            return ResponseEntity.ok(product);
+            // Precomputed from co-purchases, category and price, served from memory
+            return ResponseEntity.ok(productService.getRelatedProducts(id, limit));
         } catch (Exception e) {
             return ResponseEntity.badRequest()
                     .body(new MessageResponse("Error: " + e.getMessage()));
@@ -108,10 +154,19 @@ public class ProductController {
     public ResponseEntity<?> getProductsByCategory(
             @PathVariable UUID categoryId,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = MODE_PAGE) String mode,
+            @RequestParam(required = false) String cursor) {
         try {
+            if (MODE_CURSOR.equalsIgnoreCase(mode)) {
+                return ResponseEntity.ok(productService.getProductSummariesByCategoryAfter(categoryId, cursor, size));
+            }
             Pageable pageable = PageRequest.of(page, size);
-            Page<Product> products = productService.getProductsByCategoryWithPagination(categoryId, pageable);
+            if (MODE_SLICE.equalsIgnoreCase(mode)) {
+                return ResponseEntity.ok(productService.getProductSummarySliceByCategory(categoryId, pageable));
+            }
+            Page<ProductSummaryDTO> products = productService.getProductSummariesByCategoryWithPagination(categoryId,
+                    pageable);
             return ResponseEntity.ok(products);
         } catch (Exception e) {
             return ResponseEntity.badRequest()
@@ -132,9 +187,14 @@ public class ProductController {
     }
 
     @GetMapping("/search")
-    public ResponseEntity<?> searchProducts(@RequestParam String keyword) {
+    public ResponseEntity<?> searchProducts(
+            @RequestParam String keyword,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size) {
         try {
-            List<Product> products = productService.searchProductsByKeyword(keyword);
+            Pageable pageable = PageRequest.of(page, size);
+            // Ranked results from the in-memory search index
+            Page<ProductSummaryDTO> products = productService.searchProductSummaries(keyword, pageable);
             return ResponseEntity.ok(products);
         } catch (Exception e) {
             return ResponseEntity.badRequest()
@@ -142,12 +202,49 @@ public class ProductController {
         }
     }
 
+    @GetMapping("/suggest")
+    public ResponseEntity<?> suggestProducts(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "8") int limit) {
+        try {
+            // Top completions by popularity from the in-memory suggestion index
+            return ResponseEntity.ok(productService.getSuggestions(q, limit));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(new MessageResponse("Error: " + e.getMessage()));
+        }
+    }
+
+    @GetMapping("/facets")
+    public ResponseEntity<?> getProductFacets(
+            @RequestParam(required = false) UUID categoryId,
+            @RequestParam(required = false) String priceBucket,
+            @RequestParam(required = false) Boolean donated,
+            @RequestParam(required = false) Boolean available) {
+        if (!productService.productFacetsReady()) {
+            // Loaded once the application is up; a request never triggers the load
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body(new MessageResponse("Error: Product facets are still loading"));
+        }
+        try {
+            return ResponseEntity.ok(productService.getProductFacets(categoryId, priceBucket, donated, available));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(new MessageResponse("Error: " + e.getMessage()));
+        }
+    }
+
     @GetMapping("/price-range")
     public ResponseEntity<?> getProductsByPriceRange(
             @RequestParam BigDecimal minPrice,
-            @RequestParam BigDecimal maxPrice) {
+            @RequestParam BigDecimal maxPrice,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size) {
         try {
-            List<Product> products = productService.getProductsByPriceRange(minPrice, maxPrice);
+            Pageable pageable = PageRequest.of(page, size);
+            Page<ProductSummaryDTO> products = productService.getProductSummariesByPriceRange(minPrice, maxPrice,
+                    pageable);
             return ResponseEntity.ok(products);
         } catch (Exception e) {
             return ResponseEntity.badRequest()
@@ -195,7 +292,7 @@ public class ProductController {
     @GetMapping("/top-rated")
     public ResponseEntity<?> getTopRatedProducts() {
         try {
-            List<Product> products = productService.getTopRatedProducts();
+            List<ProductSummaryDTO> products = productService.getTopRatedProducts();
             return ResponseEntity.ok(products);
         } catch (Exception e) {
             return ResponseEntity.badRequest()
@@ -204,9 +301,9 @@ public class ProductController {
     }
 
     @GetMapping("/recent")
-    public ResponseEntity<?> getRecentProducts() {
+    public ResponseEntity<?> getRecentProducts(@RequestParam(defaultValue = "10") int limit) {
         try {
-            List<Product> products = productService.getRecentProducts();
+            List<ProductSummaryDTO> products = productService.getRecentProducts(limit);
             return ResponseEntity.ok(products);
         } catch (Exception e) {
             return ResponseEntity.badRequest()
@@ -250,6 +347,14 @@ public class ProductController {
         }
     }
 
+    // Conditional-GET responses must be revalidated, never served from a cache unchecked
+    private static ResponseEntity<?> withEtag(String etag, Object body) {
+        if (etag == null) {
+            return ResponseEntity.ok(body);
+        }
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).eTag(etag).body(body);
+    }
+
     // DTOs
     public static class ProductCreateRequest {
         private String name;
@@ -365,14 +470,50 @@ public class ProductController {
         }
     }
 
+    // Whole storefront catalog as JSON Lines for partner feeds, streamed as it is read
+    @GetMapping(value = "/export", produces = "application/x-ndjson")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportCatalog() {
+        StreamingResponseBody body = out -> productService.exportApprovedCatalog(out);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"catalog.jsonl\"")
+                .body(body);
+    }
+
+    @PostMapping("/moderation/bulk")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> moderateProducts(@RequestBody BulkModerationRequest request) {
+        try {
+            BulkModerationResult result = productService.moderateProducts(request);
+            return ResponseEntity.ok(result);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(new MessageResponse("Error: " + e.getMessage()));
+        }
+    }
+
     @GetMapping("/approved")
     public ResponseEntity<?> getApprovedProducts(
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = MODE_PAGE) String mode,
+            @RequestParam(required = false) String cursor,
+            WebRequest request) {
         try {
+            if (MODE_CURSOR.equalsIgnoreCase(mode)) {
+                return ResponseEntity.ok(productService.getApprovedProductSummariesAfter(cursor, size));
+            }
+            // Read the catalog version before the page, so the ETag is never newer than the content
+            String etag = productService.getStorefrontEtag();
+            if (etag != null && request.checkNotModified(etag)) {
+                return null;
+            }
             Pageable pageable = PageRequest.of(page, size);
+            if (MODE_SLICE.equalsIgnoreCase(mode)) {
+                return withEtag(etag, productService.getApprovedProductSummarySlice(pageable));
+            }
             Page<ProductSummaryDTO> products = productService.getApprovedProductSummariesWithPagination(pageable);
-            return ResponseEntity.ok(products);
+            return withEtag(etag, products);
         } catch (Exception e) {
             return ResponseEntity.badRequest()
                     .body(new MessageResponse("Error: " + e.getMessage()));
@@ -383,12 +524,22 @@ public class ProductController {
     public ResponseEntity<?> getApprovedProductsByCategory(
             @PathVariable String categoryName,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "4") int size) {
+            @RequestParam(defaultValue = "4") int size,
+            @RequestParam(defaultValue = MODE_PAGE) String mode,
+            WebRequest request) {
         try {
+            String etag = productService.getStorefrontEtag();
+            if (etag != null && request.checkNotModified(etag)) {
+                return null;
+            }
             Pageable pageable = PageRequest.of(page, size);
+            if (MODE_SLICE.equalsIgnoreCase(mode)) {
+                return withEtag(etag, productService.getApprovedProductSummarySliceByCategory(categoryName,
+                        pageable));
+            }
             Page<ProductSummaryDTO> products = productService.getApprovedProductsByCategoryWithPagination(categoryName,
                     pageable);
-            return ResponseEntity.ok(products);
+            return withEtag(etag, products);
         } catch (Exception e) {
             return ResponseEntity.badRequest()
                     .body(new MessageResponse("Error: " + e.getMessage()));
@@ -0,0 +1,114 @@
+package com.example.jalai_backend.controller;
+
+import com.example.jalai_backend.dto.MessageResponse;
+import com.example.jalai_backend.exception.InsufficientPermissionsException;
+import com.example.jalai_backend.model.Client;
+import com.example.jalai_backend.model.Review;
+import com.example.jalai_backend.security.CustomUserDetailsService;
+import com.example.jalai_backend.service.ClientService;
+import com.example.jalai_backend.service.ReviewService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/reviews")
+@CrossOrigin(origins = "*", maxAge = 3600)
+@PreAuthorize("hasRole('CLIENT')")
+public class ReviewController {
+
+    @Autowired
+    private ReviewService reviewService;
+
+    @Autowired
+    private ClientService clientService;
+
+    @GetMapping("/product/{productId}")
+    public ResponseEntity<?> getProductReviews(@PathVariable UUID productId) {
+        try {
+            List<Review> reviews = reviewService.getReviewsByProduct(productId);
+            return ResponseEntity.ok(reviews);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(new MessageResponse("Error: " + e.getMessage()));
+        }
+    }
+
+    @PostMapping
+    public ResponseEntity<?> createReview(@RequestBody ReviewRequest request, Authentication authentication) {
+        try {
+            Review review = reviewService.createReview(
+                    clientId(authentication),
+                    request.getProductId(),
+                    request.getRating(),
+                    request.getComment());
+            return ResponseEntity.ok(review);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(new MessageResponse("Error: " + e.getMessage()));
+        }
+    }
+
+    @PutMapping("/{reviewId}")
+    public ResponseEntity<?> updateReview(@PathVariable UUID reviewId, @RequestBody ReviewRequest request,
+            Authentication authentication) {
+        try {
+            Review review = reviewService.updateReview(
+                    reviewId,
+                    clientId(authentication),
+                    request.getRating(),
+                    request.getComment());
+            return ResponseEntity.ok(review);
+        } catch (InsufficientPermissionsException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(new MessageResponse("Error: " + e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(new MessageResponse("Error: " + e.getMessage()));
+        }
+    }
+
+    @DeleteMapping("/{reviewId}")
+    public ResponseEntity<?> deleteReview(@PathVariable UUID reviewId, Authentication authentication) {
+        try {
+            reviewService.deleteReview(reviewId, clientId(authentication));
+            return ResponseEntity.ok(new MessageResponse("Review deleted successfully"));
+        } catch (InsufficientPermissionsException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(new MessageResponse("Error: " + e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(new MessageResponse("Error: " + e.getMessage()));
+        }
+    }
+
+    // Reviews are written as the signed-in client, never as a client named in the request
+    private UUID clientId(Authentication authentication) {
+        if (authentication.getPrincipal() instanceof CustomUserDetailsService.CustomUserPrincipal principal) {
+            return UUID.fromString(principal.getId());
+        }
+        return clientService.getClientByEmail(authentication.getName())
+                .map(Client::getId)
+                .orElseThrow(() -> new RuntimeException("Client not found"));
+    }
+
+    // DTOs
+    public static class ReviewRequest {
+        private UUID productId;
+        private Integer rating;
+        private String comment;
+
+        public UUID getProductId() { return productId; }
+        public void setProductId(UUID productId) { this.productId = productId; }
+        public Integer getRating() { return rating; }
+        public void setRating(Integer rating) { this.rating = rating; }
+        public String getComment() { return comment; }
+        public void setComment(String comment) { this.comment = comment; }
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.jalai_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+// Admin moderation of many products in one call
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkModerationRequest {
+    private List<UUID> productIds;
+    private Action action;
+    private String reason; // required when rejecting
+
+    public enum Action {
+        APPROVE, REJECT
+    }
+}
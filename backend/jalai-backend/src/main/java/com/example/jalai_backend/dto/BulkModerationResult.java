@@ -0,0 +1,18 @@
+package com.example.jalai_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+// Outcome of a bulk moderation call. Skipped ids were unknown or already in the target state.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkModerationResult {
+    private BulkModerationRequest.Action action;
+    private int updated;
+    private List<UUID> skippedIds;
+}
@@ -0,0 +1,29 @@
+package com.example.jalai_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// Facet counts for the storefront filter panel. Each facet is counted with every
+// filter applied except its own, so the panel shows what choosing a value would give.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductFacetsDTO {
+    private int total; // products matching all filters
+    private List<FacetCount> categories;
+    private List<FacetCount> priceBuckets;
+    private List<FacetCount> donated;
+    private List<FacetCount> available;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class FacetCount {
+        private String value; // what to pass back as the filter parameter
+        private String label;
+        private int count;
+    }
+}
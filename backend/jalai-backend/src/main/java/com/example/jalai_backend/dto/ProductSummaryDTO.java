@@ -19,6 +19,8 @@ public class ProductSummaryDTO {
     private Boolean isDonated;
     private Boolean isApproved;
     private Boolean isAvailable;
+    private Double averageRating;
+    private Integer ratingCount;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 
@@ -38,4 +40,30 @@ public class ProductSummaryDTO {
     private String dateAdded; // formatted createdAt
     private Integer sales; // placeholder for now
     private Integer stock; // placeholder for now
+
+    // Copy for read models, which must not share their instances with callers
+    public ProductSummaryDTO(ProductSummaryDTO other) {
+        this.id = other.id;
+        this.name = other.name;
+        this.description = other.description;
+        this.price = other.price;
+        this.isDonated = other.isDonated;
+        this.isApproved = other.isApproved;
+        this.isAvailable = other.isAvailable;
+        this.averageRating = other.averageRating;
+        this.ratingCount = other.ratingCount;
+        this.createdAt = other.createdAt;
+        this.updatedAt = other.updatedAt;
+        this.sellerId = other.sellerId;
+        this.sellerName = other.sellerName;
+        this.categoryId = other.categoryId;
+        this.categoryName = other.categoryName;
+        this.approvedByAdminId = other.approvedByAdminId;
+        this.approvedByAdminName = other.approvedByAdminName;
+        this.imageUrlThumbnail = other.imageUrlThumbnail;
+        this.status = other.status;
+        this.dateAdded = other.dateAdded;
+        this.sales = other.sales;
+        this.stock = other.stock;
+    }
 }
@@ -0,0 +1,33 @@
+package com.example.jalai_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// Column subset selected by the product list queries (JPQL constructor expression).
+// Carries exactly what ProductSummaryDTO needs, so image blobs are never loaded.
+@Getter
+@AllArgsConstructor
+public class ProductSummaryProjection {
+    private final UUID id;
+    private final String name;
+    private final String description;
+    private final BigDecimal price;
+    private final String imageUrl;
+    private final Boolean isDonated;
+    private final Boolean isApproved;
+    private final Boolean isAvailable;
+    private final Double averageRating;
+    private final Integer ratingCount;
+    private final LocalDateTime createdAt;
+    private final LocalDateTime updatedAt;
+    private final UUID sellerId;
+    private final String sellerName;
+    private final UUID categoryId;
+    private final String categoryName;
+    private final UUID approvedByAdminId;
+    private final String approvedByAdminName;
+}
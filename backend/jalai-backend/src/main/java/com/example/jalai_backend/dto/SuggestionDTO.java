@@ -0,0 +1,29 @@
+package com.example.jalai_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+// One search-box completion: a storefront product or a category name
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SuggestionDTO {
+
+    public enum Type {
+        PRODUCT,
+        CATEGORY
+    }
+
+    private String text;
+    private Type type;
+    private UUID id;
+    private long weight; // popularity: review count for products, storefront products for categories
+
+    // Copy handed out by the suggestion index, which keeps its own instances
+    public SuggestionDTO(SuggestionDTO other) {
+        this(other.text, other.type, other.id, other.weight);
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.jalai_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// A response body with its ETag. The body is null when the client's copy is still
+// current, i.e. the caller should answer 304 Not Modified.
+@Getter
+@AllArgsConstructor
+public class Versioned<T> {
+    private final String etag;
+    private final T body;
+
+    public boolean isNotModified() {
+        return body == null;
+    }
+}
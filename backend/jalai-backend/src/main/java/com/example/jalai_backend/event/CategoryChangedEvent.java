@@ -0,0 +1,16 @@
+package com.example.jalai_backend.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.UUID;
+
+/**
+ * A category was renamed or otherwise edited; product listings show its name.
+ * Handled after commit, like {@link ProductChangedEvent}.
+ */
+@Getter
+@AllArgsConstructor
+public class CategoryChangedEvent {
+    private final UUID categoryId;
+}
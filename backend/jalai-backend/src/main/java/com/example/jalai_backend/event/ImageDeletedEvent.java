@@ -0,0 +1,18 @@
+package com.example.jalai_backend.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * An image row was deleted. After commit each of its blobs (one per variant) is
+ * removed from the BlobStore unless another row still references the same content.
+ */
+@Getter
+@AllArgsConstructor
+public class ImageDeletedEvent {
+    private final UUID imageId;
+    private final Set<String> blobKeys;
+}
@@ -0,0 +1,16 @@
+package com.example.jalai_backend.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.UUID;
+
+/**
+ * An order was confirmed; its products now count as bought together.
+ * Handled after commit, like {@link ProductChangedEvent}.
+ */
+@Getter
+@AllArgsConstructor
+public class OrderConfirmedEvent {
+    private final UUID orderId;
+}
@@ -0,0 +1,30 @@
+package com.example.jalai_backend.event;
+
+import com.example.jalai_backend.model.Orphanage;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+
+/**
+ * Entity listener publishing an {@link OrphanageChangedEvent} for every orphanage
+ * write, whichever code path made it. Hibernate obtains it from the Spring context.
+ */
+public class OrphanageChangeListener {
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @PostPersist
+    @PostUpdate
+    public void afterWrite(Orphanage orphanage) {
+        eventPublisher.publishEvent(new OrphanageChangedEvent(orphanage.getId(), orphanage.getName(),
+                Boolean.TRUE.equals(orphanage.getIsActive()), false));
+    }
+
+    @PostRemove
+    public void afterDelete(Orphanage orphanage) {
+        eventPublisher.publishEvent(new OrphanageChangedEvent(orphanage.getId(), orphanage.getName(), false, true));
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.jalai_backend.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.UUID;
+
+/**
+ * An orphanage row was inserted, updated or deleted, carrying the name and status
+ * it was written with. Published by an entity listener, so every save path is
+ * covered, and handled after commit like {@link ProductChangedEvent}.
+ */
+@Getter
+@AllArgsConstructor
+public class OrphanageChangedEvent {
+    private final UUID orphanageId;
+    private final String name;
+    private final boolean active;
+    private final boolean deleted;
+}
@@ -0,0 +1,57 @@
+package com.example.jalai_backend.event;
+
+import com.example.jalai_backend.model.Product;
+import lombok.Getter;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * One or more products were saved or deleted. Published inside the writing
+ * transaction and handled once it commits, so caches and read models only ever
+ * see committed state.
+ */
+@Getter
+public class ProductChangedEvent {
+
+    public enum Change {
+        UPDATED,
+        PUBLISHED, // just reached the storefront: also goes to the head of the recent feed
+        DELETED
+    }
+
+    private final Set<UUID> productIds;
+    private final Set<UUID> sellerIds;
+    private final Change change;
+
+    public ProductChangedEvent(Collection<UUID> productIds, Collection<UUID> sellerIds, Change change) {
+        this.productIds = Set.copyOf(productIds);
+        this.sellerIds = Set.copyOf(sellerIds);
+        this.change = change;
+    }
+
+    public static ProductChangedEvent updated(Product product) {
+        return of(product, Change.UPDATED);
+    }
+
+    public static ProductChangedEvent updated(UUID productId, UUID sellerId) {
+        return new ProductChangedEvent(Set.of(productId), sellerId == null ? Set.of() : Set.of(sellerId),
+                Change.UPDATED);
+    }
+
+    public static ProductChangedEvent published(Product product) {
+        return of(product, Change.PUBLISHED);
+    }
+
+    public static ProductChangedEvent deleted(UUID productId, UUID sellerId) {
+        return new ProductChangedEvent(Set.of(productId), sellerId == null ? Set.of() : Set.of(sellerId),
+                Change.DELETED);
+    }
+
+    private static ProductChangedEvent of(Product product, Change change) {
+        UUID sellerId = product.getSeller() == null ? null : product.getSeller().getId();
+        return new ProductChangedEvent(Set.of(product.getId()), sellerId == null ? Set.of() : Set.of(sellerId),
+                change);
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.jalai_backend.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.UUID;
+
+/**
+ * A client's profile changed; their products show the seller's name and email.
+ * Handled after commit, like {@link ProductChangedEvent}.
+ */
+@Getter
+@AllArgsConstructor
+public class SellerChangedEvent {
+    private final UUID sellerId;
+}
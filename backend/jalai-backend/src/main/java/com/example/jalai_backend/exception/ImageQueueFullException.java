@@ -0,0 +1,13 @@
+package com.example.jalai_backend.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+// Image processing queue is full; the client should retry later
+@ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+public class ImageQueueFullException extends JalaiException {
+    public ImageQueueFullException() {
+        super("Too many images are being processed, please retry shortly", "IMAGE_QUEUE_FULL",
+                HttpStatus.TOO_MANY_REQUESTS);
+    }
+}
@@ -16,11 +16,29 @@ import java.util.UUID;
 
 @Entity
 @Table(name = "cart")
+@NamedEntityGraph(name = Cart.WITH_ASSOCIATIONS,
+        attributeNodes = {
+                @NamedAttributeNode(value = "client", subgraph = "client"),
+                @NamedAttributeNode(value = "product", subgraph = "product")
+        },
+        subgraphs = {
+                @NamedSubgraph(name = "client", attributeNodes = @NamedAttributeNode("managedBy")),
+                @NamedSubgraph(name = "product", attributeNodes = {
+                        @NamedAttributeNode(value = "seller", subgraph = "client"),
+                        @NamedAttributeNode(value = "category", subgraph = "category"),
+                        @NamedAttributeNode("approvedBy")
+                }),
+                @NamedSubgraph(name = "category", attributeNodes = @NamedAttributeNode("managedBy"))
+        })
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Cart {
 
+    // Fetch plan for cart items handed to JSON serialization: the client and the product
+    // with its seller, category and approver (plus their admins)
+    public static final String WITH_ASSOCIATIONS = "Cart.withAssociations";
+
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
     private UUID id;
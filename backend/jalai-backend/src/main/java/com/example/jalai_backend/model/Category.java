@@ -17,11 +17,15 @@ import java.util.UUID;
 
 @Entity
 @Table(name = "categories")
+@NamedEntityGraph(name = Category.WITH_MANAGER, attributeNodes = @NamedAttributeNode("managedBy"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Category {
 
+    // Fetch plan for categories handed to JSON serialization: the managing admin is joined
+    public static final String WITH_MANAGER = "Category.withManager";
+
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
     private UUID id;
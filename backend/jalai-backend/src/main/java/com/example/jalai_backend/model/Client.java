@@ -19,11 +19,15 @@ import java.util.UUID;
 
 @Entity
 @Table(name = "clients")
+@NamedEntityGraph(name = Client.WITH_MANAGER, attributeNodes = @NamedAttributeNode("managedBy"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Client {
 
+    // Fetch plan for clients handed to JSON serialization: the managing admin is joined
+    public static final String WITH_MANAGER = "Client.withManager";
+
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
     private UUID id;
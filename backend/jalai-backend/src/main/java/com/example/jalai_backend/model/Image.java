@@ -3,6 +3,7 @@ package com.example.jalai_backend.model;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import com.example.jalai_backend.service.KnownIdsListener;
 import org.hibernate.annotations.CreationTimestamp;
 
 import java.time.LocalDateTime;
@@ -10,6 +11,7 @@ import java.util.UUID;
 
 @Entity
 @Table(name = "images")
+@EntityListeners(KnownIdsListener.class)
 public class Image {
 
     @Id
@@ -29,9 +31,31 @@ public class Image {
     @Column(nullable = false)
     private Long size;
 
-    @Lob
-    @Column(columnDefinition = "BYTEA")
-    private byte[] data;
+    // Key of the full-size file in the BlobStore (SHA-256 of its bytes). Null only on rows
+    // written before the blob store, until ImageService moves their bytes out.
+    @Column(length = 64)
+    private String contentHash;
+
+    // Keys of the smaller renditions; null on rows uploaded before variants existed
+    @Column(length = 64)
+    private String thumbnailHash;
+
+    @Column(length = 64)
+    private String cardHash;
+
+    // SHA-256 of the uploaded bytes. Their blob only lives until the variants are rendered;
+    // the hash stays so a re-upload of the same bytes can reuse this row.
+    @Column(length = 64)
+    private String originalHash;
+
+    // Uploads sharing this row; only changed by the atomic updates in ImageRepository
+    @Column(nullable = false, updatable = false)
+    private int referenceCount = 1;
+
+    // Null on rows written before the processing pipeline, which are all ready
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20)
+    private Status status;
 
     @CreationTimestamp
     @Column(nullable = false, updatable = false)
@@ -40,11 +64,11 @@ public class Image {
     // Constructors
     public Image() {}
 
-    public Image(String filename, String contentType, Long size, byte[] data) {
+    public Image(String filename, String contentType, Long size, String contentHash) {
         this.filename = filename;
         this.contentType = contentType;
         this.size = size;
-        this.data = data;
+        this.contentHash = contentHash;
     }
 
     // Getters and Setters
@@ -80,12 +104,52 @@ public class Image {
         this.size = size;
     }
 
-    public byte[] getData() {
-        return data;
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    public void setContentHash(String contentHash) {
+        this.contentHash = contentHash;
+    }
+
+    public String getThumbnailHash() {
+        return thumbnailHash;
+    }
+
+    public void setThumbnailHash(String thumbnailHash) {
+        this.thumbnailHash = thumbnailHash;
+    }
+
+    public String getCardHash() {
+        return cardHash;
+    }
+
+    public void setCardHash(String cardHash) {
+        this.cardHash = cardHash;
+    }
+
+    public String getOriginalHash() {
+        return originalHash;
+    }
+
+    public void setOriginalHash(String originalHash) {
+        this.originalHash = originalHash;
+    }
+
+    public Status getStatus() {
+        return status != null ? status : Status.READY;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public int getReferenceCount() {
+        return referenceCount;
     }
 
-    public void setData(byte[] data) {
-        this.data = data;
+    public void setReferenceCount(int referenceCount) {
+        this.referenceCount = referenceCount;
     }
 
     public LocalDateTime getCreatedAt() {
@@ -96,6 +160,24 @@ public class Image {
         this.createdAt = createdAt;
     }
 
+    // Blob key of a rendition; older rows without smaller renditions serve the full image
+    public String getVariantHash(Variant variant) {
+        String hash = switch (variant) {
+            case THUMBNAIL -> thumbnailHash;
+            case CARD -> cardHash;
+            case FULL -> contentHash;
+        };
+        return hash != null ? hash : contentHash;
+    }
+
+    public void setVariantHash(Variant variant, String hash) {
+        switch (variant) {
+            case THUMBNAIL -> thumbnailHash = hash;
+            case CARD -> cardHash = hash;
+            case FULL -> contentHash = hash;
+        }
+    }
+
     @Override
     public String toString() {
         return "Image{" +
@@ -103,7 +185,52 @@ public class Image {
                 ", filename='" + filename + '\'' +
                 ", contentType='" + contentType + '\'' +
                 ", size=" + size +
+                ", contentHash='" + contentHash + '\'' +
                 ", createdAt=" + createdAt +
                 '}';
     }
+
+    // Processing state of an upload: variants exist only once READY
+    public enum Status {
+        PROCESSING,
+        READY,
+        FAILED
+    }
+
+    // Renditions generated at upload, each scaled to fit its bounding box
+    public enum Variant {
+        THUMBNAIL(160, 120),
+        CARD(400, 300),
+        FULL(800, 600);
+
+        private final int maxWidth;
+        private final int maxHeight;
+
+        Variant(int maxWidth, int maxHeight) {
+            this.maxWidth = maxWidth;
+            this.maxHeight = maxHeight;
+        }
+
+        public int getMaxWidth() {
+            return maxWidth;
+        }
+
+        public int getMaxHeight() {
+            return maxHeight;
+        }
+
+        // The ?size= value: a variant name or its width in pixels; null when unknown
+        public static Variant fromParam(String size) {
+            if (size == null || size.isBlank()) {
+                return FULL;
+            }
+            for (Variant variant : values()) {
+                if (variant.name().equalsIgnoreCase(size.trim())
+                        || String.valueOf(variant.maxWidth).equals(size.trim())) {
+                    return variant;
+                }
+            }
+            return null;
+        }
+    }
 }
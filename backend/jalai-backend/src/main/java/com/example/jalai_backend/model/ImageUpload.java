@@ -0,0 +1,71 @@
+package com.example.jalai_backend.model;
+
+import jakarta.persistence.*;
+
+import java.util.UUID;
+
+/**
+ * One user's share of an image: how many of the image's references their uploads
+ * hold. Only changed by the atomic updates in ImageUploadRepository.
+ */
+@Entity
+@Table(name = "image_uploads",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"image_id", "uploader_id"}))
+public class ImageUpload {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.AUTO)
+    @Column(columnDefinition = "UUID")
+    private UUID id;
+
+    @Column(name = "image_id", nullable = false, updatable = false)
+    private UUID imageId;
+
+    // Id of the authenticated user who uploaded the bytes
+    @Column(name = "uploader_id", nullable = false, updatable = false)
+    private String uploaderId;
+
+    @Column(nullable = false, updatable = false)
+    private int uploadCount = 1;
+
+    // Constructors
+    public ImageUpload() {}
+
+    public ImageUpload(UUID imageId, String uploaderId) {
+        this.imageId = imageId;
+        this.uploaderId = uploaderId;
+    }
+
+    // Getters and Setters
+    public UUID getId() {
+        return id;
+    }
+
+    public void setId(UUID id) {
+        this.id = id;
+    }
+
+    public UUID getImageId() {
+        return imageId;
+    }
+
+    public void setImageId(UUID imageId) {
+        this.imageId = imageId;
+    }
+
+    public String getUploaderId() {
+        return uploaderId;
+    }
+
+    public void setUploaderId(String uploaderId) {
+        this.uploaderId = uploaderId;
+    }
+
+    public int getUploadCount() {
+        return uploadCount;
+    }
+
+    public void setUploadCount(int uploadCount) {
+        this.uploadCount = uploadCount;
+    }
+}
@@ -111,28 +111,39 @@ public class Notification {
 
     // Static factory methods for common notification types
     public static Notification createProductApprovalNotification(Client recipient, Product product, Admin approver) {
+        return createProductApprovalNotification(recipient, product.getId(), product.getName(), approver);
+    }
+
+    // Variant for bulk moderation, which works from product id and name without loading the entity
+    public static Notification createProductApprovalNotification(Client recipient, UUID productId,
+            String productName, Admin approver) {
         Notification notification = new Notification();
         notification.setTitle("Product Approved!");
         notification.setMessage(String.format("Your product '%s' has been approved and is now live on the marketplace.",
-                product.getName()));
+                productName));
         notification.setType(NotificationType.PRODUCT_APPROVED);
         notification.setRecipientClient(recipient);
         notification.setSenderAdmin(approver);
-        notification.setRelatedEntityId(product.getId());
+        notification.setRelatedEntityId(productId);
         notification.setRelatedEntityType("PRODUCT");
         return notification;
     }
 
     public static Notification createProductRejectionNotification(Client recipient, Product product, Admin rejector,
             String reason) {
+        return createProductRejectionNotification(recipient, product.getId(), product.getName(), rejector, reason);
+    }
+
+    public static Notification createProductRejectionNotification(Client recipient, UUID productId,
+            String productName, Admin rejector, String reason) {
         Notification notification = new Notification();
         notification.setTitle("Product Rejected");
         notification.setMessage(
-                String.format("Your product '%s' has been rejected. Reason: %s", product.getName(), reason));
+                String.format("Your product '%s' has been rejected. Reason: %s", productName, reason));
         notification.setType(NotificationType.PRODUCT_REJECTED);
         notification.setRecipientClient(recipient);
         notification.setSenderAdmin(rejector);
-        notification.setRelatedEntityId(product.getId());
+        notification.setRelatedEntityId(productId);
         notification.setRelatedEntityType("PRODUCT");
         return notification;
     }
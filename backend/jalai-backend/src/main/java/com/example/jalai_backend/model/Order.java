@@ -1,5 +1,6 @@
 package com.example.jalai_backend.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 
 import jakarta.validation.constraints.NotNull;
@@ -17,11 +18,33 @@ import java.util.UUID;
 
 @Entity
 @Table(name = "orders")
+@NamedEntityGraph(name = Order.WITH_ASSOCIATIONS,
+        attributeNodes = {
+                @NamedAttributeNode(value = "client", subgraph = "client"),
+                @NamedAttributeNode(value = "seller", subgraph = "client"),
+                @NamedAttributeNode(value = "orderItems", subgraph = "orderItems"),
+                @NamedAttributeNode("payment")
+        },
+        subgraphs = {
+                @NamedSubgraph(name = "client", attributeNodes = @NamedAttributeNode("managedBy")),
+                @NamedSubgraph(name = "orderItems", attributeNodes = @NamedAttributeNode(value = "product", subgraph = "product")),
+                @NamedSubgraph(name = "product", attributeNodes = {
+                        @NamedAttributeNode(value = "seller", subgraph = "client"),
+                        @NamedAttributeNode(value = "category", subgraph = "category"),
+                        @NamedAttributeNode("approvedBy")
+                }),
+                @NamedSubgraph(name = "category", attributeNodes = @NamedAttributeNode("managedBy"))
+        })
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Order {
 
+    // Fetch plan for orders handed to JSON serialization: client, seller, payment and the
+    // items with their products. It fetches a collection, so page order ids first and load
+    // the page's orders with it (see OrderService)
+    public static final String WITH_ASSOCIATIONS = "Order.withAssociations";
+
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
     @Column(name = "order_id")
@@ -59,6 +82,7 @@ public class Order {
     @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<OrderItem> orderItems;
 
+    @JsonIgnoreProperties({"order", "client"})
     @OneToOne(mappedBy = "order", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private Payment payment;
 
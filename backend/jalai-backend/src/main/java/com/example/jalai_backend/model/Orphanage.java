@@ -1,5 +1,6 @@
 package com.example.jalai_backend.model;
 
+import com.example.jalai_backend.event.OrphanageChangeListener;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
@@ -19,6 +20,7 @@ import java.util.UUID;
 
 @Entity
 @Table(name = "orphanages")
+@EntityListeners(OrphanageChangeListener.class)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -1,5 +1,6 @@
 package com.example.jalai_backend.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 
 import jakarta.validation.constraints.NotNull;
@@ -16,11 +17,27 @@ import java.util.UUID;
 
 @Entity
 @Table(name = "payments")
+@NamedEntityGraph(name = Payment.WITH_ASSOCIATIONS,
+        attributeNodes = {
+                @NamedAttributeNode(value = "client", subgraph = "client"),
+                @NamedAttributeNode(value = "order", subgraph = "order")
+        },
+        subgraphs = {
+                @NamedSubgraph(name = "client", attributeNodes = @NamedAttributeNode("managedBy")),
+                @NamedSubgraph(name = "order", attributeNodes = {
+                        @NamedAttributeNode(value = "client", subgraph = "client"),
+                        @NamedAttributeNode(value = "seller", subgraph = "client")
+                })
+        })
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Payment {
 
+    // Fetch plan for payments handed to JSON serialization: the client and the order's
+    // client and seller (plus their admins); the order's items are not serialized
+    public static final String WITH_ASSOCIATIONS = "Payment.withAssociations";
+
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
     @Column(name = "payment_id")
@@ -71,6 +88,7 @@ public class Payment {
     @JoinColumn(name = "client_id", nullable = false)
     private Client client;
 
+    @JsonIgnoreProperties({"payment", "orderItems"})
     @OneToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "order_id")
     private Order order;
@@ -1,5 +1,6 @@
 package com.example.jalai_backend.model;
 
+import com.example.jalai_backend.service.KnownIdsListener;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.DecimalMin;
@@ -20,11 +21,26 @@ import java.util.UUID;
 
 @Entity
 @Table(name = "products")
+@EntityListeners(KnownIdsListener.class)
+@NamedEntityGraph(name = Product.WITH_ASSOCIATIONS,
+        attributeNodes = {
+                @NamedAttributeNode(value = "seller", subgraph = "seller"),
+                @NamedAttributeNode(value = "category", subgraph = "category"),
+                @NamedAttributeNode("approvedBy")
+        },
+        subgraphs = {
+                @NamedSubgraph(name = "seller", attributeNodes = @NamedAttributeNode("managedBy")),
+                @NamedSubgraph(name = "category", attributeNodes = @NamedAttributeNode("managedBy"))
+        })
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Product {
 
+    // Fetch plan for every path that hands Product entities to DTO conversion or JSON
+    // serialization: seller, category and approver (plus their admins) in one query
+    public static final String WITH_ASSOCIATIONS = "Product.withAssociations";
+
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
     private UUID id;
@@ -68,8 +84,18 @@ public class Product {
     @Column(name = "is_available")
     private Boolean isAvailable = true;
 
+    // Rating aggregate, adjusted in place by ReviewService on every review write
+    @Column(name = "rating_sum", nullable = false)
+    private Long ratingSum = 0L;
+
+    @Column(name = "rating_count", nullable = false)
+    private Integer ratingCount = 0;
+
+    @Column(name = "average_rating", nullable = false)
+    private Double averageRating = 0.0;
+
     @CreationTimestamp
-    @Column(name = "created_at", updatable = false)
+    @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
     @UpdateTimestamp
@@ -1,6 +1,7 @@
 package com.example.jalai_backend.repository;
 
 import com.example.jalai_backend.model.Cart;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -17,10 +18,12 @@ import java.util.UUID;
 public interface CartRepository extends JpaRepository<Cart, UUID> {
     
     // Find all cart items for a specific client
+    @EntityGraph(Cart.WITH_ASSOCIATIONS)
     @Query("SELECT c FROM Cart c WHERE c.client.id = :clientId")
     List<Cart> findByClientId(@Param("clientId") UUID clientId);
     
     // Find specific cart item by client and product
+    @EntityGraph(Cart.WITH_ASSOCIATIONS)
     @Query("SELECT c FROM Cart c WHERE c.client.id = :clientId AND c.product.id = :productId")
     Optional<Cart> findByClientIdAndProductId(@Param("clientId") UUID clientId, @Param("productId") UUID productId);
     
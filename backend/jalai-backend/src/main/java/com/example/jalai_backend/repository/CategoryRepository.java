@@ -1,11 +1,13 @@
 package com.example.jalai_backend.repository;
 
 import com.example.jalai_backend.model.Category;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -13,10 +15,21 @@ import java.util.UUID;
 @Repository
 public interface CategoryRepository extends JpaRepository<Category, UUID> {
     
+    // Find category by id with its managing admin (detail view)
+    @EntityGraph(Category.WITH_MANAGER)
+    @Query("SELECT c FROM Category c WHERE c.id = :id")
+    Optional<Category> findWithManagerById(@Param("id") UUID id);
+    
+    // Find all categories with their managing admins
+    @EntityGraph(Category.WITH_MANAGER)
+    @Query("SELECT c FROM Category c")
+    List<Category> findAllWithManager();
+    
     // Find category by name
     Optional<Category> findByName(String name);
     
     // Find all active categories
+    @EntityGraph(Category.WITH_MANAGER)
     List<Category> findByIsActiveTrue();
     
     // Find all inactive categories
@@ -48,4 +61,15 @@ public interface CategoryRepository extends JpaRepository<Category, UUID> {
     // Find categories with description containing keyword
     @Query("SELECT c FROM Category c WHERE LOWER(c.description) LIKE LOWER(CONCAT('%', :keyword, '%'))")
     List<Category> findByDescriptionContainingIgnoreCase(@Param("keyword") String keyword);
+
+    // How many categories there are and when the latest one changed: together they
+    // change whenever the category list does (ETag of the public category list)
+    @Query("SELECT COUNT(c) AS count, MAX(c.updatedAt) AS lastUpdated FROM Category c")
+    ListVersion findListVersion();
+
+    interface ListVersion {
+        long getCount();
+
+        LocalDateTime getLastUpdated();
+    }
 }
@@ -1,6 +1,9 @@
 package com.example.jalai_backend.repository;
 
 import com.example.jalai_backend.model.Client;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -14,6 +17,19 @@ import java.util.UUID;
 @Repository
 public interface ClientRepository extends JpaRepository<Client, UUID> {
     
+    // Client queries that feed JSON responses load the managing admin through the
+    // Client.withManager graph
+    
+    // Find client by id with its managing admin (profile view)
+    @EntityGraph(Client.WITH_MANAGER)
+    @Query("SELECT c FROM Client c WHERE c.id = :id")
+    Optional<Client> findWithManagerById(@Param("id") UUID id);
+    
+    // Find a page of clients with their managing admins
+    @EntityGraph(Client.WITH_MANAGER)
+    @Query("SELECT c FROM Client c")
+    Page<Client> findAllWithManager(Pageable pageable);
+    
     // Find client by email
     Optional<Client> findByEmail(String email);
     
@@ -30,9 +46,11 @@ public interface ClientRepository extends JpaRepository<Client, UUID> {
     boolean existsByEmail(String email);
     
     // Find clients by location
+    @EntityGraph(Client.WITH_MANAGER)
     List<Client> findByLocationContainingIgnoreCase(String location);
     
     // Find clients by name containing (case insensitive)
+    @EntityGraph(Client.WITH_MANAGER)
     @Query("SELECT c FROM Client c WHERE LOWER(c.name) LIKE LOWER(CONCAT('%', :name, '%'))")
     List<Client> findByNameContainingIgnoreCase(@Param("name") String name);
     
@@ -44,14 +62,17 @@ public interface ClientRepository extends JpaRepository<Client, UUID> {
     List<Client> findByManagedByAdminId(@Param("adminId") UUID adminId);
     
     // Find clients who have made orders
+    @EntityGraph(Client.WITH_MANAGER)
     @Query("SELECT DISTINCT c FROM Client c JOIN c.orders o")
     List<Client> findClientsWithOrders();
     
     // Find clients who have made donations
+    @EntityGraph(Client.WITH_MANAGER)
     @Query("SELECT DISTINCT c FROM Client c JOIN c.donations d")
     List<Client> findClientsWithDonations();
     
     // Find clients registered after specific date
+    @EntityGraph(Client.WITH_MANAGER)
     List<Client> findByCreatedAtAfter(LocalDateTime date);
     
     // Count total active clients
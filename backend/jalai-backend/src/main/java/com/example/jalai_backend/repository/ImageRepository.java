@@ -2,13 +2,19 @@ package com.example.jalai_backend.repository;
 
 import com.example.jalai_backend.model.Image;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 @Repository
@@ -50,8 +56,166 @@ public interface ImageRepository extends JpaRepository<Image, UUID> {
      */
     List<Image> findBySizeGreaterThan(Long size);
 
+    /**
+     * Every image id, for the known-id Bloom filter
+     */
+    @Query("SELECT i.id FROM Image i")
+    List<UUID> findAllIds();
+
+    /**
+     * Whether any image row still references the blob, as any of its variants or as
+     * the uploaded bytes of an image still waiting to be processed
+     */
+    default boolean isBlobReferenced(String blobKey) {
+        return isBlobReferenced(blobKey, Image.Status.PROCESSING);
+    }
+
+    @Query("SELECT COUNT(i) > 0 FROM Image i WHERE i.contentHash = :blobKey " +
+            "OR i.thumbnailHash = :blobKey OR i.cardHash = :blobKey " +
+            "OR (i.originalHash = :blobKey AND i.status = :processing)")
+    boolean isBlobReferenced(@Param("blobKey") String blobKey, @Param("processing") Image.Status processing);
+
+    /**
+     * Which of the given blob keys some image row still references, in the sense of
+     * {@link #isBlobReferenced(String)}
+     */
+    default Set<String> findReferencedBlobKeys(Collection<String> blobKeys) {
+        Set<String> referenced = new HashSet<>();
+        for (BlobReferences row : findBlobReferences(blobKeys)) {
+            referenced.add(row.getContentHash());
+            referenced.add(row.getThumbnailHash());
+            referenced.add(row.getCardHash());
+            if (row.getStatus() == Image.Status.PROCESSING) {
+                referenced.add(row.getOriginalHash());
+            }
+        }
+        // Pending rows have no variant hashes yet
+        referenced.remove(null);
+        referenced.retainAll(blobKeys);
+        return referenced;
+    }
+
+    @Query("SELECT i.contentHash AS contentHash, i.thumbnailHash AS thumbnailHash, i.cardHash AS cardHash, " +
+            "i.originalHash AS originalHash, i.status AS status FROM Image i " +
+            "WHERE i.contentHash IN :blobKeys OR i.thumbnailHash IN :blobKeys OR i.cardHash IN :blobKeys " +
+            "OR i.originalHash IN :blobKeys")
+    List<BlobReferences> findBlobReferences(@Param("blobKeys") Collection<String> blobKeys);
+
+    /**
+     * Rows written before the blob store, whose bytes are still in the legacy data column
+     */
+    @Query("SELECT i.id FROM Image i WHERE i.contentHash IS NULL AND i.status IS NULL")
+    List<UUID> findIdsWithoutContentHash();
+
+    // The legacy data column is no longer mapped on Image, so it is read and cleared natively
+    @Query(value = "SELECT data FROM images WHERE id = :id", nativeQuery = true)
+    byte[] findLegacyData(@Param("id") UUID id);
+
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE images SET content_hash = :contentHash, data = NULL WHERE id = :id", nativeQuery = true)
+    int moveLegacyData(@Param("id") UUID id, @Param("contentHash") String contentHash);
+
+    /**
+     * Uploads in the given processing state, e.g. to resume PROCESSING ones after a restart
+     */
+    @Query("SELECT i.id FROM Image i WHERE i.status = :status ORDER BY i.createdAt")
+    List<UUID> findIdsByStatus(@Param("status") Image.Status status);
+
+    /**
+     * Record the rendered variants of a PROCESSING image and mark it READY; 0 when it
+     * was deleted (or finished by another worker) in the meantime
+     */
+    default int markReady(UUID id, Map<Image.Variant, String> variantHashes, long size) {
+        return markReady(id, variantHashes.get(Image.Variant.FULL), variantHashes.get(Image.Variant.CARD),
+                variantHashes.get(Image.Variant.THUMBNAIL), size, Image.Status.READY, Image.Status.PROCESSING);
+    }
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Transactional
+    @Query("UPDATE Image i SET i.contentHash = :contentHash, i.cardHash = :cardHash, " +
+            "i.thumbnailHash = :thumbnailHash, i.size = :size, i.status = :ready " +
+            "WHERE i.id = :id AND i.status = :processing")
+    int markReady(@Param("id") UUID id, @Param("contentHash") String contentHash,
+            @Param("cardHash") String cardHash, @Param("thumbnailHash") String thumbnailHash,
+            @Param("size") long size, @Param("ready") Image.Status ready,
+            @Param("processing") Image.Status processing);
+
+    /**
+     * Mark a PROCESSING image FAILED; 0 when it is no longer processing
+     */
+    default int markFailed(UUID id) {
+        return updateStatus(id, Image.Status.PROCESSING, Image.Status.FAILED);
+    }
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Transactional
+    @Query("UPDATE Image i SET i.status = :status WHERE i.id = :id AND i.status = :expected")
+    int updateStatus(@Param("id") UUID id, @Param("expected") Image.Status expected,
+            @Param("status") Image.Status status);
+
+    /**
+     * Oldest image uploaded from the same bytes that is ready or still processing, so an
+     * identical upload can share it instead of being stored and resized again
+     */
+    default Optional<UUID> findReusableIdByOriginalHash(String originalHash) {
+        return findIdsByOriginalHash(originalHash, Image.Status.FAILED).stream().findFirst();
+    }
+
+    @Query("SELECT i.id FROM Image i WHERE i.originalHash = :originalHash " +
+            "AND (i.status IS NULL OR i.status <> :failed) ORDER BY i.createdAt")
+    List<UUID> findIdsByOriginalHash(@Param("originalHash") String originalHash,
+            @Param("failed") Image.Status failed);
+
+    /**
+     * Count one more upload sharing the image; 0 when it no longer exists
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Image i SET i.referenceCount = i.referenceCount + 1 WHERE i.id = :id")
+    int addReference(@Param("id") UUID id);
+
+    /**
+     * Drop one reference of an image other uploads still share; 0 when this was the
+     * last one (or the image does not exist) and the row itself has to go
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Image i SET i.referenceCount = i.referenceCount - 1 WHERE i.id = :id AND i.referenceCount > 1")
+    int dropSharedReference(@Param("id") UUID id);
+
+    /**
+     * Delete an image whose only reference is being dropped; 0 when another upload
+     * shares it by now (or it does not exist). Clears the persistence context, so later
+     * reads in the same transaction see the row gone.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Transactional
+    @Query("DELETE FROM Image i WHERE i.id = :id AND i.referenceCount = 1")
+    int deleteLastReference(@Param("id") UUID id);
+
+    /**
+     * Delete an image however many uploads share it; 0 when it does not exist
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Transactional
+    @Query("DELETE FROM Image i WHERE i.id = :id")
+    int deleteWithAllReferences(@Param("id") UUID id);
+
     /**
      * Check if image exists by filename
      */
     boolean existsByFilename(String filename);
+
+    interface BlobReferences {
+        String getContentHash();
+
+        String getThumbnailHash();
+
+        String getCardHash();
+
+        String getOriginalHash();
+
+        Image.Status getStatus();
+    }
 }
@@ -0,0 +1,61 @@
+package com.example.jalai_backend.repository;
+
+import com.example.jalai_backend.model.ImageUpload;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.UUID;
+
+@Repository
+public interface ImageUploadRepository extends JpaRepository<ImageUpload, UUID> {
+
+    /**
+     * Record one more upload of the image by this user
+     */
+    default void recordUpload(UUID imageId, String uploaderId) {
+        if (addUpload(imageId, uploaderId) == 0) {
+            save(new ImageUpload(imageId, uploaderId));
+        }
+    }
+
+    /**
+     * Give up one of this user's uploads of the image; false when they hold none, so a
+     * repeated delete never takes away another user's reference
+     */
+    default boolean dropUpload(UUID imageId, String uploaderId) {
+        return dropRepeatedUpload(imageId, uploaderId) > 0 || dropLastUpload(imageId, uploaderId) > 0;
+    }
+
+    /**
+     * Whether any upload of the image is recorded; images stored before uploads were
+     * recorded have none
+     */
+    boolean existsByImageId(UUID imageId);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE ImageUpload u SET u.uploadCount = u.uploadCount + 1 " +
+            "WHERE u.imageId = :imageId AND u.uploaderId = :uploaderId")
+    int addUpload(@Param("imageId") UUID imageId, @Param("uploaderId") String uploaderId);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE ImageUpload u SET u.uploadCount = u.uploadCount - 1 " +
+            "WHERE u.imageId = :imageId AND u.uploaderId = :uploaderId AND u.uploadCount > 1")
+    int dropRepeatedUpload(@Param("imageId") UUID imageId, @Param("uploaderId") String uploaderId);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM ImageUpload u " +
+            "WHERE u.imageId = :imageId AND u.uploaderId = :uploaderId AND u.uploadCount = 1")
+    int dropLastUpload(@Param("imageId") UUID imageId, @Param("uploaderId") String uploaderId);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM ImageUpload u WHERE u.imageId = :imageId")
+    int deleteByImageId(@Param("imageId") UUID imageId);
+}
@@ -1,11 +1,13 @@
 package com.example.jalai_backend.repository;
 
+import com.example.jalai_backend.model.Order;
 import com.example.jalai_backend.model.OrderItem;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -42,6 +44,31 @@ public interface OrderItemRepository extends JpaRepository<OrderItem, UUID> {
             "WHERE oi.order.orderId = :orderId")
     List<OrderItem> findByOrderOrderIdWithDetails(@Param("orderId") UUID orderId);
 
+    /**
+     * Distinct products in an order
+     */
+    @Query("SELECT DISTINCT oi.product.id FROM OrderItem oi WHERE oi.order.orderId = :orderId")
+    List<UUID> findProductIdsByOrderId(@Param("orderId") UUID orderId);
+
+    /**
+     * For every ordered pair of distinct products, the number of orders with the
+     * given statuses that contain both
+     */
+    @Query("SELECT a.product.id AS productId, b.product.id AS otherProductId, " +
+            "COUNT(DISTINCT a.order.orderId) AS orders " +
+            "FROM OrderItem a JOIN OrderItem b ON b.order = a.order " +
+            "WHERE a.product <> b.product AND a.order.status IN :statuses " +
+            "GROUP BY a.product.id, b.product.id")
+    List<CoPurchase> findCoPurchases(@Param("statuses") Collection<Order.OrderStatus> statuses);
+
+    interface CoPurchase {
+        UUID getProductId();
+
+        UUID getOtherProductId();
+
+        long getOrders();
+    }
+
     /**
      * Delete all order items for a specific order
      */
@@ -3,6 +3,7 @@ package com.example.jalai_backend.repository;
 import com.example.jalai_backend.model.Order;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -10,13 +11,34 @@ import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface OrderRepository extends JpaRepository<Order, UUID> {
 
+    // Entity queries below load client, seller, payment and items through the
+    // Order.withAssociations graph; paged lookups select ids and load the page with it
+
+    // Find order by id with its associations (detail view)
+    @EntityGraph(Order.WITH_ASSOCIATIONS)
+    @Query("SELECT o FROM Order o WHERE o.orderId = :orderId")
+    Optional<Order> findWithAssociationsById(@Param("orderId") UUID orderId);
+
+    // Find all orders with their associations
+    @EntityGraph(Order.WITH_ASSOCIATIONS)
+    @Query("SELECT o FROM Order o")
+    List<Order> findAllWithAssociations();
+
+    // Find the given orders with their associations, newest first
+    @EntityGraph(Order.WITH_ASSOCIATIONS)
+    @Query("SELECT o FROM Order o WHERE o.orderId IN :orderIds ORDER BY o.createdAt DESC")
+    List<Order> findWithAssociationsByOrderIdIn(@Param("orderIds") Collection<UUID> orderIds);
+
     // Find orders by client
+    @EntityGraph(Order.WITH_ASSOCIATIONS)
     @Query("SELECT o FROM Order o WHERE o.client.id = :clientId ORDER BY o.createdAt DESC")
     List<Order> findByClientId(@Param("clientId") UUID clientId);
 
@@ -25,26 +47,31 @@ public interface OrderRepository extends JpaRepository<Order, UUID> {
     long countByClientId(@Param("clientId") UUID clientId);
 
     // Find orders by seller
+    @EntityGraph(Order.WITH_ASSOCIATIONS)
     @Query("SELECT o FROM Order o WHERE o.seller.id = :sellerId ORDER BY o.createdAt DESC")
     List<Order> findBySellerId(@Param("sellerId") UUID sellerId);
 
     // Find orders by status
+    @EntityGraph(Order.WITH_ASSOCIATIONS)
     List<Order> findByStatus(Order.OrderStatus status);
 
-    // Find orders by client with pagination
-    @Query("SELECT o FROM Order o WHERE o.client.id = :clientId ORDER BY o.createdAt DESC")
-    Page<Order> findByClientIdWithPagination(@Param("clientId") UUID clientId, Pageable pageable);
+    // Find a page of order ids by client
+    @Query("SELECT o.orderId FROM Order o WHERE o.client.id = :clientId ORDER BY o.createdAt DESC")
+    Page<UUID> findIdsByClientId(@Param("clientId") UUID clientId, Pageable pageable);
 
     // Find orders by date range
+    @EntityGraph(Order.WITH_ASSOCIATIONS)
     @Query("SELECT o FROM Order o WHERE o.createdAt BETWEEN :startDate AND :endDate ORDER BY o.createdAt DESC")
     List<Order> findByDateRange(@Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate);
 
     // Find orders by delivery date range
+    @EntityGraph(Order.WITH_ASSOCIATIONS)
     @Query("SELECT o FROM Order o WHERE o.deliveryDate BETWEEN :startDate AND :endDate ORDER BY o.deliveryDate ASC")
     List<Order> findByDeliveryDateRange(@Param("startDate") LocalDateTime startDate,
             @Param("endDate") LocalDateTime endDate);
 
     // Find orders by total amount range
+    @EntityGraph(Order.WITH_ASSOCIATIONS)
     @Query("SELECT o FROM Order o WHERE o.totalAmount BETWEEN :minAmount AND :maxAmount ORDER BY o.totalAmount DESC")
     List<Order> findByTotalAmountRange(@Param("minAmount") BigDecimal minAmount,
             @Param("maxAmount") BigDecimal maxAmount);
@@ -61,15 +88,16 @@ public interface OrderRepository extends JpaRepository<Order, UUID> {
     @Query("SELECT COUNT(o) FROM Order o WHERE o.status = :status")
     long countByStatus(@Param("status") Order.OrderStatus status);
 
-    // Find recent orders
-    @Query("SELECT o FROM Order o ORDER BY o.createdAt DESC")
-    List<Order> findRecentOrders(Pageable pageable);
+    // Find a page of recent order ids
+    @Query("SELECT o.orderId FROM Order o ORDER BY o.createdAt DESC")
+    Page<UUID> findRecentIds(Pageable pageable);
 
     // Find pending orders older than specified days
     @Query("SELECT o FROM Order o WHERE o.status = 'PENDING' AND o.createdAt < :cutoffDate")
     List<Order> findPendingOrdersOlderThan(@Param("cutoffDate") LocalDateTime cutoffDate);
 
     // Find orders requiring delivery today
+    @EntityGraph(Order.WITH_ASSOCIATIONS)
     @Query("SELECT o FROM Order o WHERE DATE(o.deliveryDate) = DATE(:today) AND o.status IN ('CONFIRMED', 'PROCESSING')")
     List<Order> findOrdersForDeliveryToday(@Param("today") LocalDateTime today);
 
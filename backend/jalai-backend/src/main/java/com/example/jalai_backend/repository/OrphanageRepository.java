@@ -76,4 +76,16 @@ public interface OrphanageRepository extends JpaRepository<Orphanage, UUID> {
 
     @Query("SELECT o FROM Orphanage o WHERE LOWER(o.name) LIKE LOWER(CONCAT('%', :name, '%')) AND o.isActive = true")
     List<Orphanage> findByNameContainingIgnoreCaseAndIsActiveTrue(@Param("name") String name);
+
+    // Just what the in-memory name index needs
+    @Query("SELECT o.id AS id, o.name AS name, o.isActive AS isActive FROM Orphanage o")
+    List<OrphanageName> findAllNames();
+
+    interface OrphanageName {
+        UUID getId();
+
+        String getName();
+
+        Boolean getIsActive();
+    }
 }
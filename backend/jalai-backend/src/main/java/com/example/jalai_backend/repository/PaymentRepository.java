@@ -1,6 +1,9 @@
 package com.example.jalai_backend.repository;
 
 import com.example.jalai_backend.model.Payment;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -15,11 +18,26 @@ import java.util.UUID;
 @Repository
 public interface PaymentRepository extends JpaRepository<Payment, UUID> {
     
+    // Payment queries that feed JSON responses load the client and the order's parties
+    // through the Payment.withAssociations graph
+    
+    // Find payment by id with its associations (detail view)
+    @EntityGraph(Payment.WITH_ASSOCIATIONS)
+    @Query("SELECT p FROM Payment p WHERE p.paymentId = :paymentId")
+    Optional<Payment> findWithAssociationsById(@Param("paymentId") UUID paymentId);
+    
+    // Find a page of payments with their associations
+    @EntityGraph(Payment.WITH_ASSOCIATIONS)
+    @Query("SELECT p FROM Payment p")
+    Page<Payment> findAllWithAssociations(Pageable pageable);
+    
     // Find payments by client
+    @EntityGraph(Payment.WITH_ASSOCIATIONS)
     @Query("SELECT p FROM Payment p WHERE p.client.id = :clientId ORDER BY p.paymentDate DESC")
     List<Payment> findByClientId(@Param("clientId") UUID clientId);
     
     // Find payment by order
+    @EntityGraph(Payment.WITH_ASSOCIATIONS)
     @Query("SELECT p FROM Payment p WHERE p.order.orderId = :orderId")
     Optional<Payment> findByOrderId(@Param("orderId") UUID orderId);
     
@@ -1,83 +1,278 @@
 package com.example.jalai_backend.repository;
 
+import com.example.jalai_backend.dto.ProductSummaryProjection;
+import com.example.jalai_backend.model.Admin;
 import com.example.jalai_backend.model.Product;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface ProductRepository extends JpaRepository<Product, UUID> {
 
+    // Entity queries below load seller, category and approver through the
+    // Product.withAssociations graph instead of one lazy SELECT per row
+
+    // Find product by id with its associations (detail view)
+    @EntityGraph(Product.WITH_ASSOCIATIONS)
+    @Query("SELECT p FROM Product p WHERE p.id = :id")
+    Optional<Product> findWithAssociationsById(@Param("id") UUID id);
+
     // Find all available products
+    @EntityGraph(Product.WITH_ASSOCIATIONS)
     List<Product> findByIsAvailableTrue();
 
     // Find all approved products
+    @EntityGraph(Product.WITH_ASSOCIATIONS)
     List<Product> findByIsApprovedTrue();
 
     // Find all donated products
+    @EntityGraph(Product.WITH_ASSOCIATIONS)
     List<Product> findByIsDonatedTrue();
 
     // Find products by category
+    @EntityGraph(Product.WITH_ASSOCIATIONS)
     @Query("SELECT p FROM Product p WHERE p.category.id = :categoryId AND p.isAvailable = true")
     List<Product> findByCategoryId(@Param("categoryId") UUID categoryId);
 
     // Find products by seller
+    @EntityGraph(Product.WITH_ASSOCIATIONS)
     @Query("SELECT p FROM Product p WHERE p.seller.id = :sellerId")
     List<Product> findBySellerId(@Param("sellerId") UUID sellerId);
 
     // Find products by name containing (case insensitive)
+    @EntityGraph(Product.WITH_ASSOCIATIONS)
     @Query("SELECT p FROM Product p WHERE LOWER(p.name) LIKE LOWER(CONCAT('%', :name, '%')) AND p.isAvailable = true")
     List<Product> findByNameContainingIgnoreCase(@Param("name") String name);
 
     // Find products by price range
+    @EntityGraph(Product.WITH_ASSOCIATIONS)
     @Query("SELECT p FROM Product p WHERE p.price BETWEEN :minPrice AND :maxPrice AND p.isAvailable = true")
     List<Product> findByPriceBetween(@Param("minPrice") BigDecimal minPrice, @Param("maxPrice") BigDecimal maxPrice);
 
     // Find products with pagination
+    @EntityGraph(Product.WITH_ASSOCIATIONS)
     Page<Product> findByIsAvailableTrue(Pageable pageable);
 
     // Find products by category with pagination
+    @EntityGraph(Product.WITH_ASSOCIATIONS)
     @Query("SELECT p FROM Product p WHERE p.category.id = :categoryId AND p.isAvailable = true")
     Page<Product> findByCategoryIdWithPagination(@Param("categoryId") UUID categoryId, Pageable pageable);
 
     // Search products by keyword in name or description
+    @EntityGraph(Product.WITH_ASSOCIATIONS)
     @Query("SELECT p FROM Product p WHERE (LOWER(p.name) LIKE LOWER(CONCAT('%', :keyword, '%')) OR LOWER(p.description) LIKE LOWER(CONCAT('%', :keyword, '%'))) AND p.isAvailable = true")
     List<Product> searchByKeyword(@Param("keyword") String keyword);
 
     // Find products pending approval
+    @EntityGraph(Product.WITH_ASSOCIATIONS)
     List<Product> findByIsApprovedFalse();
 
     // Find products approved by specific admin
+    @EntityGraph(Product.WITH_ASSOCIATIONS)
     @Query("SELECT p FROM Product p WHERE p.approvedBy.id = :adminId")
     List<Product> findByApprovedByAdminId(@Param("adminId") UUID adminId);
 
-    // Find top-rated products
-    @Query("SELECT p FROM Product p LEFT JOIN p.reviews r GROUP BY p ORDER BY AVG(r.rating) DESC")
-    List<Product> findTopRatedProducts();
-
-    // Find recently added products
-    @Query("SELECT p FROM Product p WHERE p.isAvailable = true ORDER BY p.createdAt DESC")
-    List<Product> findRecentProducts();
 
     // Count products by category
     @Query("SELECT COUNT(p) FROM Product p WHERE p.category.id = :categoryId AND p.isAvailable = true")
     long countByCategoryId(@Param("categoryId") UUID categoryId);
 
     // Find approved and available products with pagination
+    @EntityGraph(Product.WITH_ASSOCIATIONS)
     Page<Product> findByIsApprovedTrueAndIsAvailableTrue(Pageable pageable);
 
     // Find approved and available products by category name with pagination
+    @EntityGraph(Product.WITH_ASSOCIATIONS)
     @Query("SELECT p FROM Product p WHERE p.isApproved = true AND p.isAvailable = true AND LOWER(p.category.name) = LOWER(:categoryName)")
     Page<Product> findByIsApprovedTrueAndIsAvailableTrueAndCategoryNameIgnoreCase(
             @Param("categoryName") String categoryName, Pageable pageable);
 
     // Find products by seller/client ID ordered by creation date
+    @EntityGraph(Product.WITH_ASSOCIATIONS)
     List<Product> findBySellerIdOrderByCreatedAtDesc(UUID sellerId);
+
+    // Summary projections: select only the columns ProductSummaryDTO needs, never the image blob,
+    // and join seller/category/approver in the same statement
+
+    String SUMMARY_SELECT = "SELECT new com.example.jalai_backend.dto.ProductSummaryProjection(" +
+            "p.id, p.name, p.description, p.price, p.imageUrl, p.isDonated, p.isApproved, p.isAvailable, " +
+            "p.averageRating, p.ratingCount, p.createdAt, p.updatedAt, s.id, s.name, c.id, c.name, a.id, a.name) " +
+            "FROM Product p LEFT JOIN p.seller s LEFT JOIN p.category c LEFT JOIN p.approvedBy a ";
+
+    @Query(value = SUMMARY_SELECT,
+            countQuery = "SELECT COUNT(p) FROM Product p")
+    Page<ProductSummaryProjection> findAllSummaries(Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "WHERE p.isAvailable = true")
+    List<ProductSummaryProjection> findAvailableSummaries();
+
+    @Query(value = SUMMARY_SELECT + "WHERE p.isAvailable = true",
+            countQuery = "SELECT COUNT(p) FROM Product p WHERE p.isAvailable = true")
+    Page<ProductSummaryProjection> findAvailableSummaries(Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "WHERE p.isApproved = true AND p.isAvailable = true")
+    List<ProductSummaryProjection> findApprovedSummaries();
+
+    @Query(value = SUMMARY_SELECT + "WHERE p.isAvailable = true AND p.price BETWEEN :minPrice AND :maxPrice " +
+            "ORDER BY p.price ASC",
+            countQuery = "SELECT COUNT(p) FROM Product p WHERE p.isAvailable = true " +
+                    "AND p.price BETWEEN :minPrice AND :maxPrice")
+    Page<ProductSummaryProjection> findAvailableSummariesByPriceBetween(@Param("minPrice") BigDecimal minPrice,
+            @Param("maxPrice") BigDecimal maxPrice, Pageable pageable);
+
+    // Newest storefront products, at most limit rows
+    @Query(SUMMARY_SELECT + "WHERE p.isApproved = true AND p.isAvailable = true " +
+            "ORDER BY p.createdAt DESC, p.id DESC")
+    List<ProductSummaryProjection> findRecentSummaries(Limit limit);
+
+    // Top-rated storefront products from the stored rating aggregate (unreviewed products rank last)
+    @Query(SUMMARY_SELECT + "WHERE p.isApproved = true AND p.isAvailable = true " +
+            "ORDER BY p.averageRating DESC, p.ratingCount DESC, p.createdAt DESC")
+    List<ProductSummaryProjection> findTopRatedSummaries(Limit limit);
+
+    // Apply one review write to the rating aggregate in a single atomic UPDATE.
+    // averageRating is assigned first: MySQL evaluates SET clauses left to right
+    // against already-updated columns, so it must still see the old sum and count.
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Product p SET " +
+            "p.averageRating = CASE WHEN p.ratingCount + :countDelta > 0 " +
+            "THEN (p.ratingSum + :sumDelta) * 1.0 / (p.ratingCount + :countDelta) ELSE 0.0 END, " +
+            "p.ratingSum = p.ratingSum + :sumDelta, " +
+            "p.ratingCount = p.ratingCount + :countDelta " +
+            "WHERE p.id = :productId")
+    int adjustRating(@Param("productId") UUID productId, @Param("sumDelta") long sumDelta,
+            @Param("countDelta") int countDelta);
+
+    @Query(SUMMARY_SELECT + "WHERE p.id = :id")
+    Optional<ProductSummaryProjection> findSummaryById(@Param("id") UUID id);
+
+    // Just the seller, for change events that need nothing else from the product
+    @Query("SELECT p.seller.id FROM Product p WHERE p.id = :id")
+    Optional<UUID> findSellerIdById(@Param("id") UUID id);
+
+    // Bulk moderation: one set-based UPDATE per call instead of a load and save per product
+
+    @Query(SUMMARY_SELECT + "WHERE p.id IN :ids")
+    List<ProductSummaryProjection> findSummariesByIdIn(@Param("ids") Collection<UUID> ids);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Product p SET p.isApproved = true, p.isAvailable = true, p.approvedBy = :admin, " +
+            "p.updatedAt = :now WHERE p.id IN :ids")
+    int approveAll(@Param("ids") Collection<UUID> ids, @Param("admin") Admin admin,
+            @Param("now") LocalDateTime now);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Product p SET p.isApproved = false, p.isAvailable = false, p.updatedAt = :now " +
+            "WHERE p.id IN :ids")
+    int rejectAll(@Param("ids") Collection<UUID> ids, @Param("now") LocalDateTime now);
+
+    // Catalog export: rows are pulled from the driver EXPORT_FETCH_SIZE at a time instead of
+    // being buffered into a List. Must be consumed inside a read-only transaction.
+    int EXPORT_FETCH_SIZE = 500;
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query(SUMMARY_SELECT + "WHERE p.isApproved = true AND p.isAvailable = true ORDER BY p.createdAt DESC, p.id DESC")
+    Stream<ProductSummaryProjection> streamApprovedSummaries();
+
+    // Every product id, for the known-id Bloom filter
+    @Query("SELECT p.id FROM Product p")
+    List<UUID> findAllIds();
+
+    // Approved products whether or not they are still available (facet counts)
+    @Query(SUMMARY_SELECT + "WHERE p.isApproved = true")
+    List<ProductSummaryProjection> findApprovedSummariesAnyAvailability();
+
+    @Query(value = SUMMARY_SELECT + "WHERE p.isApproved = true AND p.isAvailable = true",
+            countQuery = "SELECT COUNT(p) FROM Product p WHERE p.isApproved = true AND p.isAvailable = true")
+    Page<ProductSummaryProjection> findApprovedSummaries(Pageable pageable);
+
+    @Query(value = SUMMARY_SELECT + "WHERE p.isApproved = true AND p.isAvailable = true " +
+            "AND LOWER(c.name) = LOWER(:categoryName)",
+            countQuery = "SELECT COUNT(p) FROM Product p WHERE p.isApproved = true AND p.isAvailable = true " +
+                    "AND LOWER(p.category.name) = LOWER(:categoryName)")
+    Page<ProductSummaryProjection> findApprovedSummariesByCategoryName(@Param("categoryName") String categoryName,
+            Pageable pageable);
+
+    @Query(value = SUMMARY_SELECT + "WHERE c.id = :categoryId AND p.isAvailable = true",
+            countQuery = "SELECT COUNT(p) FROM Product p WHERE p.category.id = :categoryId AND p.isAvailable = true")
+    Page<ProductSummaryProjection> findSummariesByCategoryId(@Param("categoryId") UUID categoryId,
+            Pageable pageable);
+
+    // Slice variants of the listings above: Spring Data fetches size + 1 rows to tell
+    // whether a next slice exists and never runs the COUNT query. Newest first with the
+    // id as tie-breaker, so consecutive slices neither skip nor repeat rows
+    @Query(SUMMARY_SELECT + "ORDER BY p.createdAt DESC, p.id DESC")
+    Slice<ProductSummaryProjection> findAllSummariesSlice(Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "WHERE p.isApproved = true AND p.isAvailable = true " +
+            "ORDER BY p.createdAt DESC, p.id DESC")
+    Slice<ProductSummaryProjection> findApprovedSummariesSlice(Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "WHERE p.isApproved = true AND p.isAvailable = true " +
+            "AND LOWER(c.name) = LOWER(:categoryName) ORDER BY p.createdAt DESC, p.id DESC")
+    Slice<ProductSummaryProjection> findApprovedSummariesByCategoryNameSlice(
+            @Param("categoryName") String categoryName, Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "WHERE c.id = :categoryId AND p.isAvailable = true " +
+            "ORDER BY p.createdAt DESC, p.id DESC")
+    Slice<ProductSummaryProjection> findSummariesByCategoryIdSlice(@Param("categoryId") UUID categoryId,
+            Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "WHERE s.id = :sellerId ORDER BY p.createdAt DESC")
+    List<ProductSummaryProjection> findSummariesBySellerId(@Param("sellerId") UUID sellerId);
+
+    // Keyset pagination: listings ordered by (createdAt, id) descending, next
+    // pages seek past the last seen row instead of using OFFSET and COUNT
+
+    @Query(SUMMARY_SELECT + "ORDER BY p.createdAt DESC, p.id DESC")
+    List<ProductSummaryProjection> findFirstKeysetPage(Limit limit);
+
+    @Query(SUMMARY_SELECT +
+            "WHERE p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.id < :id) " +
+            "ORDER BY p.createdAt DESC, p.id DESC")
+    List<ProductSummaryProjection> findKeysetPageAfter(@Param("createdAt") LocalDateTime createdAt,
+            @Param("id") UUID id, Limit limit);
+
+    @Query(SUMMARY_SELECT + "WHERE p.isApproved = true AND p.isAvailable = true " +
+            "ORDER BY p.createdAt DESC, p.id DESC")
+    List<ProductSummaryProjection> findFirstApprovedKeysetPage(Limit limit);
+
+    @Query(SUMMARY_SELECT + "WHERE p.isApproved = true AND p.isAvailable = true " +
+            "AND (p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.id < :id)) " +
+            "ORDER BY p.createdAt DESC, p.id DESC")
+    List<ProductSummaryProjection> findApprovedKeysetPageAfter(@Param("createdAt") LocalDateTime createdAt,
+            @Param("id") UUID id, Limit limit);
+
+    @Query(SUMMARY_SELECT + "WHERE c.id = :categoryId AND p.isAvailable = true " +
+            "ORDER BY p.createdAt DESC, p.id DESC")
+    List<ProductSummaryProjection> findFirstCategoryKeysetPage(@Param("categoryId") UUID categoryId, Limit limit);
+
+    @Query(SUMMARY_SELECT + "WHERE c.id = :categoryId AND p.isAvailable = true " +
+            "AND (p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.id < :id)) " +
+            "ORDER BY p.createdAt DESC, p.id DESC")
+    List<ProductSummaryProjection> findCategoryKeysetPageAfter(@Param("categoryId") UUID categoryId,
+            @Param("createdAt") LocalDateTime createdAt, @Param("id") UUID id, Limit limit);
 }
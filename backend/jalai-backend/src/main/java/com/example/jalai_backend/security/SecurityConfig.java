@@ -69,6 +69,8 @@ public class SecurityConfig {
                         .requestMatchers("/api/products/search").permitAll()
                         .requestMatchers("/api/products/category/**").permitAll()
                         .requestMatchers("/api/products/approved").permitAll() // Allow public access to approved products
+                        .requestMatchers("/api/products/facets").permitAll() // Storefront filter counts
+                        .requestMatchers("/api/products/suggest").permitAll() // Search-box autocomplete
                         .requestMatchers("/api/categories/public").permitAll()
                         .requestMatchers("/api/orphanages/public").permitAll()
                         .requestMatchers("/api/orphanages/*").permitAll() // Allow public access to individual orphanages
@@ -0,0 +1,54 @@
+package com.example.jalai_backend.service;
+
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Content-addressed storage for binary payloads such as image files. A blob's key
+ * is the lowercase hex SHA-256 of its bytes, so storing the same bytes twice yields
+ * the same key and one stored copy. The database keeps only keys and metadata.
+ */
+public interface BlobStore {
+
+    /**
+     * The key of the given bytes: their SHA-256 in lowercase hex
+     */
+    static String keyOf(byte[] data) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(data));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Store the bytes and return their key. Bytes already stored are kept, but count
+     * as written now, so {@link #deleteIfUnusedSince} leaves them alone until the row
+     * about to reference them has committed.
+     */
+    String put(byte[] data) throws IOException;
+
+    /**
+     * A streamable resource for the blob, or null when no blob has the key
+     */
+    Resource get(String key);
+
+    boolean exists(String key);
+
+    /**
+     * Remove the blob unless it was written (or put again) after the cutoff; callers
+     * must make sure no row still references the key. Returns whether it was removed.
+     */
+    boolean deleteIfUnusedSince(String key, Instant cutoff) throws IOException;
+
+    /**
+     * Keys of the blobs last written before the cutoff, candidates for garbage collection
+     */
+    List<String> keysWrittenBefore(Instant cutoff) throws IOException;
+}
@@ -0,0 +1,156 @@
+package com.example.jalai_backend.service;
+
+import com.example.jalai_backend.event.CategoryChangedEvent;
+import com.example.jalai_backend.event.OrderConfirmedEvent;
+import com.example.jalai_backend.event.OrphanageChangedEvent;
+import com.example.jalai_backend.event.ProductChangedEvent;
+import com.example.jalai_backend.event.SellerChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.interceptor.SimpleKey;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.UUID;
+
+/**
+ * The one place that turns domain changes into cache evictions and read-model
+ * updates. Services publish events while they write; the listeners here run only
+ * after the transaction commits (or straight away when there is none), so a rolled
+ * back change never reaches a cache, and a cache is never refilled from state that
+ * is not yet visible to other transactions.
+ *
+ * Cache keys must match the @Cacheable sites in ProductService:
+ * approvedProducts is cached under the no-argument key, clientProducts by client id.
+ */
+@Component
+public class CacheInvalidationRouter {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheInvalidationRouter.class);
+
+    static final String APPROVED_PRODUCTS = "approvedProducts";
+    static final String CLIENT_PRODUCTS = "clientProducts";
+
+    // Above this many products one event rebuilds the read models instead of patching them
+    static final int BULK_REBUILD_THRESHOLD = 20;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private OrphanageNameIndex orphanageNameIndex;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        route(event);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onSellerChanged(SellerChangedEvent event) {
+        route(event);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        route(event);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onOrderConfirmed(OrderConfirmedEvent event) {
+        route(event);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrphanageChanged(OrphanageChangedEvent event) {
+        route(event);
+    }
+
+    /**
+     * Apply an event in the caller's transaction. The listeners above call this after
+     * commit; tests, whose transactions never commit, call it directly.
+     */
+    public void route(Object event) {
+        try {
+            if (event instanceof ProductChangedEvent productChanged) {
+                apply(productChanged);
+            } else if (event instanceof SellerChangedEvent sellerChanged) {
+                apply(sellerChanged);
+            } else if (event instanceof CategoryChangedEvent categoryChanged) {
+                apply(categoryChanged);
+            } else if (event instanceof OrphanageChangedEvent orphanageChanged) {
+                apply(orphanageChanged);
+            } else if (event instanceof OrderConfirmedEvent orderConfirmed) {
+                productService.recordConfirmedOrder(orderConfirmed.getOrderId());
+            }
+        } catch (RuntimeException e) {
+            // The change is committed either way; a failed refresh must not fail the request
+            logger.warn("Failed to apply {}", event.getClass().getSimpleName(), e);
+        }
+    }
+
+    private void apply(ProductChangedEvent event) {
+        evict(APPROVED_PRODUCTS, SimpleKey.EMPTY);
+        event.getSellerIds().forEach(sellerId -> evict(CLIENT_PRODUCTS, sellerId));
+
+        if (event.getProductIds().size() > BULK_REBUILD_THRESHOLD) {
+            productService.rebuildReadModels();
+            return;
+        }
+        for (UUID productId : event.getProductIds()) {
+            if (event.getChange() == ProductChangedEvent.Change.DELETED) {
+                productService.removeFromReadModels(productId);
+            } else {
+                productService.refreshProduct(productId, event.getChange() == ProductChangedEvent.Change.PUBLISHED);
+            }
+        }
+    }
+
+    private void apply(SellerChangedEvent event) {
+        // Cached product entities and summaries embed the seller's name and email
+        evict(APPROVED_PRODUCTS, SimpleKey.EMPTY);
+        evict(CLIENT_PRODUCTS, event.getSellerId());
+        productService.refreshSellerProducts(event.getSellerId());
+    }
+
+    private void apply(CategoryChangedEvent event) {
+        // A rename moves products between storefront category lists and relabels facets
+        evict(APPROVED_PRODUCTS, SimpleKey.EMPTY);
+        clear(CLIENT_PRODUCTS);
+        productService.rebuildReadModels();
+    }
+
+    private void apply(OrphanageChangedEvent event) {
+        // The event carries the written state, so nothing is reloaded
+        if (event.isDeleted()) {
+            orphanageNameIndex.remove(event.getOrphanageId());
+        } else {
+            orphanageNameIndex.put(event.getOrphanageId(), event.getName(), event.isActive());
+        }
+    }
+
+    private void evict(String cacheName, Object key) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.evict(key);
+        }
+    }
+
+    private void clear(String cacheName) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+}
@@ -34,11 +34,11 @@ public class CartService {
 
     public Cart addToCart(UUID clientId, UUID productId, Integer quantity) {
         // Validate client
-        Client client = clientRepository.findById(clientId)
+        Client client = clientRepository.findWithManagerById(clientId)
             .orElseThrow(() -> new RuntimeException("Client not found with id: " + clientId));
 
         // Validate product
-        Product product = productRepository.findById(productId)
+        Product product = productRepository.findWithAssociationsById(productId)
             .orElseThrow(() -> new RuntimeException("Product not found with id: " + productId));
 
         // Check if product is available
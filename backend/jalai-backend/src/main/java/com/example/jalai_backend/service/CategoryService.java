@@ -1,13 +1,17 @@
 package com.example.jalai_backend.service;
 
+import com.example.jalai_backend.event.CategoryChangedEvent;
 import com.example.jalai_backend.model.Admin;
 import com.example.jalai_backend.model.Category;
 import com.example.jalai_backend.repository.AdminRepository;
 import com.example.jalai_backend.repository.CategoryRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -22,8 +26,23 @@ public class CategoryService {
     @Autowired
     private AdminRepository adminRepository;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     public List<Category> getAllCategories() {
-        return categoryRepository.findAll();
+        return categoryRepository.findAllWithManager();
+    }
+
+    /**
+     * Strong ETag of the full category list, read without loading any category
+     */
+    @Transactional(readOnly = true)
+    public String getCategoriesEtag() {
+        CategoryRepository.ListVersion version = categoryRepository.findListVersion();
+        LocalDateTime lastUpdated = version.getLastUpdated();
+        String stamp = lastUpdated == null ? "0"
+                : lastUpdated.toEpochSecond(ZoneOffset.UTC) + "." + lastUpdated.getNano();
+        return "\"categories-" + version.getCount() + "-" + stamp + "\"";
     }
 
     public List<Category> getAllActiveCategories() {
@@ -31,7 +50,7 @@ public class CategoryService {
     }
 
     public Optional<Category> getCategoryById(UUID id) {
-        return categoryRepository.findById(id);
+        return categoryRepository.findWithManagerById(id);
     }
 
     public Optional<Category> getCategoryByName(String name) {
@@ -58,7 +77,7 @@ public class CategoryService {
     }
 
     public Category updateCategory(UUID id, Category categoryDetails) {
-        Category category = categoryRepository.findById(id)
+        Category category = categoryRepository.findWithManagerById(id)
             .orElseThrow(() -> new RuntimeException("Category not found with id: " + id));
 
         // Update fields
@@ -72,7 +91,9 @@ public class CategoryService {
             category.setName(categoryDetails.getName());
         }
 
-        return categoryRepository.save(category);
+        Category savedCategory = categoryRepository.save(category);
+        eventPublisher.publishEvent(new CategoryChangedEvent(savedCategory.getId()));
+        return savedCategory;
     }
 
     public void deactivateCategory(UUID id) {
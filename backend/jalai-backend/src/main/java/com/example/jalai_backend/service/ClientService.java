@@ -1,8 +1,10 @@
 package com.example.jalai_backend.service;
 
+import com.example.jalai_backend.event.SellerChangedEvent;
 import com.example.jalai_backend.model.Client;
 import com.example.jalai_backend.repository.ClientRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -22,6 +24,9 @@ public class ClientService {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     public List<Client> getAllClients() {
         return clientRepository.findAll();
     }
@@ -31,7 +36,7 @@ public class ClientService {
     }
 
     public Optional<Client> getClientById(UUID id) {
-        return clientRepository.findById(id);
+        return clientRepository.findWithManagerById(id);
     }
 
     public Optional<Client> getClientByEmail(String email) {
@@ -52,7 +57,7 @@ public class ClientService {
     }
 
     public Client updateClient(UUID id, Client clientDetails) {
-        Client client = clientRepository.findById(id)
+        Client client = clientRepository.findWithManagerById(id)
                 .orElseThrow(() -> new RuntimeException("Client not found with id: " + id));
 
         // Update fields
@@ -68,7 +73,10 @@ public class ClientService {
             client.setEmail(clientDetails.getEmail());
         }
 
-        return clientRepository.save(client);
+        Client savedClient = clientRepository.save(client);
+        // Product listings show the seller's name and email
+        eventPublisher.publishEvent(new SellerChangedEvent(savedClient.getId()));
+        return savedClient;
     }
 
     public Client updateClientPassword(UUID id, String currentPassword, String newPassword) {
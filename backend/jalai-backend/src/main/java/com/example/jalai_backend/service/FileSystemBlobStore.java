@@ -0,0 +1,133 @@
+package com.example.jalai_backend.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Default {@link BlobStore}: one file per blob under the configured directory,
+ * at ab/cd/abcd... for key abcd..., so no directory grows past 65536 entries.
+ * Files are written to a temporary name and moved into place, so a reader never
+ * sees a partly written blob, and two writers of the same bytes both succeed.
+ *
+ * A file's modification time is its last put. A delete first renames the file to
+ * a tombstone, so a concurrent put either refreshed the time before the rename (and
+ * the file is moved back) or finds no file and writes it again.
+ */
+@Component
+@ConditionalOnProperty(name = "jalai.images.blob-store", havingValue = "filesystem", matchIfMissing = true)
+public class FileSystemBlobStore implements BlobStore {
+
+    private static final Pattern KEY = Pattern.compile("[0-9a-f]{64}");
+    private static final String TOMBSTONE_SUFFIX = ".deleted";
+
+    private final Path root;
+
+    public FileSystemBlobStore(@Value("${jalai.images.storage-dir:data/images}") String storageDir) {
+        this.root = Paths.get(storageDir).toAbsolutePath().normalize();
+    }
+
+    @Override
+    public String put(byte[] data) throws IOException {
+        String key = BlobStore.keyOf(data);
+        Path target = path(key);
+        try {
+            Files.setLastModifiedTime(target, FileTime.from(Instant.now()));
+            return key;
+        } catch (NoSuchFileException e) {
+            // Not stored yet, or being deleted right now: write it
+        }
+        Files.createDirectories(target.getParent());
+        Path temp = Files.createTempFile(target.getParent(), key, ".tmp");
+        try {
+            Files.write(temp, data);
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        return key;
+    }
+
+    @Override
+    public Resource get(String key) {
+        if (!isKey(key)) {
+            return null;
+        }
+        Path file = path(key);
+        return Files.isRegularFile(file) ? new FileSystemResource(file) : null;
+    }
+
+    @Override
+    public boolean exists(String key) {
+        return isKey(key) && Files.isRegularFile(path(key));
+    }
+
+    @Override
+    public boolean deleteIfUnusedSince(String key, Instant cutoff) throws IOException {
+        if (!isKey(key)) {
+            return false;
+        }
+        Path target = path(key);
+        Path tombstone = target.resolveSibling(key + TOMBSTONE_SUFFIX);
+        try {
+            if (Files.getLastModifiedTime(target).toInstant().isAfter(cutoff)) {
+                return false;
+            }
+            Files.move(target, tombstone, StandardCopyOption.ATOMIC_MOVE);
+        } catch (NoSuchFileException e) {
+            return false;
+        }
+        // Put again between the check and the rename: restore it (same bytes if rewritten)
+        if (Files.getLastModifiedTime(tombstone).toInstant().isAfter(cutoff)) {
+            Files.move(tombstone, target, StandardCopyOption.ATOMIC_MOVE);
+            return false;
+        }
+        Files.delete(tombstone);
+        return true;
+    }
+
+    @Override
+    public List<String> keysWrittenBefore(Instant cutoff) throws IOException {
+        if (!Files.isDirectory(root)) {
+            return List.of();
+        }
+        List<String> keys = new ArrayList<>();
+        try (Stream<Path> files = Files.walk(root, 3)) {
+            for (Path file : (Iterable<Path>) files.filter(Files::isRegularFile)::iterator) {
+                if (isKey(file.getFileName().toString())
+                        && Files.getLastModifiedTime(file).toInstant().isBefore(cutoff)) {
+                    keys.add(file.getFileName().toString());
+                }
+            }
+        }
+        return keys;
+    }
+
+    private Path path(String key) {
+        return root.resolve(key.substring(0, 2)).resolve(key.substring(2, 4)).resolve(key);
+    }
+
+    private static boolean isKey(String key) {
+        return key != null && KEY.matcher(key).matches();
+    }
+}
@@ -0,0 +1,143 @@
+package com.example.jalai_backend.service;
+
+import com.example.jalai_backend.exception.ImageQueueFullException;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Moves image decoding, resizing and encoding off the request threads. An upload
+ * stores the raw bytes and a PROCESSING row, returns the image id, and a fixed pool
+ * of workers renders the variants in the background.
+ *
+ * At most workers + queue-capacity uploads are in flight; one more is refused with
+ * {@link ImageQueueFullException} (HTTP 429) before anything is stored. The slot is
+ * taken up front, so a full queue costs the client one cheap request. A re-upload of
+ * bytes that were already uploaded shares the existing image and takes no slot at all.
+ */
+@Component
+public class ImageProcessingPipeline {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImageProcessingPipeline.class);
+
+    @Autowired
+    private ImageService imageService;
+
+    private final ThreadPoolExecutor workers;
+
+    // One permit per upload that is queued or being processed
+    private final Semaphore slots;
+
+    private final int capacity;
+
+    // Requeues uploads interrupted by a restart, see resumeProcessing
+    private volatile Thread resumer;
+
+    public ImageProcessingPipeline(@Value("${jalai.images.pipeline.workers:2}") int workerCount,
+            @Value("${jalai.images.pipeline.queue-capacity:50}") int queueCapacity) {
+        this.capacity = workerCount + queueCapacity;
+        this.slots = new Semaphore(capacity);
+        // The queue is only ever as long as the free slots allow, so it needs no bound of its own
+        this.workers = new ThreadPoolExecutor(workerCount, workerCount, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), new CustomizableThreadFactory("image-worker-"));
+    }
+
+    /**
+     * Store an upload and queue it for processing. Returns the new image id, which is
+     * PROCESSING until a worker has rendered its variants, or the id of an earlier
+     * upload of the same bytes, which then counts as one more upload by this uploader.
+     */
+    public UUID submit(byte[] data, String filename, String contentType, String uploaderId) throws IOException {
+        UUID existingId = imageService.reuseExistingUpload(data, uploaderId);
+        if (existingId != null) {
+            return existingId;
+        }
+        if (!slots.tryAcquire()) {
+            throw new ImageQueueFullException();
+        }
+        try {
+            // Commits before the worker looks for the row
+            UUID imageId = imageService.saveOriginal(data, filename, contentType, uploaderId);
+            workers.execute(() -> process(imageId));
+            return imageId;
+        } catch (IOException | RuntimeException e) {
+            slots.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Uploads that are queued or being processed
+     */
+    public int getInFlight() {
+        return capacity - slots.availablePermits();
+    }
+
+    /**
+     * Requeue uploads left PROCESSING by a restart. More of them than the pipeline has
+     * slots wait on a background thread for workers to free up, competing with new
+     * uploads for the slots as they do.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeProcessing() {
+        List<UUID> pending = imageService.findProcessingImageIds();
+        if (pending.isEmpty()) {
+            return;
+        }
+        resumer = new Thread(() -> requeue(pending), "image-resume");
+        resumer.setDaemon(true);
+        resumer.start();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        Thread requeueing = resumer;
+        if (requeueing != null) {
+            requeueing.interrupt();
+        }
+        workers.shutdown();
+    }
+
+    private void requeue(List<UUID> pending) {
+        int resumed = 0;
+        try {
+            for (UUID imageId : pending) {
+                slots.acquire();
+                workers.execute(() -> process(imageId));
+                resumed++;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RejectedExecutionException e) {
+            // Shutting down; the rest stay PROCESSING for the next start
+            slots.release();
+        }
+        logger.debug("Resumed processing of {} of {} uploaded images", resumed, pending.size());
+    }
+
+    private void process(UUID imageId) {
+        try {
+            imageService.processImage(imageId);
+            imageService.releaseOriginal(imageId);
+        } catch (RuntimeException e) {
+            logger.warn("Image worker failed on {}", imageId, e);
+        } finally {
+            slots.release();
+        }
+    }
+}
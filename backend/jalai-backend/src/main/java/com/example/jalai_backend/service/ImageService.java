@@ -1,95 +1,278 @@
 package com.example.jalai_backend.service;
 
+import com.example.jalai_backend.event.ImageDeletedEvent;
 import com.example.jalai_backend.model.Image;
 import com.example.jalai_backend.repository.ImageRepository;
+import com.example.jalai_backend.repository.ImageUploadRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.Resource;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.multipart.MultipartFile;
+import org.springframework.transaction.event.TransactionalEventListener;
 
 import javax.imageio.ImageIO;
+import javax.imageio.stream.ImageInputStream;
 import java.awt.*;
 import java.awt.image.BufferedImage;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
 import java.util.Base64;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 @Service
 @Transactional
 public class ImageService {
 
+    private static final Logger logger = LoggerFactory.getLogger(ImageService.class);
+
     @Autowired
     private ImageRepository imageRepository;
 
-    private static final int MAX_WIDTH = 800;
-    private static final int MAX_HEIGHT = 600;
-    private static final float COMPRESSION_QUALITY = 0.8f;
+    @Autowired
+    private ImageUploadRepository imageUploadRepository;
 
-    /**
-     * Save uploaded image file
-     */
-    public UUID saveImage(MultipartFile file) throws IOException {
-        // Validate file
-        if (file.isEmpty()) {
-            throw new IllegalArgumentException("File is empty");
-        }
+    @Autowired
+    private KnownIds knownIds;
 
-        // Compress and resize image
-        byte[] compressedImageData = compressImage(file.getBytes(), file.getContentType());
+    @Autowired
+    private BlobStore blobStore;
 
-        // Create image entity
-        Image image = new Image();
-        image.setFilename(file.getOriginalFilename());
-        image.setContentType(file.getContentType());
-        image.setSize((long) compressedImageData.length);
-        image.setData(compressedImageData);
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
 
-        // Save and return ID
-        Image savedImage = imageRepository.save(image);
-        return savedImage.getId();
-    }
+    private static final float COMPRESSION_QUALITY = 0.8f;
+
+    // Blob keys checked against the images table per query when collecting garbage
+    private static final int BLOB_GC_BATCH = 500;
+
+    // Blobs written more recently are never deleted: the row about to reference them
+    // may not have committed yet
+    @Value("${jalai.images.blob-grace-period:PT1H}")
+    private Duration blobGracePeriod;
+
+    // Products reference uploaded images by this path (see ProductController)
+    private static final String IMAGE_URL_PREFIX = "/api/images/";
 
     /**
-     * Save base64 image data (fallback for existing frontend)
+     * Bytes of a base64 image, with or without a data URL prefix
      */
-    public UUID saveBase64Image(String base64Data, String filename, String contentType) throws IOException {
+    public static byte[] decodeBase64Image(String base64Data) {
         // Remove data URL prefix if present
         String imageData = base64Data;
         if (imageData.contains(",")) {
             imageData = imageData.split(",")[1];
         }
+        return Base64.getDecoder().decode(imageData);
+    }
 
-        // Decode base64
-        byte[] decodedBytes = Base64.getDecoder().decode(imageData);
+    /**
+     * Id of an image already uploaded from exactly these bytes, now shared by one more
+     * upload, or null when there is none. Such an upload needs no new row, blobs or resize.
+     */
+    public UUID reuseExistingUpload(byte[] data, String uploaderId) {
+        if (data == null || data.length == 0) {
+            return null;
+        }
+        Optional<UUID> existingId = imageRepository.findReusableIdByOriginalHash(BlobStore.keyOf(data));
+        // No row updated when the image was deleted in the meantime
+        if (existingId.isPresent() && imageRepository.addReference(existingId.get()) > 0) {
+            imageUploadRepository.recordUpload(existingId.get(), uploaderId);
+            return existingId.get();
+        }
+        return null;
+    }
 
-        // Compress and resize
-        byte[] compressedImageData = compressImage(decodedBytes, contentType);
+    /**
+     * First half of an asynchronous upload: keep the uploaded bytes as a blob and create
+     * the row in PROCESSING state. {@link #processImage} renders the variants later.
+     */
+    public UUID saveOriginal(byte[] data, String filename, String contentType, String uploaderId)
+            throws IOException {
+        if (data == null || data.length == 0) {
+            throw new IllegalArgumentException("File is empty");
+        }
+        // Only sniff the header here; decoding the whole image is the worker's job
+        if (!isReadableImage(data)) {
+            throw new IllegalArgumentException("Invalid image data");
+        }
 
-        // Create image entity
         Image image = new Image();
         image.setFilename(filename != null ? filename : "image.jpg");
         image.setContentType(contentType != null ? contentType : "image/jpeg");
-        image.setSize((long) compressedImageData.length);
-        image.setData(compressedImageData);
+        image.setSize((long) data.length);
+        image.setOriginalHash(blobStore.put(data));
+        image.setStatus(Image.Status.PROCESSING);
+        UUID imageId = imageRepository.save(image).getId();
+        imageUploadRepository.recordUpload(imageId, uploaderId);
+        return imageId;
+    }
+
+    /**
+     * Second half of an asynchronous upload, run on an image worker: render and store
+     * the variants of a PROCESSING image, then mark it READY (or FAILED). The row is read
+     * and updated in short transactions of their own; no connection is held while the
+     * variants are rendered.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public Image.Status processImage(UUID imageId) {
+        Image image = imageRepository.findById(imageId).orElse(null);
+        if (image == null || image.getStatus() != Image.Status.PROCESSING) {
+            return image != null ? image.getStatus() : null;
+        }
+        Image.Status status;
+        int updated;
+        try {
+            Resource original = blobStore.get(image.getOriginalHash());
+            if (original == null) {
+                throw new IOException("Uploaded bytes are missing");
+            }
+            byte[] data;
+            try (InputStream in = original.getInputStream()) {
+                data = in.readAllBytes();
+            }
+            Map<Image.Variant, byte[]> variants = renderVariants(data, image.getContentType());
+            updated = imageRepository.markReady(imageId, storeVariants(variants),
+                    variants.get(Image.Variant.FULL).length);
+            status = Image.Status.READY;
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Could not process image {}: {}", imageId, e.getMessage());
+            updated = imageRepository.markFailed(imageId);
+            status = Image.Status.FAILED;
+        }
+        // Deleted, or finished by another worker, while it was rendered
+        return updated > 0 ? status : getImageStatus(imageId);
+    }
+
+    /**
+     * Drop the uploaded bytes of a processed image, unless another upload still waiting
+     * to be processed (or a stored variant) has the same content
+     */
+    public void releaseOriginal(UUID imageId) {
+        Image image = imageRepository.findById(imageId).orElse(null);
+        if (image == null || image.getOriginalHash() == null || image.getStatus() == Image.Status.PROCESSING) {
+            return;
+        }
+        releaseBlob(image.getOriginalHash());
+    }
+
+    @Transactional(readOnly = true)
+    public List<UUID> findProcessingImageIds() {
+        return imageRepository.findIdsByStatus(Image.Status.PROCESSING);
+    }
+
+    /**
+     * Processing state of an image, or null when it does not exist
+     */
+    @Transactional(readOnly = true)
+    public Image.Status getImageStatus(UUID imageId) {
+        return imageRepository.findById(imageId).map(Image::getStatus).orElse(null);
+    }
+
+    /**
+     * Load the known-image-id filter, then rebuild it periodically so deleted ids age out
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${jalai.known-ids.rebuild-interval:PT30M}",
+            initialDelayString = "${jalai.known-ids.rebuild-interval:PT30M}")
+    @Transactional(readOnly = true)
+    public void buildKnownImageIds() {
+        knownIds.rebuildImages(imageRepository.findAllIds());
+    }
+
+    /**
+     * Move the bytes of rows written before the blob store out of the images table,
+     * one row at a time (each in its own transaction) so only one image is ever held in memory
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void migrateLegacyImages() {
+        List<UUID> legacyIds = imageRepository.findIdsWithoutContentHash();
+        if (legacyIds.isEmpty()) {
+            return;
+        }
+        int moved = 0;
+        for (UUID imageId : legacyIds) {
+            try {
+                byte[] data = imageRepository.findLegacyData(imageId);
+                if (data != null) {
+                    moved += imageRepository.moveLegacyData(imageId, blobStore.put(data));
+                }
+            } catch (Exception e) {
+                logger.warn("Could not move image {} to the blob store", imageId, e);
+            }
+        }
+        logger.debug("Moved {} of {} legacy images to the blob store", moved, legacyIds.size());
+    }
 
-        Image savedImage = imageRepository.save(image);
-        return savedImage.getId();
+    /**
+     * False means the id was never created (or was deleted before the last rebuild)
+     */
+    public boolean imageMightExist(UUID imageId) {
+        return knownIds.mightBeImage(imageId);
     }
 
     /**
-     * Get image data by ID
+     * URL of a rendition of an uploaded image, e.g. /api/images/{id}?size=thumbnail.
+     * External URLs and data URLs are returned unchanged.
+     */
+    public static String variantUrl(String imageUrl, Image.Variant variant) {
+        if (imageUrl == null || !imageUrl.startsWith(IMAGE_URL_PREFIX) || imageUrl.contains("?")
+                || variant == Image.Variant.FULL) {
+            return imageUrl;
+        }
+        return imageUrl + "?size=" + variant.name().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Get the full-size image by ID
      */
     public ImageData getImage(UUID imageId) {
+        return getImage(imageId, Image.Variant.FULL);
+    }
+
+    /**
+     * Get one rendition of an image by ID. Only the metadata row is read; the bytes are
+     * streamed from the blob store by whoever writes the returned resource.
+     */
+    @Transactional(readOnly = true)
+    public ImageData getImage(UUID imageId, Image.Variant variant) {
         Optional<Image> imageOpt = imageRepository.findById(imageId);
         if (imageOpt.isPresent()) {
             Image image = imageOpt.get();
+            if (image.getStatus() != Image.Status.READY) {
+                return null;
+            }
+            String blobKey = image.getVariantHash(variant);
+            Resource resource = blobStore.get(blobKey);
+            if (resource == null) {
+                return null;
+            }
             return new ImageData(
-                image.getData(),
+                resource,
                 image.getContentType(),
-                image.getFilename()
+                image.getFilename(),
+                blobKey,
+                image.getCreatedAt()
             );
         }
         return null;
@@ -114,20 +297,126 @@ public class ImageService {
     }
 
     /**
-     * Delete image by ID
+     * Give up one of the user's uploads of an image; false when they hold none, so a
+     * retried delete cannot take away another user's reference. An image stored before
+     * uploads were recorded has no uploads at all and just loses one reference. An image
+     * shared by identical uploads only loses that reference; the row and its blobs go with
+     * the last one. Without a user (an admin delete) the image goes whoever shares it.
      */
-    public boolean deleteImage(UUID imageId) {
-        if (imageRepository.existsById(imageId)) {
-            imageRepository.deleteById(imageId);
+    public boolean deleteImage(UUID imageId, String uploaderId) {
+        if (uploaderId != null && !imageUploadRepository.dropUpload(imageId, uploaderId)
+                && imageUploadRepository.existsByImageId(imageId)) {
+            return false;
+        }
+        // Read before the row can go; its blobs are released after commit
+        Optional<Image> imageOpt = imageRepository.findById(imageId);
+        if (imageOpt.isEmpty()) {
+            return false;
+        }
+        if (uploaderId != null) {
+            // Each statement is atomic: the row only goes while this is its last reference,
+            // and an identical upload sharing it in between makes the next round drop one
+            while (imageRepository.dropSharedReference(imageId) == 0) {
+                if (imageRepository.deleteLastReference(imageId) > 0) {
+                    eventPublisher.publishEvent(new ImageDeletedEvent(imageId, blobKeysOf(imageOpt.get())));
+                    return true;
+                }
+                if (!imageRepository.existsById(imageId)) {
+                    return false;
+                }
+            }
             return true;
         }
-        return false;
+        imageUploadRepository.deleteByImageId(imageId);
+        if (imageRepository.deleteWithAllReferences(imageId) == 0) {
+            return false;
+        }
+        eventPublisher.publishEvent(new ImageDeletedEvent(imageId, blobKeysOf(imageOpt.get())));
+        return true;
+    }
+
+    private static Set<String> blobKeysOf(Image image) {
+        Set<String> blobKeys = new HashSet<>();
+        for (Image.Variant variant : Image.Variant.values()) {
+            if (image.getVariantHash(variant) != null) {
+                blobKeys.add(image.getVariantHash(variant));
+            }
+        }
+        // Still stored while the image is PROCESSING
+        if (image.getOriginalHash() != null) {
+            blobKeys.add(image.getOriginalHash());
+        }
+        return blobKeys;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onImageDeleted(ImageDeletedEvent event) {
+        event.getBlobKeys().forEach(this::releaseBlob);
     }
 
     /**
-     * Compress and resize image
+     * Remove a blob once no image row references it and it was not written within the
+     * grace period. Called after the deleting transaction commits; tests, whose
+     * transactions never commit, call it directly. Blobs skipped here are left to
+     * {@link #collectUnreferencedBlobs}.
      */
-    private byte[] compressImage(byte[] originalImageData, String contentType) throws IOException {
+    public void releaseBlob(String blobKey) {
+        if (blobKey == null || imageRepository.isBlobReferenced(blobKey)) {
+            return;
+        }
+        try {
+            blobStore.deleteIfUnusedSince(blobKey, Instant.now().minus(blobGracePeriod));
+        } catch (IOException e) {
+            logger.warn("Could not delete blob {}", blobKey, e);
+        }
+    }
+
+    /**
+     * Delete every blob that no row references and that is older than the grace period:
+     * blobs of uploads whose transaction rolled back, and released blobs that were
+     * still inside the grace period at the time
+     */
+    @Scheduled(fixedDelayString = "${jalai.images.blob-gc-interval:PT6H}",
+            initialDelayString = "${jalai.images.blob-gc-interval:PT6H}")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public int collectUnreferencedBlobs() {
+        Instant cutoff = Instant.now().minus(blobGracePeriod);
+        int deleted = 0;
+        try {
+            List<String> candidates = blobStore.keysWrittenBefore(cutoff);
+            for (int from = 0; from < candidates.size(); from += BLOB_GC_BATCH) {
+                List<String> batch = candidates.subList(from, Math.min(from + BLOB_GC_BATCH, candidates.size()));
+                Set<String> referenced = imageRepository.findReferencedBlobKeys(batch);
+                for (String blobKey : batch) {
+                    if (!referenced.contains(blobKey) && blobStore.deleteIfUnusedSince(blobKey, cutoff)) {
+                        deleted++;
+                    }
+                }
+            }
+        } catch (IOException e) {
+            logger.warn("Could not collect unreferenced blobs", e);
+        }
+        if (deleted > 0) {
+            logger.debug("Deleted {} unreferenced image blobs", deleted);
+        }
+        return deleted;
+    }
+
+    // Variants that come out byte-identical (small originals are never upscaled) share one blob
+    private Map<Image.Variant, String> storeVariants(Map<Image.Variant, byte[]> variants) throws IOException {
+        Map<Image.Variant, String> variantHashes = new EnumMap<>(Image.Variant.class);
+        for (Map.Entry<Image.Variant, byte[]> variant : variants.entrySet()) {
+            variantHashes.put(variant.getKey(), blobStore.put(variant.getValue()));
+        }
+        return variantHashes;
+    }
+
+    /**
+     * Decode the original once and compress it into every variant
+     */
+    private Map<Image.Variant, byte[]> renderVariants(byte[] originalImageData, String contentType)
+            throws IOException {
         // Read the original image
         ByteArrayInputStream inputStream = new ByteArrayInputStream(originalImageData);
         BufferedImage originalImage = ImageIO.read(inputStream);
@@ -136,6 +425,18 @@ public class ImageService {
             throw new IOException("Invalid image data");
         }
 
+        Map<Image.Variant, byte[]> variants = new EnumMap<>(Image.Variant.class);
+        for (Image.Variant variant : Image.Variant.values()) {
+            variants.put(variant, compressImage(originalImage, variant, contentType));
+        }
+        return variants;
+    }
+
+    /**
+     * Compress and resize image to fit the variant's bounds
+     */
+    private byte[] compressImage(BufferedImage originalImage, Image.Variant variant, String contentType)
+            throws IOException {
         // Calculate new dimensions while maintaining aspect ratio
         int originalWidth = originalImage.getWidth();
         int originalHeight = originalImage.getHeight();
@@ -143,13 +444,13 @@ public class ImageService {
         int newWidth = originalWidth;
         int newHeight = originalHeight;
         
-        if (originalWidth > MAX_WIDTH || originalHeight > MAX_HEIGHT) {
-            double widthRatio = (double) MAX_WIDTH / originalWidth;
-            double heightRatio = (double) MAX_HEIGHT / originalHeight;
+        if (originalWidth > variant.getMaxWidth() || originalHeight > variant.getMaxHeight()) {
+            double widthRatio = (double) variant.getMaxWidth() / originalWidth;
+            double heightRatio = (double) variant.getMaxHeight() / originalHeight;
             double ratio = Math.min(widthRatio, heightRatio);
             
-            newWidth = (int) (originalWidth * ratio);
-            newHeight = (int) (originalHeight * ratio);
+            newWidth = Math.max(1, (int) (originalWidth * ratio));
+            newHeight = Math.max(1, (int) (originalHeight * ratio));
         }
 
         // Create resized image
@@ -172,6 +473,12 @@ public class ImageService {
         return outputStream.toByteArray();
     }
 
+    private static boolean isReadableImage(byte[] data) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(new ByteArrayInputStream(data))) {
+            return in != null && ImageIO.getImageReaders(in).hasNext();
+        }
+    }
+
     /**
      * Get image format from content type
      */
@@ -192,19 +499,26 @@ public class ImageService {
 
     // Data classes
     public static class ImageData {
-        private final byte[] data;
+        private final Resource resource;
         private final String contentType;
         private final String filename;
+        private final String contentHash;
+        private final LocalDateTime lastModified;
 
-        public ImageData(byte[] data, String contentType, String filename) {
-            this.data = data;
+        public ImageData(Resource resource, String contentType, String filename, String contentHash,
+                LocalDateTime lastModified) {
+            this.resource = resource;
             this.contentType = contentType;
             this.filename = filename;
+            this.contentHash = contentHash;
+            this.lastModified = lastModified;
         }
 
-        public byte[] getData() { return data; }
+        public Resource getResource() { return resource; }
         public String getContentType() { return contentType; }
         public String getFilename() { return filename; }
+        public String getContentHash() { return contentHash; }
+        public LocalDateTime getLastModified() { return lastModified; }
     }
 
     public static class ImageInfo {
@@ -212,9 +526,9 @@ public class ImageService {
         private final String filename;
         private final String contentType;
         private final Long size;
-        private final java.time.LocalDateTime createdAt;
+        private final LocalDateTime createdAt;
 
-        public ImageInfo(UUID id, String filename, String contentType, Long size, java.time.LocalDateTime createdAt) {
+        public ImageInfo(UUID id, String filename, String contentType, Long size, LocalDateTime createdAt) {
             this.id = id;
             this.filename = filename;
             this.contentType = contentType;
@@ -226,6 +540,6 @@ public class ImageService {
         public String getFilename() { return filename; }
         public String getContentType() { return contentType; }
         public Long getSize() { return size; }
-        public java.time.LocalDateTime getCreatedAt() { return createdAt; }
+        public LocalDateTime getCreatedAt() { return createdAt; }
     }
 }
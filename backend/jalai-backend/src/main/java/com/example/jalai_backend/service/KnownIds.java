@@ -0,0 +1,106 @@
+package com.example.jalai_backend.service;
+
+import com.example.jalai_backend.util.UuidBloomFilter;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bloom filters of every product and image id, so lookups for ids that were
+ * never created (crawlers, stale links) can be answered 404 without a query.
+ *
+ * A filter cannot forget, so deleted ids linger until the next rebuild, which
+ * the owning service runs on a schedule. Until the first rebuild every id
+ * "might" exist and callers fall through to the database.
+ */
+@Component
+public class KnownIds {
+
+    private final IdFilter products = new IdFilter();
+    private final IdFilter images = new IdFilter();
+
+    public boolean mightBeProduct(UUID id) {
+        return products.mightContain(id);
+    }
+
+    public boolean mightBeImage(UUID id) {
+        return images.mightContain(id);
+    }
+
+    public void addProduct(UUID id) {
+        products.add(id);
+    }
+
+    public void addImage(UUID id) {
+        images.add(id);
+    }
+
+    public void rebuildProducts(Collection<UUID> ids) {
+        products.rebuild(ids);
+    }
+
+    public void rebuildImages(Collection<UUID> ids) {
+        images.rebuild(ids);
+    }
+
+    public boolean isReady() {
+        return products.filter != null && images.filter != null;
+    }
+
+    /**
+     * One filter plus what a rebuild needs to avoid false negatives. Ids are added
+     * before their transaction commits, so a rebuild query can miss an id that was
+     * already added to the old filter. Each rebuild therefore carries over every id
+     * added since the previous rebuild. Ids added while it runs go straight into the
+     * new filter as well, and once it is published they are put again, since an add
+     * that read neither the new filter nor {@code next} reached only the old one.
+     */
+    private static final class IdFilter {
+
+        // Sized for twice the ids known at rebuild, leaving room to grow until the next one
+        private static final int MIN_CAPACITY = 1024;
+        private static final double FALSE_POSITIVE_RATE = 0.01;
+
+        private volatile UuidBloomFilter filter;
+        private volatile UuidBloomFilter next;
+        private volatile Set<UUID> addedSinceRebuild = ConcurrentHashMap.newKeySet();
+        private volatile Set<UUID> addedBeforeRebuild = ConcurrentHashMap.newKeySet();
+
+        boolean mightContain(UUID id) {
+            UuidBloomFilter current = filter;
+            return current == null || current.mightContain(id);
+        }
+
+        void add(UUID id) {
+            addedSinceRebuild.add(id);
+            UuidBloomFilter current = filter;
+            if (current != null) {
+                current.put(id);
+            }
+            UuidBloomFilter building = next;
+            if (building != null) {
+                building.put(id);
+            }
+        }
+
+        synchronized void rebuild(Collection<UUID> ids) {
+            Set<UUID> older = addedBeforeRebuild;
+            Set<UUID> newer = addedSinceRebuild;
+            addedBeforeRebuild = newer;
+            addedSinceRebuild = ConcurrentHashMap.newKeySet();
+
+            UuidBloomFilter fresh = new UuidBloomFilter(
+                    Math.max(MIN_CAPACITY, 2 * (ids.size() + older.size() + newer.size())), FALSE_POSITIVE_RATE);
+            next = fresh;
+            ids.forEach(fresh::put);
+            older.forEach(fresh::put);
+            newer.forEach(fresh::put);
+            filter = fresh;
+            next = null;
+            addedSinceRebuild.forEach(fresh::put);
+        }
+    }
+}
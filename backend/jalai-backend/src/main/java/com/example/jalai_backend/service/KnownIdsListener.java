@@ -0,0 +1,25 @@
+package com.example.jalai_backend.service;
+
+import com.example.jalai_backend.model.Image;
+import com.example.jalai_backend.model.Product;
+import jakarta.persistence.PostPersist;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Entity listener recording every inserted product and image in {@link KnownIds},
+ * whichever code path saved it. Hibernate obtains it from the Spring context.
+ */
+public class KnownIdsListener {
+
+    @Autowired
+    private KnownIds knownIds;
+
+    @PostPersist
+    public void afterInsert(Object entity) {
+        if (entity instanceof Product product) {
+            knownIds.addProduct(product.getId());
+        } else if (entity instanceof Image image) {
+            knownIds.addImage(image.getId());
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.example.jalai_backend.service;
 
 import com.example.jalai_backend.dto.NotificationDTO;
+import com.example.jalai_backend.dto.ProductSummaryProjection;
 import com.example.jalai_backend.model.*;
 import com.example.jalai_backend.repository.NotificationRepository;
 import com.example.jalai_backend.repository.ClientRepository;
@@ -88,8 +89,10 @@ public class NotificationService {
         }
     }
 
-    public List<Notification> getUnreadNotificationsByClient(UUID clientId) {
-        return notificationRepository.findUnreadByClientId(clientId);
+    public List<NotificationDTO> getUnreadNotificationsByClient(UUID clientId) {
+        return notificationRepository.findUnreadByClientId(clientId).stream()
+                .map(this::convertToDTO)
+                .collect(Collectors.toList());
     }
 
     public long getUnreadCountByClient(UUID clientId) {
@@ -98,20 +101,21 @@ public class NotificationService {
         return notificationRepository.countUnreadByClient(client);
     }
 
-    public Page<Notification> getNotificationsByClientPaginated(UUID clientId, int page, int size) {
+    public Page<NotificationDTO> getNotificationsByClientPaginated(UUID clientId, int page, int size) {
         Client client = clientRepository.findById(clientId)
                 .orElseThrow(() -> new RuntimeException("Client not found with id: " + clientId));
         Pageable pageable = PageRequest.of(page, size);
-        return notificationRepository.findByRecipientClientOrderByCreatedAtDesc(client, pageable);
+        return notificationRepository.findByRecipientClientOrderByCreatedAtDesc(client, pageable)
+                .map(this::convertToDTO);
     }
 
     // Mark notifications as read
-    public Notification markAsRead(UUID notificationId) {
+    public NotificationDTO markAsRead(UUID notificationId) {
         Notification notification = notificationRepository.findById(notificationId)
                 .orElseThrow(() -> new RuntimeException("Notification not found with id: " + notificationId));
 
         notification.markAsRead();
-        return notificationRepository.save(notification);
+        return convertToDTO(notificationRepository.save(notification));
     }
 
     public int markAllAsReadForClient(UUID clientId) {
@@ -137,6 +141,25 @@ public class NotificationService {
         return notificationRepository.save(notification);
     }
 
+    // Seller notifications for a bulk moderation call, inserted with one saveAll so Hibernate
+    // can batch the INSERTs. Sellers are attached by reference, without a SELECT each.
+    public List<Notification> notifyProductModerations(List<ProductSummaryProjection> products, Admin moderator,
+            boolean approved, String reason) {
+        List<Notification> notifications = new ArrayList<>(products.size());
+        for (ProductSummaryProjection product : products) {
+            if (product.getSellerId() == null) {
+                continue;
+            }
+            Client seller = clientRepository.getReferenceById(product.getSellerId());
+            notifications.add(approved
+                    ? Notification.createProductApprovalNotification(seller, product.getId(), product.getName(),
+                            moderator)
+                    : Notification.createProductRejectionNotification(seller, product.getId(), product.getName(),
+                            moderator, reason));
+        }
+        return notificationRepository.saveAll(notifications);
+    }
+
     // Order-related notifications
     public Notification notifyOrderStatusChange(UUID clientId, Order order) {
         Client client = clientRepository.findById(clientId)
@@ -156,7 +179,7 @@ public class NotificationService {
     }
 
     // Custom notification creation
-    public Notification createCustomNotification(UUID clientId, String title, String message,
+    public NotificationDTO createCustomNotification(UUID clientId, String title, String message,
             Notification.NotificationType type) {
         Client client = clientRepository.findById(clientId)
                 .orElseThrow(() -> new RuntimeException("Client not found with id: " + clientId));
@@ -167,23 +190,29 @@ public class NotificationService {
         notification.setType(type);
         notification.setRecipientClient(client);
 
-        return notificationRepository.save(notification);
+        return convertToDTO(notificationRepository.save(notification));
     }
 
     // Utility methods
-    public List<Notification> getRecentNotifications(UUID clientId, int days) {
+    public List<NotificationDTO> getRecentNotifications(UUID clientId, int days) {
         Client client = clientRepository.findById(clientId)
                 .orElseThrow(() -> new RuntimeException("Client not found with id: " + clientId));
         LocalDateTime since = LocalDateTime.now().minusDays(days);
-        return notificationRepository.findRecentByClient(client, since);
+        return notificationRepository.findRecentByClient(client, since).stream()
+                .map(this::convertToDTO)
+                .collect(Collectors.toList());
     }
 
-    public List<Notification> getNotificationsByType(Notification.NotificationType type) {
-        return notificationRepository.findByTypeOrderByCreatedAtDesc(type);
+    public List<NotificationDTO> getNotificationsByType(Notification.NotificationType type) {
+        return notificationRepository.findByTypeOrderByCreatedAtDesc(type).stream()
+                .map(this::convertToDTO)
+                .collect(Collectors.toList());
     }
 
-    public List<Notification> getNotificationsByTypeAndClient(UUID clientId, Notification.NotificationType type) {
-        return notificationRepository.findByClientIdAndType(clientId, type);
+    public List<NotificationDTO> getNotificationsByTypeAndClient(UUID clientId, Notification.NotificationType type) {
+        return notificationRepository.findByClientIdAndType(clientId, type).stream()
+                .map(this::convertToDTO)
+                .collect(Collectors.toList());
     }
 
     // Cleanup operations
@@ -193,9 +222,11 @@ public class NotificationService {
     }
 
     // Get latest notifications with limit
-    public List<Notification> getLatestNotifications(UUID clientId, int limit) {
+    public List<NotificationDTO> getLatestNotifications(UUID clientId, int limit) {
         Pageable pageable = PageRequest.of(0, limit);
-        return notificationRepository.findLatestByClientId(clientId, pageable);
+        return notificationRepository.findLatestByClientId(clientId, pageable).stream()
+                .map(this::convertToDTO)
+                .collect(Collectors.toList());
     }
 
     // Business logic methods
@@ -228,8 +259,8 @@ public class NotificationService {
         // Additional business logic can be added here
     }
 
-    // Convert Notification entity to DTO
-    private NotificationDTO convertToDTO(Notification notification) {
+    // Convert Notification entity to DTO (package-private for the JMH benchmarks)
+    NotificationDTO convertToDTO(Notification notification) {
         NotificationDTO dto = new NotificationDTO();
 
         try {
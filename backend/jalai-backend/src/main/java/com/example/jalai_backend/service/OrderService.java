@@ -1,5 +1,6 @@
 package com.example.jalai_backend.service;
 
+import com.example.jalai_backend.event.OrderConfirmedEvent;
 import com.example.jalai_backend.model.Cart;
 import com.example.jalai_backend.model.Client;
 import com.example.jalai_backend.model.Order;
@@ -7,7 +8,9 @@ import com.example.jalai_backend.model.Order;
 import com.example.jalai_backend.repository.ClientRepository;
 import com.example.jalai_backend.repository.OrderRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -31,12 +34,15 @@ public class OrderService {
     @Autowired
     private CartService cartService;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     public List<Order> getAllOrders() {
-        return orderRepository.findAll();
+        return orderRepository.findAllWithAssociations();
     }
 
     public Optional<Order> getOrderById(UUID orderId) {
-        return orderRepository.findById(orderId);
+        return orderRepository.findWithAssociationsById(orderId);
     }
 
     public List<Order> getOrdersByClient(UUID clientId) {
@@ -44,7 +50,7 @@ public class OrderService {
     }
 
     public Page<Order> getOrdersByClientWithPagination(UUID clientId, Pageable pageable) {
-        return orderRepository.findByClientIdWithPagination(clientId, pageable);
+        return withAssociations(orderRepository.findIdsByClientId(clientId, pageable));
     }
 
     public List<Order> getOrdersBySeller(UUID sellerId) {
@@ -57,7 +63,7 @@ public class OrderService {
 
     public Order createOrderFromCart(UUID clientId, LocalDateTime deliveryDate) {
         // Validate client
-        Client client = clientRepository.findById(clientId)
+        Client client = clientRepository.findWithManagerById(clientId)
                 .orElseThrow(() -> new RuntimeException("Client not found with id: " + clientId));
 
         // Get cart items
@@ -138,15 +144,21 @@ public class OrderService {
     }
 
     public Order updateOrderStatus(UUID orderId, Order.OrderStatus status) {
-        Order order = orderRepository.findById(orderId)
+        Order order = orderRepository.findWithAssociationsById(orderId)
                 .orElseThrow(() -> new RuntimeException("Order not found with id: " + orderId));
 
+        boolean confirming = status == Order.OrderStatus.CONFIRMED
+                && order.getStatus() != Order.OrderStatus.CONFIRMED;
         order.setStatus(status);
-        return orderRepository.save(order);
+        Order savedOrder = orderRepository.save(order);
+        if (confirming) {
+            eventPublisher.publishEvent(new OrderConfirmedEvent(savedOrder.getOrderId()));
+        }
+        return savedOrder;
     }
 
     public Order updateOrder(UUID orderId, Order orderDetails) {
-        Order order = orderRepository.findById(orderId)
+        Order order = orderRepository.findWithAssociationsById(orderId)
                 .orElseThrow(() -> new RuntimeException("Order not found with id: " + orderId));
 
         // Update allowed fields
@@ -203,7 +215,7 @@ public class OrderService {
     }
 
     public List<Order> getRecentOrders(Pageable pageable) {
-        return orderRepository.findRecentOrders(pageable);
+        return withAssociations(orderRepository.findRecentIds(pageable)).getContent();
     }
 
     public List<Order> getPendingOrdersOlderThan(int days) {
@@ -219,6 +231,15 @@ public class OrderService {
         return orderRepository.findTopClientsByOrderValue();
     }
 
+    // Loads a page of order ids with Order.withAssociations; fetching the items collection
+    // in the paged query itself would make Hibernate page in memory
+    private Page<Order> withAssociations(Page<UUID> orderIds) {
+        List<Order> orders = orderIds.isEmpty()
+                ? List.of()
+                : orderRepository.findWithAssociationsByOrderIdIn(orderIds.getContent());
+        return new PageImpl<>(orders, orderIds.getPageable(), orderIds.getTotalElements());
+    }
+
     // Business methods implementation
     public Order addOrder(Order order) {
         return createOrder(order);
@@ -0,0 +1,90 @@
+package com.example.jalai_backend.service;
+
+import com.example.jalai_backend.util.TrigramIndex;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory trigram index over orphanage names, so a name search tolerates typos
+ * and never scans the orphanages table. Holds every orphanage; searches can be
+ * limited to active ones.
+ */
+@Component
+public class OrphanageNameIndex {
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final TrigramIndex names = new TrigramIndex();
+    private final Set<UUID> activeIds = new HashSet<>();
+
+    private volatile boolean ready;
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Replace the index content
+     */
+    public void rebuild(Map<UUID, String> orphanageNames, Set<UUID> activeOrphanageIds) {
+        lock.writeLock().lock();
+        try {
+            names.clear();
+            activeIds.clear();
+            orphanageNames.forEach(names::put);
+            activeIds.addAll(activeOrphanageIds);
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Add or replace an orphanage
+     */
+    public void put(UUID orphanageId, String name, boolean active) {
+        lock.writeLock().lock();
+        try {
+            names.put(orphanageId, name);
+            if (active) {
+                activeIds.add(orphanageId);
+            } else {
+                activeIds.remove(orphanageId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(UUID orphanageId) {
+        lock.writeLock().lock();
+        try {
+            names.remove(orphanageId);
+            activeIds.remove(orphanageId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Ids of the orphanages whose name is similar to the query, most similar first
+     */
+    public List<UUID> search(String query, double threshold, boolean activeOnly, int limit) {
+        lock.readLock().lock();
+        try {
+            return names.search(query, threshold).stream()
+                    .map(TrigramIndex.Match::id)
+                    .filter(id -> !activeOnly || activeIds.contains(id))
+                    .limit(limit)
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+}
@@ -3,27 +3,65 @@ package com.example.jalai_backend.service;
 import com.example.jalai_backend.model.Donation;
 import com.example.jalai_backend.model.Orphanage;
 import com.example.jalai_backend.repository.OrphanageRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 @Service
 @Transactional
 public class OrphanageService {
 
+    private static final Logger logger = LoggerFactory.getLogger(OrphanageService.class);
+
     @Autowired
     private OrphanageRepository orphanageRepository;
 
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private OrphanageNameIndex orphanageNameIndex;
+
+    // Minimum trigram similarity for a misspelled search to match an orphanage name
+    @Value("${jalai.search.similarity-threshold:0.3}")
+    private double similarityThreshold;
+
+    // Name searches return at most this many orphanages, best first; a longer list means
+    // the text is too vague, so callers narrow it rather than page through it
+    static final int MAX_NAME_MATCHES = 50;
+
+    // Load the orphanage name index; OrphanageChangedEvent keeps it current afterwards
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOrphanageNameIndex() {
+        Map<UUID, String> names = new HashMap<>();
+        Set<UUID> activeIds = new HashSet<>();
+        for (OrphanageRepository.OrphanageName orphanage : orphanageRepository.findAllNames()) {
+            names.put(orphanage.getId(), orphanage.getName());
+            if (Boolean.TRUE.equals(orphanage.getIsActive())) {
+                activeIds.add(orphanage.getId());
+            }
+        }
+        orphanageNameIndex.rebuild(names, activeIds);
+        logger.debug("Orphanage name index built with {} orphanages", names.size());
+    }
+
     public List<Orphanage> getAllOrphanages() {
         return orphanageRepository.findAll();
     }
@@ -111,7 +149,29 @@ public class OrphanageService {
     }
 
     public List<Orphanage> searchOrphanagesByName(String name) {
-        return orphanageRepository.findByNameContainingIgnoreCase(name);
+        return searchOrphanagesByName(name, false);
+    }
+
+    /**
+     * Orphanages whose name contains or resembles the given name, best match first,
+     * capped at {@link #MAX_NAME_MATCHES}. Matching runs on the in-memory trigram
+     * index; only the matches are loaded.
+     */
+    public List<Orphanage> searchOrphanagesByName(String name, boolean activeOnly) {
+        if (!orphanageNameIndex.isReady()) {
+            buildOrphanageNameIndex();
+        }
+        List<UUID> ids = orphanageNameIndex.search(name, similarityThreshold, activeOnly, MAX_NAME_MATCHES);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<UUID, Integer> rank = new HashMap<>();
+        for (int i = 0; i < ids.size(); i++) {
+            rank.put(ids.get(i), i);
+        }
+        List<Orphanage> orphanages = orphanageRepository.findAllById(ids);
+        orphanages.sort(Comparator.comparing(orphanage -> rank.get(orphanage.getId())));
+        return orphanages;
     }
 
     public List<Orphanage> getOrphanagesByLocation(String location) {
@@ -1,5 +1,6 @@
 package com.example.jalai_backend.service;
 
+import com.example.jalai_backend.event.OrderConfirmedEvent;
 import com.example.jalai_backend.model.Payment;
 import com.example.jalai_backend.model.Client;
 import com.example.jalai_backend.model.Order;
@@ -7,6 +8,7 @@ import com.example.jalai_backend.repository.PaymentRepository;
 import com.example.jalai_backend.repository.ClientRepository;
 import com.example.jalai_backend.repository.OrderRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -32,16 +34,19 @@ public class PaymentService {
     @Autowired
     private NotificationService notificationService;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     public List<Payment> getAllPayments() {
         return paymentRepository.findAll();
     }
 
     public Page<Payment> getAllPaymentsWithPagination(Pageable pageable) {
-        return paymentRepository.findAll(pageable);
+        return paymentRepository.findAllWithAssociations(pageable);
     }
 
     public Optional<Payment> getPaymentById(UUID id) {
-        return paymentRepository.findById(id);
+        return paymentRepository.findWithAssociationsById(id);
     }
 
     public List<Payment> getPaymentsByClient(UUID clientId) {
@@ -60,13 +65,13 @@ public class PaymentService {
                                Payment.PaymentMethod paymentMethod, String phoneNumber, String description) {
         
         // Validate client exists
-        Client client = clientRepository.findById(clientId)
+        Client client = clientRepository.findWithManagerById(clientId)
                 .orElseThrow(() -> new RuntimeException("Client not found"));
 
         // Validate order exists if provided
         Order order = null;
         if (orderId != null) {
-            order = orderRepository.findById(orderId)
+            order = orderRepository.findWithAssociationsById(orderId)
                     .orElseThrow(() -> new RuntimeException("Order not found"));
         }
 
@@ -130,9 +135,7 @@ public class PaymentService {
                 
                 // Update order status if payment is for an order
                 if (payment.getOrder() != null) {
-                    Order order = payment.getOrder();
-                    order.setStatus(Order.OrderStatus.CONFIRMED);
-                    orderRepository.save(order);
+                    confirmOrder(payment.getOrder());
                 }
                 
             } else {
@@ -163,14 +166,21 @@ public class PaymentService {
         
         // Update order status if payment is for an order
         if (payment.getOrder() != null) {
-            Order order = payment.getOrder();
-            order.setStatus(Order.OrderStatus.CONFIRMED);
-            orderRepository.save(order);
+            confirmOrder(payment.getOrder());
         }
 
         return paymentRepository.save(payment);
     }
 
+    private void confirmOrder(Order order) {
+        if (order.getStatus() == Order.OrderStatus.CONFIRMED) {
+            return;
+        }
+        order.setStatus(Order.OrderStatus.CONFIRMED);
+        orderRepository.save(order);
+        eventPublisher.publishEvent(new OrderConfirmedEvent(order.getOrderId()));
+    }
+
     public Payment cancelPayment(UUID paymentId) {
         Payment payment = getPaymentById(paymentId)
                 .orElseThrow(() -> new RuntimeException("Payment not found"));
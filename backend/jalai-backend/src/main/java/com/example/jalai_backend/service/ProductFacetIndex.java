@@ -0,0 +1,365 @@
+package com.example.jalai_backend.service;
+
+import com.example.jalai_backend.dto.ProductFacetsDTO;
+import com.example.jalai_backend.dto.ProductFacetsDTO.FacetCount;
+import com.example.jalai_backend.dto.ProductSummaryDTO;
+import com.example.jalai_backend.exception.BadRequestException;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Facet engine over approved products.
+ *
+ * Every product holds a stable ordinal and each facet value (category, price
+ * bucket, donated, available) keeps a bitmap of ordinals. Filtering is a bitmap
+ * AND and each facet count is the cardinality of an intersection, so a whole
+ * filter panel is answered from memory in one call. A write copies only the
+ * bitmaps holding the product's old and new values and flips its bit; freed
+ * ordinals are reused so the bitmaps stay dense.
+ */
+@Component
+public class ProductFacetIndex {
+
+    // Price bucket upper bounds in XAF; the last bucket is open-ended
+    private static final long[] PRICE_BOUNDS = {5_000, 20_000, 50_000, 100_000};
+    private static final List<String> PRICE_BUCKETS = priceBucketKeys();
+
+    private volatile Snapshot snapshot;
+
+    // Writer side only: each product's ordinal and the facet values it is filed under
+    private final Map<UUID, Integer> ordinals = new HashMap<>();
+    private final Map<UUID, FacetValues> indexed = new HashMap<>();
+    private final Deque<Integer> freeOrdinals = new ArrayDeque<>();
+    private int nextOrdinal;
+
+    public boolean isReady() {
+        return snapshot != null;
+    }
+
+    public int size() {
+        Snapshot current = snapshot;
+        return current == null ? 0 : current.size;
+    }
+
+    public synchronized void rebuild(Collection<ProductSummaryDTO> products) {
+        ordinals.clear();
+        indexed.clear();
+        freeOrdinals.clear();
+        nextOrdinal = 0;
+        Edit edit = new Edit(Snapshot.EMPTY);
+        for (ProductSummaryDTO product : products) {
+            apply(edit, product);
+        }
+        snapshot = edit.publish(ordinals.size());
+    }
+
+    public synchronized void put(ProductSummaryDTO product) {
+        if (snapshot == null) {
+            return;
+        }
+        Edit edit = new Edit(snapshot);
+        apply(edit, product);
+        snapshot = edit.publish(ordinals.size());
+    }
+
+    public synchronized void remove(UUID productId) {
+        if (snapshot == null || !ordinals.containsKey(productId)) {
+            return;
+        }
+        int ordinal = ordinals.remove(productId);
+        Edit edit = new Edit(snapshot);
+        edit.clear(ordinal, indexed.remove(productId));
+        freeOrdinals.push(ordinal);
+        snapshot = edit.publish(ordinals.size());
+    }
+
+    private void apply(Edit edit, ProductSummaryDTO product) {
+        Integer ordinal = ordinals.get(product.getId());
+        if (ordinal == null) {
+            ordinal = freeOrdinals.isEmpty() ? nextOrdinal++ : freeOrdinals.pop();
+            ordinals.put(product.getId(), ordinal);
+        } else {
+            edit.clear(ordinal, indexed.get(product.getId()));
+        }
+        FacetValues values = new FacetValues(product);
+        edit.set(ordinal, values);
+        indexed.put(product.getId(), values);
+    }
+
+    /**
+     * Count every facet value under the given filters (null means "any")
+     */
+    public ProductFacetsDTO count(UUID categoryId, String priceBucket, Boolean donated, Boolean available) {
+        Snapshot current = snapshot;
+
+        BitSet categoryFilter = categoryId == null ? null
+                : current.byCategory.getOrDefault(categoryId, new BitSet());
+        BitSet priceFilter = null;
+        if (priceBucket != null) {
+            int bucket = PRICE_BUCKETS.indexOf(priceBucket);
+            if (bucket < 0) {
+                throw new BadRequestException("Unknown price bucket: " + priceBucket);
+            }
+            priceFilter = current.byPriceBucket[bucket];
+        }
+        BitSet donatedFilter = donated == null ? null : donated ? current.donated : current.notDonated;
+        BitSet availableFilter = available == null ? null : available ? current.available : current.notAvailable;
+
+        ProductFacetsDTO facets = new ProductFacetsDTO();
+        facets.setTotal(intersect(current.all, categoryFilter, priceFilter, donatedFilter, availableFilter)
+                .cardinality());
+
+        BitSet forCategories = intersect(current.all, priceFilter, donatedFilter, availableFilter);
+        List<FacetCount> categories = new ArrayList<>();
+        current.byCategory.forEach((id, bits) -> categories.add(new FacetCount(
+                id.toString(), current.categoryNames.get(id), intersectionSize(forCategories, bits))));
+        categories.sort(Comparator.comparingInt(FacetCount::getCount).reversed()
+                .thenComparing(FacetCount::getLabel, Comparator.nullsLast(Comparator.naturalOrder())));
+        facets.setCategories(categories);
+
+        BitSet forPrices = intersect(current.all, categoryFilter, donatedFilter, availableFilter);
+        List<FacetCount> priceBuckets = new ArrayList<>();
+        for (int bucket = 0; bucket < PRICE_BUCKETS.size(); bucket++) {
+            priceBuckets.add(new FacetCount(PRICE_BUCKETS.get(bucket), priceBucketLabel(bucket),
+                    intersectionSize(forPrices, current.byPriceBucket[bucket])));
+        }
+        facets.setPriceBuckets(priceBuckets);
+
+        BitSet forDonated = intersect(current.all, categoryFilter, priceFilter, availableFilter);
+        facets.setDonated(booleanFacet(forDonated, current.donated, current.notDonated, "Donated", "For sale"));
+
+        BitSet forAvailable = intersect(current.all, categoryFilter, priceFilter, donatedFilter);
+        facets.setAvailable(booleanFacet(forAvailable, current.available, current.notAvailable,
+                "Available", "Unavailable"));
+
+        return facets;
+    }
+
+    private static List<FacetCount> booleanFacet(BitSet base, BitSet yes, BitSet no, String yesLabel,
+            String noLabel) {
+        List<FacetCount> counts = new ArrayList<>(2);
+        counts.add(new FacetCount("true", yesLabel, intersectionSize(base, yes)));
+        counts.add(new FacetCount("false", noLabel, intersectionSize(base, no)));
+        return counts;
+    }
+
+    // AND of the universe with every non-null filter
+    private static BitSet intersect(BitSet all, BitSet... filters) {
+        BitSet result = (BitSet) all.clone();
+        for (BitSet filter : filters) {
+            if (filter != null) {
+                result.and(filter);
+            }
+        }
+        return result;
+    }
+
+    private static int intersectionSize(BitSet a, BitSet b) {
+        BitSet result = (BitSet) a.clone();
+        result.and(b);
+        return result.cardinality();
+    }
+
+    private static int priceBucketOf(BigDecimal price) {
+        long amount = price.setScale(0, RoundingMode.FLOOR).longValue();
+        for (int bucket = 0; bucket < PRICE_BOUNDS.length; bucket++) {
+            if (amount < PRICE_BOUNDS[bucket]) {
+                return bucket;
+            }
+        }
+        return PRICE_BOUNDS.length;
+    }
+
+    private static List<String> priceBucketKeys() {
+        List<String> keys = new ArrayList<>();
+        long lower = 0;
+        for (long upper : PRICE_BOUNDS) {
+            keys.add(lower + "-" + upper);
+            lower = upper;
+        }
+        keys.add(lower + "+");
+        return Collections.unmodifiableList(keys);
+    }
+
+    private static String priceBucketLabel(int bucket) {
+        if (bucket == 0) {
+            return String.format(Locale.ROOT, "Under %,d XAF", PRICE_BOUNDS[0]);
+        }
+        if (bucket == PRICE_BOUNDS.length) {
+            return String.format(Locale.ROOT, "%,d XAF and above", PRICE_BOUNDS[bucket - 1]);
+        }
+        return String.format(Locale.ROOT, "%,d - %,d XAF", PRICE_BOUNDS[bucket - 1], PRICE_BOUNDS[bucket]);
+    }
+
+    // The facet values a product was filed under, to clear its bits on the next write
+    private static final class FacetValues {
+        private final UUID categoryId;
+        private final String categoryName;
+        private final int priceBucket;
+        private final boolean donated;
+        private final boolean available;
+
+        private FacetValues(ProductSummaryDTO product) {
+            this.categoryId = product.getCategoryId();
+            this.categoryName = product.getCategoryName();
+            this.priceBucket = product.getPrice() == null ? -1 : priceBucketOf(product.getPrice());
+            this.donated = Boolean.TRUE.equals(product.getIsDonated());
+            this.available = Boolean.TRUE.equals(product.getIsAvailable());
+        }
+    }
+
+    private static final class Snapshot {
+        private static final Snapshot EMPTY = new Snapshot(0, new BitSet(), Map.of(), Map.of(),
+                emptyBuckets(), new BitSet(), new BitSet(), new BitSet(), new BitSet());
+
+        private final int size;
+        private final BitSet all;
+        private final Map<UUID, BitSet> byCategory;
+        private final Map<UUID, String> categoryNames;
+        private final BitSet[] byPriceBucket;
+        private final BitSet donated;
+        private final BitSet notDonated;
+        private final BitSet available;
+        private final BitSet notAvailable;
+
+        private Snapshot(int size, BitSet all, Map<UUID, BitSet> byCategory, Map<UUID, String> categoryNames,
+                BitSet[] byPriceBucket, BitSet donated, BitSet notDonated, BitSet available,
+                BitSet notAvailable) {
+            this.size = size;
+            this.all = all;
+            this.byCategory = byCategory;
+            this.categoryNames = categoryNames;
+            this.byPriceBucket = byPriceBucket;
+            this.donated = donated;
+            this.notDonated = notDonated;
+            this.available = available;
+            this.notAvailable = notAvailable;
+        }
+
+        private static BitSet[] emptyBuckets() {
+            BitSet[] buckets = new BitSet[PRICE_BUCKETS.size()];
+            for (int bucket = 0; bucket < buckets.length; bucket++) {
+                buckets[bucket] = new BitSet();
+            }
+            return buckets;
+        }
+    }
+
+    // Copy-on-write changes to a published snapshot: a bitmap is copied the first time
+    // the edit touches it and every other bitmap is shared with the previous snapshot
+    private static final class Edit {
+        private final Set<BitSet> copied = Collections.newSetFromMap(new IdentityHashMap<>());
+        private final Map<UUID, BitSet> byCategory;
+        private final Map<UUID, String> categoryNames;
+        private final BitSet[] byPriceBucket;
+        private BitSet all;
+        private BitSet donated;
+        private BitSet notDonated;
+        private BitSet available;
+        private BitSet notAvailable;
+
+        private Edit(Snapshot base) {
+            this.byCategory = new HashMap<>(base.byCategory);
+            this.categoryNames = new HashMap<>(base.categoryNames);
+            this.byPriceBucket = base.byPriceBucket.clone();
+            this.all = base.all;
+            this.donated = base.donated;
+            this.notDonated = base.notDonated;
+            this.available = base.available;
+            this.notAvailable = base.notAvailable;
+        }
+
+        private void set(int ordinal, FacetValues values) {
+            all = own(all);
+            all.set(ordinal);
+            if (values.categoryId != null) {
+                BitSet category = own(byCategory.get(values.categoryId));
+                category.set(ordinal);
+                byCategory.put(values.categoryId, category);
+                categoryNames.put(values.categoryId, values.categoryName);
+            }
+            if (values.priceBucket >= 0) {
+                byPriceBucket[values.priceBucket] = own(byPriceBucket[values.priceBucket]);
+                byPriceBucket[values.priceBucket].set(ordinal);
+            }
+            if (values.donated) {
+                donated = own(donated);
+                donated.set(ordinal);
+            } else {
+                notDonated = own(notDonated);
+                notDonated.set(ordinal);
+            }
+            if (values.available) {
+                available = own(available);
+                available.set(ordinal);
+            } else {
+                notAvailable = own(notAvailable);
+                notAvailable.set(ordinal);
+            }
+        }
+
+        private void clear(int ordinal, FacetValues values) {
+            all = own(all);
+            all.clear(ordinal);
+            if (values.categoryId != null) {
+                BitSet category = own(byCategory.get(values.categoryId));
+                category.clear(ordinal);
+                if (category.isEmpty()) {
+                    byCategory.remove(values.categoryId);
+                    categoryNames.remove(values.categoryId);
+                } else {
+                    byCategory.put(values.categoryId, category);
+                }
+            }
+            if (values.priceBucket >= 0) {
+                byPriceBucket[values.priceBucket] = own(byPriceBucket[values.priceBucket]);
+                byPriceBucket[values.priceBucket].clear(ordinal);
+            }
+            if (values.donated) {
+                donated = own(donated);
+                donated.clear(ordinal);
+            } else {
+                notDonated = own(notDonated);
+                notDonated.clear(ordinal);
+            }
+            if (values.available) {
+                available = own(available);
+                available.clear(ordinal);
+            } else {
+                notAvailable = own(notAvailable);
+                notAvailable.clear(ordinal);
+            }
+        }
+
+        private BitSet own(BitSet bits) {
+            if (bits != null && copied.contains(bits)) {
+                return bits;
+            }
+            BitSet copy = bits == null ? new BitSet() : (BitSet) bits.clone();
+            copied.add(copy);
+            return copy;
+        }
+
+        private Snapshot publish(int size) {
+            return new Snapshot(size, all, Collections.unmodifiableMap(byCategory),
+                    Collections.unmodifiableMap(categoryNames), byPriceBucket, donated, notDonated, available,
+                    notAvailable);
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package com.example.jalai_backend.service;
+
+import com.example.jalai_backend.dto.ProductSummaryDTO;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * In-memory price index over available products.
+ *
+ * Prices are held as a sorted long[] of cents with a parallel array of products,
+ * ordered by price and then id, so a range query is two binary searches over
+ * primitives and a page is a slice of the arrays. Like {@link StorefrontCatalog},
+ * every change publishes a new immutable snapshot; a single write moves one entry
+ * with array copies instead of re-sorting the index.
+ */
+@Component
+public class ProductPriceIndex {
+
+    private volatile Snapshot snapshot;
+
+    // Writer side only: the cents each indexed product is filed under, to find its slot
+    private final Map<UUID, Long> indexedCents = new HashMap<>();
+
+    public boolean isReady() {
+        return snapshot != null;
+    }
+
+    public int size() {
+        Snapshot current = snapshot;
+        return current == null ? 0 : current.cents.length;
+    }
+
+    public synchronized void rebuild(Collection<ProductSummaryDTO> products) {
+        Map<UUID, ProductSummaryDTO> byId = new HashMap<>();
+        for (ProductSummaryDTO product : products) {
+            if (product.getPrice() != null) {
+                byId.put(product.getId(), new ProductSummaryDTO(product));
+            }
+        }
+        List<ProductSummaryDTO> sorted = new ArrayList<>(byId.values());
+        sorted.sort(Comparator.<ProductSummaryDTO>comparingLong(product -> toCents(product.getPrice(), RoundingMode.HALF_UP))
+                .thenComparing(ProductSummaryDTO::getId, StorefrontCatalog::compareUnsigned));
+
+        long[] cents = new long[sorted.size()];
+        ProductSummaryDTO[] table = sorted.toArray(new ProductSummaryDTO[0]);
+        indexedCents.clear();
+        for (int i = 0; i < table.length; i++) {
+            cents[i] = toCents(table[i].getPrice(), RoundingMode.HALF_UP);
+            indexedCents.put(table[i].getId(), cents[i]);
+        }
+        snapshot = new Snapshot(cents, table);
+    }
+
+    /**
+     * Add a product or move it to its new price
+     */
+    public synchronized void put(ProductSummaryDTO product) {
+        if (snapshot == null) {
+            return;
+        }
+        if (product.getPrice() == null) {
+            remove(product.getId());
+            return;
+        }
+        Snapshot current = without(snapshot, product.getId());
+        long cents = toCents(product.getPrice(), RoundingMode.HALF_UP);
+        int at = -search(current, cents, product.getId()) - 1;
+
+        long[] nextCents = new long[current.cents.length + 1];
+        ProductSummaryDTO[] nextProducts = new ProductSummaryDTO[nextCents.length];
+        System.arraycopy(current.cents, 0, nextCents, 0, at);
+        System.arraycopy(current.products, 0, nextProducts, 0, at);
+        nextCents[at] = cents;
+        nextProducts[at] = new ProductSummaryDTO(product);
+        System.arraycopy(current.cents, at, nextCents, at + 1, current.cents.length - at);
+        System.arraycopy(current.products, at, nextProducts, at + 1, current.products.length - at);
+
+        indexedCents.put(product.getId(), cents);
+        snapshot = new Snapshot(nextCents, nextProducts);
+    }
+
+    public synchronized void remove(UUID productId) {
+        if (snapshot == null || !indexedCents.containsKey(productId)) {
+            return;
+        }
+        snapshot = without(snapshot, productId);
+    }
+
+    /**
+     * Products priced within [minPrice, maxPrice], cheapest first
+     */
+    public Page<ProductSummaryDTO> findByPriceRange(BigDecimal minPrice, BigDecimal maxPrice, Pageable pageable) {
+        Snapshot current = snapshot;
+        int from = lowerBound(current.cents, toCents(minPrice, RoundingMode.CEILING));
+        int to = lowerBound(current.cents, toCents(maxPrice, RoundingMode.FLOOR) + 1);
+        int total = Math.max(0, to - from);
+
+        int start = from;
+        int end = to;
+        if (pageable.isPaged()) {
+            start = (int) Math.min(from + pageable.getOffset(), to);
+            end = Math.min(start + pageable.getPageSize(), to);
+        }
+        List<ProductSummaryDTO> content = new ArrayList<>(Math.max(0, end - start));
+        for (int i = start; i < end; i++) {
+            content.add(new ProductSummaryDTO(current.products[i]));
+        }
+        return new PageImpl<>(content, pageable, total);
+    }
+
+    static long toCents(BigDecimal price, RoundingMode rounding) {
+        return price.movePointRight(2).setScale(0, rounding).longValueExact();
+    }
+
+    // The snapshot without the product, or the same snapshot if it was not indexed
+    private Snapshot without(Snapshot current, UUID productId) {
+        Long cents = indexedCents.remove(productId);
+        if (cents == null) {
+            return current;
+        }
+        int at = search(current, cents, productId);
+        long[] nextCents = new long[current.cents.length - 1];
+        ProductSummaryDTO[] nextProducts = new ProductSummaryDTO[nextCents.length];
+        System.arraycopy(current.cents, 0, nextCents, 0, at);
+        System.arraycopy(current.products, 0, nextProducts, 0, at);
+        System.arraycopy(current.cents, at + 1, nextCents, at, nextCents.length - at);
+        System.arraycopy(current.products, at + 1, nextProducts, at, nextProducts.length - at);
+        return new Snapshot(nextCents, nextProducts);
+    }
+
+    // Position of (cents, id), or -(insertion point) - 1 when absent
+    private static int search(Snapshot current, long cents, UUID productId) {
+        int low = 0;
+        int high = current.cents.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int order = Long.compare(current.cents[mid], cents);
+            if (order == 0) {
+                order = StorefrontCatalog.compareUnsigned(current.products[mid].getId(), productId);
+            }
+            if (order < 0) {
+                low = mid + 1;
+            } else if (order > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -low - 1;
+    }
+
+    // First position whose price is >= cents
+    private static int lowerBound(long[] sorted, long cents) {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sorted[mid] < cents) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static final class Snapshot {
+        private final long[] cents;
+        private final ProductSummaryDTO[] products;
+
+        private Snapshot(long[] cents, ProductSummaryDTO[] products) {
+            this.cents = cents;
+            this.products = products;
+        }
+    }
+}
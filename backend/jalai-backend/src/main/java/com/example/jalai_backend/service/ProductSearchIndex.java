@@ -0,0 +1,233 @@
+package com.example.jalai_backend.service;
+
+import com.example.jalai_backend.dto.ProductSummaryDTO;
+import com.example.jalai_backend.util.TrigramIndex;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory inverted index over product name and description.
+ *
+ * Tokens map to posting lists of product IDs with a per-field weight, so a
+ * keyword lookup only touches the products that contain the keyword instead
+ * of scanning the whole products table. The last query token is also matched
+ * as a prefix to keep search-as-you-type working. Product names are also held
+ * in a trigram index for misspelled queries.
+ */
+@Component
+public class ProductSearchIndex {
+
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private static final int NAME_WEIGHT = 3;
+    private static final int DESCRIPTION_WEIGHT = 1;
+    private static final int EXACT_MATCH_BOOST = 2;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // token -> (product id -> field weight)
+    private final NavigableMap<String, Map<UUID, Integer>> postings = new TreeMap<>();
+    private final Map<UUID, ProductSummaryDTO> documents = new HashMap<>();
+    private final Map<UUID, Set<String>> documentTokens = new HashMap<>();
+    private final TrigramIndex nameTrigrams = new TrigramIndex();
+
+    /**
+     * Add or replace a product in the index
+     */
+    public void index(ProductSummaryDTO product) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(product.getId());
+            Map<String, Integer> weights = new HashMap<>();
+            for (String token : tokenize(product.getName())) {
+                weights.merge(token, NAME_WEIGHT, Integer::sum);
+            }
+            for (String token : tokenize(product.getDescription())) {
+                weights.merge(token, DESCRIPTION_WEIGHT, Integer::sum);
+            }
+            weights.forEach((token, weight) -> postings
+                    .computeIfAbsent(token, t -> new HashMap<>())
+                    .put(product.getId(), weight));
+            documents.put(product.getId(), new ProductSummaryDTO(product));
+            documentTokens.put(product.getId(), weights.keySet());
+            nameTrigrams.put(product.getId(), product.getName());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove a product from the index
+     */
+    public void remove(UUID productId) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(productId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Replace the whole index content
+     */
+    public void rebuild(Collection<ProductSummaryDTO> products) {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            documents.clear();
+            documentTokens.clear();
+            nameTrigrams.clear();
+            products.forEach(this::index);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Ranked search; every query token has to match the product
+     */
+    public Page<ProductSummaryDTO> search(String query, Pageable pageable) {
+        List<String> queryTokens = tokenize(query);
+        if (queryTokens.isEmpty()) {
+            return new PageImpl<>(Collections.emptyList(), pageable, 0);
+        }
+
+        List<ProductSummaryDTO> ranked;
+        lock.readLock().lock();
+        try {
+            Map<UUID, Integer> scores = null;
+            for (int i = 0; i < queryTokens.size(); i++) {
+                boolean prefix = i == queryTokens.size() - 1;
+                Map<UUID, Integer> tokenScores = scoreToken(queryTokens.get(i), prefix);
+                if (scores == null) {
+                    scores = tokenScores;
+                } else {
+                    scores.keySet().retainAll(tokenScores.keySet());
+                    scores.replaceAll((id, score) -> score + tokenScores.get(id));
+                }
+                if (scores.isEmpty()) {
+                    break;
+                }
+            }
+
+            Map<UUID, Integer> finalScores = scores;
+            ranked = new ArrayList<>(finalScores.size());
+            for (UUID id : finalScores.keySet()) {
+                ranked.add(documents.get(id));
+            }
+            ranked.sort(Comparator
+                    .comparing((ProductSummaryDTO p) -> finalScores.get(p.getId()), Comparator.reverseOrder())
+                    .thenComparing(ProductSummaryDTO::getCreatedAt,
+                            Comparator.nullsLast(Comparator.<LocalDateTime>reverseOrder()))
+                    .thenComparing(ProductSummaryDTO::getId));
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        return page(ranked, pageable);
+    }
+
+    /**
+     * Products whose name is similar to the query, most similar first; for
+     * queries the keyword search finds nothing for
+     */
+    public Page<ProductSummaryDTO> fuzzySearch(String query, double threshold, Pageable pageable) {
+        List<ProductSummaryDTO> ranked = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (TrigramIndex.Match match : nameTrigrams.search(query, threshold)) {
+                ranked.add(documents.get(match.id()));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return page(ranked, pageable);
+    }
+
+    // Copies of the requested slice; the indexed instances never leave the index
+    private static Page<ProductSummaryDTO> page(List<ProductSummaryDTO> ranked, Pageable pageable) {
+        int from = pageable.isUnpaged() ? 0 : (int) Math.min(pageable.getOffset(), ranked.size());
+        int to = pageable.isUnpaged() ? ranked.size() : Math.min(from + pageable.getPageSize(), ranked.size());
+        List<ProductSummaryDTO> content = new ArrayList<>(to - from);
+        for (ProductSummaryDTO product : ranked.subList(from, to)) {
+            content.add(new ProductSummaryDTO(product));
+        }
+        return new PageImpl<>(content, pageable, ranked.size());
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return Collections.emptyList();
+        }
+        Set<String> tokens = new LinkedHashSet<>();
+        for (String token : TOKEN_SEPARATOR.split(text.toLowerCase(Locale.ROOT))) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return new ArrayList<>(tokens);
+    }
+
+    private Map<UUID, Integer> scoreToken(String token, boolean prefix) {
+        Map<UUID, Integer> scores = new HashMap<>();
+        Map<UUID, Integer> exact = postings.get(token);
+        if (exact != null) {
+            exact.forEach((id, weight) -> scores.merge(id, weight * EXACT_MATCH_BOOST, Math::max));
+        }
+        if (prefix) {
+            for (Map.Entry<String, Map<UUID, Integer>> entry : postings
+                    .subMap(token, false, token + Character.MAX_VALUE, false).entrySet()) {
+                entry.getValue().forEach((id, weight) -> scores.merge(id, weight, Math::max));
+            }
+        }
+        return scores;
+    }
+
+    private void removeInternal(UUID productId) {
+        Set<String> tokens = documentTokens.remove(productId);
+        documents.remove(productId);
+        nameTrigrams.remove(productId);
+        if (tokens == null) {
+            return;
+        }
+        for (String token : tokens) {
+            Map<UUID, Integer> posting = postings.get(token);
+            if (posting != null) {
+                posting.remove(productId);
+                if (posting.isEmpty()) {
+                    postings.remove(token);
+                }
+            }
+        }
+    }
+}
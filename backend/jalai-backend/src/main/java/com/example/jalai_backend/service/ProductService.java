@@ -1,35 +1,88 @@
 package com.example.jalai_backend.service;
 
+import com.example.jalai_backend.dto.BulkModerationRequest;
+import com.example.jalai_backend.dto.BulkModerationResult;
+import com.example.jalai_backend.dto.CursorPage;
+import com.example.jalai_backend.dto.ProductFacetsDTO;
 import com.example.jalai_backend.dto.ProductSummaryDTO;
+import com.example.jalai_backend.dto.ProductSummaryProjection;
+import com.example.jalai_backend.dto.SuggestionDTO;
 import com.example.jalai_backend.dto.ProductDetailDTO;
+import com.example.jalai_backend.dto.Versioned;
+import com.example.jalai_backend.event.ProductChangedEvent;
+import com.example.jalai_backend.exception.BadRequestException;
+import com.example.jalai_backend.exception.ExternalServiceException;
+import com.example.jalai_backend.exception.UnauthorizedException;
 import com.example.jalai_backend.model.Admin;
 import com.example.jalai_backend.model.Category;
 import com.example.jalai_backend.model.Client;
+import com.example.jalai_backend.model.Image;
+import com.example.jalai_backend.model.Order;
 import com.example.jalai_backend.model.Product;
 import com.example.jalai_backend.repository.AdminRepository;
 import com.example.jalai_backend.repository.CategoryRepository;
 import com.example.jalai_backend.repository.ClientRepository;
+import com.example.jalai_backend.repository.OrderItemRepository;
 import com.example.jalai_backend.repository.ProductRepository;
+import com.example.jalai_backend.util.ProductCursor;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.cache.annotation.Cacheable;
-import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @Transactional
 public class ProductService {
 
+    private static final Logger logger = LoggerFactory.getLogger(ProductService.class);
+
+    // Upper bound on ids per bulk moderation call, keeping the IN lists reasonable
+    static final int MAX_BULK_MODERATION = 500;
+
+    static final int MAX_SUGGESTIONS = 20;
+
+    // Largest page a cursor (keyset) listing serves
+    static final int MAX_CURSOR_PAGE_SIZE = 100;
+
     @Autowired
     private ProductRepository productRepository;
 
@@ -45,6 +98,118 @@ public class ProductService {
     @Autowired
     private AdminRepository adminRepository;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private KnownIds knownIds;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private ProductSearchIndex productSearchIndex;
+
+    @Autowired
+    private StorefrontCatalog storefrontCatalog;
+
+    @Autowired
+    private ProductSuggestIndex productSuggestIndex;
+
+    // Minimum trigram similarity for a misspelled search to match a product name
+    @Value("${jalai.search.similarity-threshold:0.3}")
+    private double similarityThreshold;
+
+    @Autowired
+    private TopRatedProducts topRatedProducts;
+
+    @Autowired
+    private RecentProductsFeed recentProductsFeed;
+
+    @Autowired
+    private ProductPriceIndex productPriceIndex;
+
+    @Autowired
+    private ProductFacetIndex productFacetIndex;
+
+    @Autowired
+    private RelatedProducts relatedProducts;
+
+    @Autowired
+    private OrderItemRepository orderItemRepository;
+
+    // Orders whose items count as bought together
+    static final Set<Order.OrderStatus> CO_PURCHASE_STATUSES = EnumSet.of(Order.OrderStatus.CONFIRMED,
+            Order.OrderStatus.PROCESSING, Order.OrderStatus.SHIPPED, Order.OrderStatus.DELIVERED);
+
+    // Load the keyword search and price indexes once the application is up
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildSearchIndex() {
+        List<ProductSummaryDTO> products = productRepository.findAvailableSummaries().stream()
+                .map(this::convertToSummaryDTO)
+                .collect(Collectors.toList());
+        productSearchIndex.rebuild(products);
+        productPriceIndex.rebuild(products);
+        logger.debug("Product search and price indexes built with {} products", products.size());
+    }
+
+    // Load the known-product-id filter, then rebuild it periodically so deleted ids age out
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${jalai.known-ids.rebuild-interval:PT30M}",
+            initialDelayString = "${jalai.known-ids.rebuild-interval:PT30M}")
+    @Transactional(readOnly = true)
+    public void buildKnownProductIds() {
+        knownIds.rebuildProducts(productRepository.findAllIds());
+    }
+
+    // Load the storefront snapshot; until then storefront reads fall back to the database
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildStorefrontCatalog() {
+        List<ProductSummaryDTO> products = productRepository.findApprovedSummaries().stream()
+                .map(this::convertToSummaryDTO)
+                .collect(Collectors.toList());
+        storefrontCatalog.rebuild(products);
+        productSuggestIndex.rebuild(products);
+        logger.debug("Storefront catalog and suggestions built with {} products", products.size());
+    }
+
+    // Load the bounded top-rated ranking from the stored rating aggregates
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildTopRatedProducts() {
+        topRatedProducts.rebuild(findTopRatedSummaries());
+    }
+
+    // Load the facet bitmaps over approved products
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildFacetIndex() {
+        productFacetIndex.rebuild(productRepository.findApprovedSummariesAnyAvailability().stream()
+                .map(this::convertToSummaryDTO)
+                .collect(Collectors.toList()));
+    }
+
+    // Seed the recent-products ring buffer with the newest storefront products
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildRecentProductsFeed() {
+        recentProductsFeed.rebuild(findRecentSummaries(recentProductsFeed.capacity()));
+    }
+
+    // Recompute every related-products list in the background; confirmed orders update
+    // the lists of their products in between
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${jalai.recommendations.rebuild-interval:PT1H}",
+            initialDelayString = "${jalai.recommendations.rebuild-interval:PT1H}")
+    @Transactional(readOnly = true)
+    public void buildRelatedProducts() {
+        Map<UUID, Map<UUID, Long>> coPurchases = new HashMap<>();
+        for (OrderItemRepository.CoPurchase pair : orderItemRepository.findCoPurchases(CO_PURCHASE_STATUSES)) {
+            coPurchases.computeIfAbsent(pair.getProductId(), id -> new HashMap<>())
+                    .put(pair.getOtherProductId(), pair.getOrders());
+        }
+        List<ProductSummaryDTO> storefront = storefrontProducts();
+        relatedProducts.rebuild(storefront, coPurchases);
+        logger.debug("Related products computed for {} products", storefront.size());
+    }
+
     public List<Product> getAllProducts() {
         return productRepository.findAll();
     }
@@ -63,7 +228,7 @@ public class ProductService {
     }
 
     public Optional<Product> getProductById(UUID id) {
-        return productRepository.findById(id);
+        return productRepository.findWithAssociationsById(id);
     }
 
     public List<Product> getProductsByCategory(UUID categoryId) {
@@ -86,11 +251,96 @@ public class ProductService {
         return productRepository.searchByKeyword(keyword);
     }
 
+    // Ranked keyword search served from the in-memory index
+    @Transactional(readOnly = true)
+    public Page<ProductSummaryDTO> searchProductSummaries(String keyword, Pageable pageable) {
+        Page<ProductSummaryDTO> results = productSearchIndex.search(keyword, pageable);
+        if (results.getTotalElements() == 0) {
+            // Most likely a typo: answer with similar names rather than nothing
+            return productSearchIndex.fuzzySearch(keyword, similarityThreshold, pageable);
+        }
+        return results;
+    }
+
     public List<Product> getProductsByPriceRange(BigDecimal minPrice, BigDecimal maxPrice) {
         return productRepository.findByPriceBetween(minPrice, maxPrice);
     }
 
-    @CacheEvict(value = {"clientProducts", "approvedProducts"}, key = "#sellerId")
+    public boolean productFacetsReady() {
+        return productFacetIndex.isReady();
+    }
+
+    // All facet counts for the storefront filter panel in one call; the bitmaps are loaded
+    // at startup and never rebuilt on a request
+    public ProductFacetsDTO getProductFacets(UUID categoryId, String priceBucket, Boolean donated,
+            Boolean available) {
+        if (!productFacetIndex.isReady()) {
+            throw new ExternalServiceException("Product facets are still loading");
+        }
+        return productFacetIndex.count(categoryId, priceBucket, donated, available);
+    }
+
+    // Precomputed related products, served from memory
+    @Transactional(readOnly = true)
+    public List<ProductSummaryDTO> getRelatedProducts(UUID productId, int limit) {
+        if (limit < 1 || limit > RelatedProducts.NEIGHBOURS) {
+            throw new BadRequestException("Limit must be between 1 and " + RelatedProducts.NEIGHBOURS);
+        }
+        // Both are loaded at startup and kept current by product writes; until then
+        // there is nothing to recommend
+        List<UUID> relatedIds = relatedProducts.get(productId);
+        if (relatedIds == null || !storefrontCatalog.isReady()) {
+            return List.of();
+        }
+        // Current summaries; products that left the storefront since are skipped
+        return relatedIds.stream()
+                .map(storefrontCatalog::get)
+                .filter(Objects::nonNull)
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+
+    // Count a confirmed order's products as bought together
+    @Transactional(readOnly = true)
+    public void recordConfirmedOrder(UUID orderId) {
+        List<UUID> productIds = orderItemRepository.findProductIdsByOrderId(orderId);
+        if (productIds.size() > 1) {
+            relatedProducts.recordOrder(productIds);
+        }
+    }
+
+    private List<ProductSummaryDTO> storefrontProducts() {
+        if (storefrontCatalog.isReady()) {
+            return storefrontCatalog.findAll(Pageable.unpaged()).getContent();
+        }
+        return productRepository.findApprovedSummaries().stream()
+                .map(this::convertToSummaryDTO)
+                .collect(Collectors.toList());
+    }
+
+    // Search-box completions from the in-memory suggestion index
+    @Transactional(readOnly = true)
+    public List<SuggestionDTO> getSuggestions(String query, int limit) {
+        if (limit < 1 || limit > MAX_SUGGESTIONS) {
+            throw new BadRequestException("Limit must be between 1 and " + MAX_SUGGESTIONS);
+        }
+        // No completions until the startup load finishes; a request never triggers it
+        return productSuggestIndex.suggest(query, limit);
+    }
+
+    // Cheapest first, served from the in-memory price index once it is loaded
+    @Transactional(readOnly = true)
+    public Page<ProductSummaryDTO> getProductSummariesByPriceRange(BigDecimal minPrice, BigDecimal maxPrice,
+            Pageable pageable) {
+        if (minPrice.signum() < 0 || minPrice.compareTo(maxPrice) > 0) {
+            throw new BadRequestException("Price range must satisfy 0 <= minPrice <= maxPrice");
+        }
+        if (productPriceIndex.isReady()) {
+            return productPriceIndex.findByPriceRange(minPrice, maxPrice, pageable);
+        }
+        return toSummaryPage(productRepository.findAvailableSummariesByPriceBetween(minPrice, maxPrice, pageable));
+    }
+
     public Product createProduct(Product product, UUID sellerId, UUID categoryId) {
         // Validate seller
         Client seller = clientRepository.findById(sellerId)
@@ -109,11 +359,13 @@ public class ProductService {
         product.setIsApproved(false); // Requires admin approval
         product.setIsDonated(false);
 
-        return productRepository.save(product);
+        Product savedProduct = productRepository.save(product);
+        eventPublisher.publishEvent(ProductChangedEvent.published(savedProduct));
+        return savedProduct;
     }
 
     public Product updateProduct(UUID id, Product productDetails) {
-        Product product = productRepository.findById(id)
+        Product product = productRepository.findWithAssociationsById(id)
                 .orElseThrow(() -> new RuntimeException("Product not found with id: " + id));
 
         // Update fields
@@ -129,11 +381,13 @@ public class ProductService {
             product.setCategory(category);
         }
 
-        return productRepository.save(product);
+        Product savedProduct = productRepository.save(product);
+        eventPublisher.publishEvent(ProductChangedEvent.updated(savedProduct));
+        return savedProduct;
     }
 
     public Product approveProduct(UUID productId, UUID adminId) {
-        Product product = productRepository.findById(productId)
+        Product product = productRepository.findWithAssociationsById(productId)
                 .orElseThrow(() -> new RuntimeException("Product not found with id: " + productId));
 
         Admin admin = adminRepository.findById(adminId)
@@ -143,6 +397,7 @@ public class ProductService {
         product.setApprovedBy(admin);
 
         Product savedProduct = productRepository.save(product);
+        eventPublisher.publishEvent(ProductChangedEvent.published(savedProduct));
 
         // Send notification to the seller
         notificationService.processProductApproval(savedProduct, admin);
@@ -151,7 +406,7 @@ public class ProductService {
     }
 
     public Product rejectProduct(UUID productId, UUID adminId, String reason) {
-        Product product = productRepository.findById(productId)
+        Product product = productRepository.findWithAssociationsById(productId)
                 .orElseThrow(() -> new RuntimeException("Product not found with id: " + productId));
 
         Admin admin = adminRepository.findById(adminId)
@@ -161,6 +416,7 @@ public class ProductService {
         product.setIsAvailable(false);
 
         Product savedProduct = productRepository.save(product);
+        eventPublisher.publishEvent(ProductChangedEvent.updated(savedProduct));
 
         // Send notification to the seller
         notificationService.processProductRejection(savedProduct, admin, reason);
@@ -169,35 +425,37 @@ public class ProductService {
     }
 
     public void markAsUnavailable(UUID id) {
-        Product product = productRepository.findById(id)
+        Product product = productRepository.findWithAssociationsById(id)
                 .orElseThrow(() -> new RuntimeException("Product not found with id: " + id));
 
         product.setIsAvailable(false);
-        productRepository.save(product);
+        eventPublisher.publishEvent(ProductChangedEvent.updated(productRepository.save(product)));
     }
 
     public void markAsAvailable(UUID id) {
-        Product product = productRepository.findById(id)
+        Product product = productRepository.findWithAssociationsById(id)
                 .orElseThrow(() -> new RuntimeException("Product not found with id: " + id));
 
         product.setIsAvailable(true);
-        productRepository.save(product);
+        Product savedProduct = productRepository.save(product);
+        eventPublisher.publishEvent(ProductChangedEvent.published(savedProduct));
     }
 
     public void markAsDonated(UUID id) {
-        Product product = productRepository.findById(id)
+        Product product = productRepository.findWithAssociationsById(id)
                 .orElseThrow(() -> new RuntimeException("Product not found with id: " + id));
 
         product.setIsDonated(true);
         product.setIsAvailable(false);
-        productRepository.save(product);
+        eventPublisher.publishEvent(ProductChangedEvent.updated(productRepository.save(product)));
     }
 
     public void deleteProduct(UUID id) {
-        if (!productRepository.existsById(id)) {
-            throw new RuntimeException("Product not found with id: " + id);
-        }
-        productRepository.deleteById(id);
+        Product product = productRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Product not found with id: " + id));
+        UUID sellerId = product.getSeller() == null ? null : product.getSeller().getId();
+        productRepository.delete(product);
+        eventPublisher.publishEvent(ProductChangedEvent.deleted(id, sellerId));
     }
 
     public List<Product> getPendingApprovalProducts() {
@@ -208,12 +466,30 @@ public class ProductService {
         return productRepository.findByApprovedByAdminId(adminId);
     }
 
-    public List<Product> getTopRatedProducts() {
-        return productRepository.findTopRatedProducts();
+    @Transactional(readOnly = true)
+    public List<ProductSummaryDTO> getTopRatedProducts() {
+        if (topRatedProducts.isReady()) {
+            return topRatedProducts.get();
+        }
+        return findTopRatedSummaries();
+    }
+
+    // A review was written for this product: re-rank it with its new rating aggregate
+    public void refreshRating(UUID productId) {
+        UUID sellerId = productRepository.findSellerIdById(productId).orElse(null);
+        eventPublisher.publishEvent(ProductChangedEvent.updated(productId, sellerId));
     }
 
-    public List<Product> getRecentProducts() {
-        return productRepository.findRecentProducts();
+    @Transactional(readOnly = true)
+    public List<ProductSummaryDTO> getRecentProducts(int limit) {
+        if (limit < 1) {
+            throw new BadRequestException("Limit must not be less than one");
+        }
+        int bounded = Math.min(limit, recentProductsFeed.capacity());
+        if (recentProductsFeed.isReady()) {
+            return recentProductsFeed.newest(bounded);
+        }
+        return findRecentSummaries(bounded);
     }
 
     public long getProductCountByCategory(UUID categoryId) {
@@ -256,9 +532,136 @@ public class ProductService {
         markAsUnavailable(productId);
     }
 
+    // Read-model hooks, driven by CacheInvalidationRouter once a change has committed
+
+    // Reload one product's committed state into the read models; published products also
+    // go to the head of the recent feed
+    public void refreshProduct(UUID productId, boolean published) {
+        Optional<ProductSummaryProjection> row = productRepository.findSummaryById(productId);
+        if (row.isEmpty()) {
+            removeFromReadModels(productId);
+            return;
+        }
+        ProductSummaryDTO summary = convertToSummaryDTO(row.get());
+        refreshReadModels(summary);
+        if (published) {
+            publishToRecentFeed(summary);
+        }
+    }
+
+    // The seller's name or email changed: reload every product they list
+    public void refreshSellerProducts(UUID sellerId) {
+        productRepository.findSummariesBySellerId(sellerId).stream()
+                .map(this::convertToSummaryDTO)
+                .forEach(this::refreshReadModels);
+    }
+
+    // Keep the in-memory read models in line with the saved product: the keyword and price
+    // indexes hold available products, the storefront catalog, the top-rated ranking and
+    // the related-products lists approved and available ones, the facet index approved
+    // ones. The recent feed only refreshes entries here; products enter it through
+    // publishToRecentFeed
+    private void refreshReadModels(ProductSummaryDTO summary) {
+        UUID id = summary.getId();
+        boolean onStorefront = Boolean.TRUE.equals(summary.getIsApproved())
+                && Boolean.TRUE.equals(summary.getIsAvailable());
+        if (!(onStorefront ? topRatedProducts.update(summary) : topRatedProducts.remove(id))) {
+            buildTopRatedProducts();
+        }
+        if (onStorefront) {
+            relatedProducts.put(summary);
+        } else {
+            relatedProducts.remove(id);
+        }
+        if (Boolean.TRUE.equals(summary.getIsApproved())) {
+            productFacetIndex.put(summary);
+        } else {
+            productFacetIndex.remove(id);
+        }
+        if (!Boolean.TRUE.equals(summary.getIsAvailable())) {
+            productSearchIndex.remove(id);
+            productPriceIndex.remove(id);
+            storefrontCatalog.remove(id);
+            productSuggestIndex.remove(id);
+            removeFromRecentFeed(id);
+            return;
+        }
+        productSearchIndex.index(summary);
+        productPriceIndex.put(summary);
+        if (Boolean.TRUE.equals(summary.getIsApproved())) {
+            storefrontCatalog.put(summary);
+            productSuggestIndex.put(summary);
+            recentProductsFeed.replace(summary);
+        } else {
+            storefrontCatalog.remove(id);
+            productSuggestIndex.remove(id);
+            removeFromRecentFeed(id);
+        }
+    }
+
+    // A product just reached the storefront: add it to the recent feed by creation date
+    private void publishToRecentFeed(ProductSummaryDTO summary) {
+        if (Boolean.TRUE.equals(summary.getIsApproved()) && Boolean.TRUE.equals(summary.getIsAvailable())) {
+            recentProductsFeed.insert(summary);
+        }
+    }
+
+    public void removeFromReadModels(UUID productId) {
+        productSearchIndex.remove(productId);
+        productPriceIndex.remove(productId);
+        productFacetIndex.remove(productId);
+        storefrontCatalog.remove(productId);
+        productSuggestIndex.remove(productId);
+        removeFromRecentFeed(productId);
+        relatedProducts.remove(productId);
+        if (!topRatedProducts.remove(productId)) {
+            buildTopRatedProducts();
+        }
+    }
+
+    // For changes too broad to apply product by product
+    public void rebuildReadModels() {
+        buildSearchIndex();
+        buildStorefrontCatalog();
+        buildTopRatedProducts();
+        buildFacetIndex();
+        buildRecentProductsFeed();
+    }
+
+    private void removeFromRecentFeed(UUID productId) {
+        if (!recentProductsFeed.remove(productId)) {
+            buildRecentProductsFeed();
+        }
+    }
+
     // Convert Product to ProductSummaryDTO to avoid large image data in list
     // responses
     private ProductSummaryDTO convertToSummaryDTO(Product product) {
+        return convertToSummaryDTO(new ProductSummaryProjection(
+                product.getId(),
+                product.getName(),
+                product.getDescription(),
+                product.getPrice(),
+                product.getImageUrl(),
+                product.getIsDonated(),
+                product.getIsApproved(),
+                product.getIsAvailable(),
+                product.getAverageRating(),
+                product.getRatingCount(),
+                product.getCreatedAt(),
+                product.getUpdatedAt(),
+                product.getSeller() != null ? product.getSeller().getId() : null,
+                product.getSeller() != null ? product.getSeller().getName() : null,
+                product.getCategory() != null ? product.getCategory().getId() : null,
+                product.getCategory() != null ? product.getCategory().getName() : null,
+                product.getApprovedBy() != null ? product.getApprovedBy().getId() : null,
+                product.getApprovedBy() != null ? product.getApprovedBy().getName() : null));
+    }
+
+    // List queries select a ProductSummaryProjection directly, so the summary is
+    // built without ever materializing the Product entity or its image data.
+    // Package-private for the JMH benchmarks (src/jmh/java)
+    ProductSummaryDTO convertToSummaryDTO(ProductSummaryProjection product) {
         ProductSummaryDTO dto = new ProductSummaryDTO();
         dto.setId(product.getId());
         dto.setName(product.getName());
@@ -267,26 +670,22 @@ public class ProductService {
         dto.setIsDonated(product.getIsDonated());
         dto.setIsApproved(product.getIsApproved());
         dto.setIsAvailable(product.getIsAvailable());
+        dto.setAverageRating(product.getAverageRating());
+        dto.setRatingCount(product.getRatingCount());
         dto.setCreatedAt(product.getCreatedAt());
         dto.setUpdatedAt(product.getUpdatedAt());
 
         // Set seller info
-        if (product.getSeller() != null) {
-            dto.setSellerId(product.getSeller().getId());
-            dto.setSellerName(product.getSeller().getName());
-        }
+        dto.setSellerId(product.getSellerId());
+        dto.setSellerName(product.getSellerName());
 
         // Set category info
-        if (product.getCategory() != null) {
-            dto.setCategoryId(product.getCategory().getId());
-            dto.setCategoryName(product.getCategory().getName());
-        }
+        dto.setCategoryId(product.getCategoryId());
+        dto.setCategoryName(product.getCategoryName());
 
         // Set approved by admin info
-        if (product.getApprovedBy() != null) {
-            dto.setApprovedByAdminId(product.getApprovedBy().getId());
-            dto.setApprovedByAdminName(product.getApprovedBy().getName());
-        }
+        dto.setApprovedByAdminId(product.getApprovedByAdminId());
+        dto.setApprovedByAdminName(product.getApprovedByAdminName());
 
         // Set derived fields for admin dashboard
         if (product.getIsApproved() && product.getIsAvailable()) {
@@ -302,9 +701,8 @@ public class ProductService {
             dto.setDateAdded(product.getCreatedAt().format(DateTimeFormatter.ofPattern("yyyy-MM-dd")));
         }
 
-        // Include full image URL for admin dashboard (they need to see the actual
-        // image)
-        dto.setImageUrlThumbnail(product.getImageUrl());
+        // List views show the small rendition of uploaded images
+        dto.setImageUrlThumbnail(ImageService.variantUrl(product.getImageUrl(), Image.Variant.THUMBNAIL));
 
         // Placeholder values for now
         dto.setSales(0);
@@ -313,26 +711,40 @@ public class ProductService {
         return dto;
     }
 
+    private Page<ProductSummaryDTO> toSummaryPage(Page<ProductSummaryProjection> products) {
+        return products.map(this::convertToSummaryDTO);
+    }
+
     // Get products as summary DTOs for list views
+    @Transactional(readOnly = true)
     public Page<ProductSummaryDTO> getProductSummariesWithPagination(Pageable pageable) {
-        Page<Product> products = productRepository.findAll(pageable);
-        List<ProductSummaryDTO> summaries = products.getContent().stream()
-                .map(this::convertToSummaryDTO)
-                .collect(Collectors.toList());
-        return new PageImpl<>(summaries, pageable, products.getTotalElements());
+        return toSummaryPage(productRepository.findAllSummaries(pageable));
     }
 
+    @Transactional(readOnly = true)
     public Page<ProductSummaryDTO> getAvailableProductSummariesWithPagination(Pageable pageable) {
-        Page<Product> products = productRepository.findByIsAvailableTrue(pageable);
-        List<ProductSummaryDTO> summaries = products.getContent().stream()
-                .map(this::convertToSummaryDTO)
-                .collect(Collectors.toList());
-        return new PageImpl<>(summaries, pageable, products.getTotalElements());
+        return toSummaryPage(productRepository.findAvailableSummaries(pageable));
+    }
+
+    @Transactional(readOnly = true)
+    public Page<ProductSummaryDTO> getProductSummariesByCategoryWithPagination(UUID categoryId, Pageable pageable) {
+        return toSummaryPage(productRepository.findSummariesByCategoryId(categoryId, pageable));
+    }
+
+    // Slice variants for infinite scroll: one query per step, no COUNT
+    @Transactional(readOnly = true)
+    public Slice<ProductSummaryDTO> getProductSummarySlice(Pageable pageable) {
+        return productRepository.findAllSummariesSlice(pageable).map(this::convertToSummaryDTO);
+    }
+
+    @Transactional(readOnly = true)
+    public Slice<ProductSummaryDTO> getProductSummarySliceByCategory(UUID categoryId, Pageable pageable) {
+        return productRepository.findSummariesByCategoryIdSlice(categoryId, pageable).map(this::convertToSummaryDTO);
     }
 
     @Transactional
     public void approveProduct(UUID productId, String reason) {
-        Product product = productRepository.findById(productId)
+        Product product = productRepository.findWithAssociationsById(productId)
                 .orElseThrow(() -> new RuntimeException("Product not found"));
 
         product.setIsApproved(true);
@@ -341,7 +753,8 @@ public class ProductService {
         // Set the admin who approved it (get from security context)
         // For now, we'll leave it as is since we don't have the admin context here
 
-        productRepository.save(product);
+        Product savedProduct = productRepository.save(product);
+        eventPublisher.publishEvent(ProductChangedEvent.published(savedProduct));
 
         // Send notification to the seller about approval
         try {
@@ -365,13 +778,13 @@ public class ProductService {
 
     @Transactional
     public void rejectProduct(UUID productId, String reason) {
-        Product product = productRepository.findById(productId)
+        Product product = productRepository.findWithAssociationsById(productId)
                 .orElseThrow(() -> new RuntimeException("Product not found"));
 
         product.setIsApproved(false);
         product.setIsAvailable(false);
 
-        productRepository.save(product);
+        eventPublisher.publishEvent(ProductChangedEvent.updated(productRepository.save(product)));
 
         // Send notification to the seller about rejection with reason
         try {
@@ -393,13 +806,127 @@ public class ProductService {
         }
     }
 
+    /**
+     * Approve or reject many products at once. The moderating admin comes from the
+     * security context; products already in the target state are skipped. The state
+     * change is one UPDATE over all eligible ids and the seller notifications are
+     * inserted in one batch; caches and read models follow from one change event.
+     */
+    public BulkModerationResult moderateProducts(BulkModerationRequest request) {
+        if (request.getAction() == null) {
+            throw new BadRequestException("Moderation action is required");
+        }
+        if (request.getProductIds() == null || request.getProductIds().isEmpty()) {
+            throw new BadRequestException("At least one product id is required");
+        }
+        if (request.getProductIds().size() > MAX_BULK_MODERATION) {
+            throw new BadRequestException("At most " + MAX_BULK_MODERATION + " products can be moderated at once");
+        }
+        boolean approve = request.getAction() == BulkModerationRequest.Action.APPROVE;
+        if (!approve && (request.getReason() == null || request.getReason().trim().isEmpty())) {
+            throw new BadRequestException("Rejection reason is required");
+        }
+
+        Admin moderator = currentAdmin();
+        Set<UUID> requestedIds = new LinkedHashSet<>(request.getProductIds());
+
+        // Rejected products may be approved again; pending and live ones may be rejected
+        List<ProductSummaryProjection> eligible = productRepository.findSummariesByIdIn(requestedIds).stream()
+                .filter(p -> approve
+                        ? !Boolean.TRUE.equals(p.getIsApproved())
+                        : Boolean.TRUE.equals(p.getIsApproved()) || Boolean.TRUE.equals(p.getIsAvailable()))
+                .collect(Collectors.toList());
+        List<UUID> eligibleIds = eligible.stream().map(ProductSummaryProjection::getId).collect(Collectors.toList());
+
+        int updated = 0;
+        if (!eligibleIds.isEmpty()) {
+            LocalDateTime now = LocalDateTime.now();
+            updated = approve
+                    ? productRepository.approveAll(eligibleIds, moderator, now)
+                    : productRepository.rejectAll(eligibleIds, now);
+            notificationService.notifyProductModerations(eligible, moderator, approve, request.getReason());
+            Set<UUID> sellerIds = eligible.stream().map(ProductSummaryProjection::getSellerId)
+                    .filter(Objects::nonNull).collect(Collectors.toSet());
+            // Approved products reach the storefront and so enter the recent feed
+            eventPublisher.publishEvent(new ProductChangedEvent(eligibleIds, sellerIds,
+                    approve ? ProductChangedEvent.Change.PUBLISHED : ProductChangedEvent.Change.UPDATED));
+        }
+
+        requestedIds.removeAll(eligibleIds);
+        logger.debug("Bulk {} by {}: {} updated, {} skipped", request.getAction(), moderator.getEmail(), updated,
+                requestedIds.size());
+        return new BulkModerationResult(request.getAction(), updated, new ArrayList<>(requestedIds));
+    }
+
+    private Admin currentAdmin() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null) {
+            throw new UnauthorizedException("No authenticated admin");
+        }
+        return adminRepository.findByEmail(authentication.getName())
+                .orElseThrow(() -> new UnauthorizedException("Admin not found: " + authentication.getName()));
+    }
+
+    /**
+     * Write every storefront product to out as JSON Lines, one summary per line.
+     * Rows are streamed from the database and written as they arrive; they are
+     * constructor projections rather than entities, so nothing accumulates in the
+     * persistence context and memory use does not grow with the catalog.
+     */
+    @Transactional(readOnly = true)
+    public long exportApprovedCatalog(OutputStream out) throws IOException {
+        ObjectWriter writer = objectMapper.writerFor(ProductSummaryDTO.class)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        long written = 0;
+        try (Stream<ProductSummaryProjection> rows = productRepository.streamApprovedSummaries();
+                SequenceWriter lines = writer.withRootValueSeparator("\n").writeValues(out)) {
+            Iterator<ProductSummaryProjection> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                lines.write(convertToSummaryDTO(iterator.next()));
+                if (++written % ProductRepository.EXPORT_FETCH_SIZE == 0) {
+                    lines.flush();
+                }
+            }
+        }
+        if (written > 0) {
+            out.write('\n'); // the separator goes between values; end the last line too
+        }
+        logger.debug("Exported {} products", written);
+        return written;
+    }
+
+    // False means the id was never created (or was deleted before the last rebuild)
+    public boolean productMightExist(UUID id) {
+        return knownIds.mightBeProduct(id);
+    }
+
+    /**
+     * Product detail for a conditional GET. isCurrent is asked with the product's ETag
+     * before any conversion; when it answers true the body is left out (304).
+     */
+    @Transactional(readOnly = true)
+    public Versioned<ProductDetailDTO> getProductDetailIfModified(UUID id, Predicate<String> isCurrent) {
+        Product product = productRepository.findWithAssociationsById(id)
+                .orElseThrow(() -> new RuntimeException("Product not found"));
+        String etag = detailEtag(product);
+        return new Versioned<>(etag, isCurrent.test(etag) ? null : convertToDetailDTO(product));
+    }
+
+    /**
+     * ETag of the storefront listings, or null while they are not served from the catalog
+     */
+    public String getStorefrontEtag() {
+        return storefrontCatalog.isReady() ? "\"storefront-" + storefrontCatalog.version() + "\"" : null;
+    }
+
     public ProductDetailDTO getProductDetailById(UUID id) {
-        Product product = productRepository.findById(id)
+        Product product = productRepository.findWithAssociationsById(id)
                 .orElseThrow(() -> new RuntimeException("Product not found"));
         return convertToDetailDTO(product);
     }
 
-    private ProductDetailDTO convertToDetailDTO(Product product) {
+    // Package-private for the JMH benchmarks (src/jmh/java)
+    ProductDetailDTO convertToDetailDTO(Product product) {
         ProductDetailDTO dto = new ProductDetailDTO();
 
         // Basic product information
@@ -439,26 +966,150 @@ public class ProductService {
         return dto;
     }
 
+    // The detail view shows the product plus its seller, category and approver, so its
+    // strong ETag changes whenever any of their update timestamps does
+    private static String detailEtag(Product product) {
+        StringBuilder etag = new StringBuilder("\"").append(product.getId())
+                .append('-').append(stamp(product.getUpdatedAt()));
+        etag.append('-').append(product.getSeller() == null ? "" : stamp(product.getSeller().getUpdatedAt()));
+        etag.append('-').append(product.getCategory() == null ? "" : stamp(product.getCategory().getUpdatedAt()));
+        etag.append('-').append(product.getApprovedBy() == null ? "" : stamp(product.getApprovedBy().getUpdatedAt()));
+        return etag.append('"').toString();
+    }
+
+    private static String stamp(LocalDateTime time) {
+        if (time == null) {
+            return "";
+        }
+        return time.toEpochSecond(ZoneOffset.UTC) + "." + time.getNano();
+    }
+
+    // Storefront listings come from the in-memory catalog (newest first) once it is loaded;
+    // the database is only hit while it warms up or when a custom sort is requested
+    @Transactional(readOnly = true)
     public Page<ProductSummaryDTO> getApprovedProductSummariesWithPagination(Pageable pageable) {
-        Page<Product> products = productRepository.findByIsApprovedTrueAndIsAvailableTrue(pageable);
-        List<ProductSummaryDTO> summaries = products.getContent().stream()
+        if (servableFromCatalog(pageable)) {
+            return storefrontCatalog.findAll(pageable);
+        }
+        return toSummaryPage(productRepository.findApprovedSummaries(pageable));
+    }
+
+    @Transactional(readOnly = true)
+    public Page<ProductSummaryDTO> getApprovedProductsByCategoryWithPagination(String categoryName, Pageable pageable) {
+        if (servableFromCatalog(pageable)) {
+            return storefrontCatalog.findByCategoryName(categoryName, pageable);
+        }
+        return toSummaryPage(productRepository.findApprovedSummariesByCategoryName(categoryName, pageable));
+    }
+
+    @Transactional(readOnly = true)
+    public Slice<ProductSummaryDTO> getApprovedProductSummarySlice(Pageable pageable) {
+        if (servableFromCatalog(pageable)) {
+            return toSlice(storefrontCatalog.findAll(pageable));
+        }
+        return productRepository.findApprovedSummariesSlice(pageable).map(this::convertToSummaryDTO);
+    }
+
+    @Transactional(readOnly = true)
+    public Slice<ProductSummaryDTO> getApprovedProductSummarySliceByCategory(String categoryName,
+            Pageable pageable) {
+        if (servableFromCatalog(pageable)) {
+            return toSlice(storefrontCatalog.findByCategoryName(categoryName, pageable));
+        }
+        return productRepository.findApprovedSummariesByCategoryNameSlice(categoryName, pageable)
+                .map(this::convertToSummaryDTO);
+    }
+
+    // Catalog pages are counted for free; drop the total to give every mode=slice response one shape
+    private static Slice<ProductSummaryDTO> toSlice(Page<ProductSummaryDTO> page) {
+        return new SliceImpl<>(page.getContent(), page.getPageable(), page.hasNext());
+    }
+
+    private boolean servableFromCatalog(Pageable pageable) {
+        return storefrontCatalog.isReady() && pageable.getSort().isUnsorted();
+    }
+
+    // Cursor (keyset) variants of the listing endpoints: no OFFSET and no COUNT query,
+    // so every page costs the same however deep the client scrolls
+    @Transactional(readOnly = true)
+    public CursorPage<ProductSummaryDTO> getProductSummariesAfter(String cursor, int size) {
+        Limit limit = keysetLimit(size);
+        List<ProductSummaryProjection> products;
+        if (cursor == null) {
+            products = productRepository.findFirstKeysetPage(limit);
+        } else {
+            ProductCursor position = ProductCursor.decode(cursor);
+            products = productRepository.findKeysetPageAfter(position.getCreatedAt(), position.getId(), limit);
+        }
+        return toCursorPage(products, size);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<ProductSummaryDTO> getApprovedProductSummariesAfter(String cursor, int size) {
+        Limit limit = keysetLimit(size);
+        List<ProductSummaryProjection> products;
+        if (cursor == null) {
+            products = productRepository.findFirstApprovedKeysetPage(limit);
+        } else {
+            ProductCursor position = ProductCursor.decode(cursor);
+            products = productRepository.findApprovedKeysetPageAfter(position.getCreatedAt(), position.getId(),
+                    limit);
+        }
+        return toCursorPage(products, size);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<ProductSummaryDTO> getProductSummariesByCategoryAfter(UUID categoryId, String cursor,
+            int size) {
+        Limit limit = keysetLimit(size);
+        List<ProductSummaryProjection> products;
+        if (cursor == null) {
+            products = productRepository.findFirstCategoryKeysetPage(categoryId, limit);
+        } else {
+            ProductCursor position = ProductCursor.decode(cursor);
+            products = productRepository.findCategoryKeysetPageAfter(categoryId, position.getCreatedAt(),
+                    position.getId(), limit);
+        }
+        return toCursorPage(products, size);
+    }
+
+    private List<ProductSummaryDTO> findRecentSummaries(int limit) {
+        return productRepository.findRecentSummaries(Limit.of(limit)).stream()
                 .map(this::convertToSummaryDTO)
                 .collect(Collectors.toList());
-        return new PageImpl<>(summaries, pageable, products.getTotalElements());
     }
 
-    public Page<ProductSummaryDTO> getApprovedProductsByCategoryWithPagination(String categoryName, Pageable pageable) {
-        Page<Product> products = productRepository
-                .findByIsApprovedTrueAndIsAvailableTrueAndCategoryNameIgnoreCase(categoryName, pageable);
-        List<ProductSummaryDTO> summaries = products.getContent().stream()
+    private List<ProductSummaryDTO> findTopRatedSummaries() {
+        return productRepository.findTopRatedSummaries(Limit.of(topRatedProducts.capacity())).stream()
                 .map(this::convertToSummaryDTO)
                 .collect(Collectors.toList());
-        return new PageImpl<>(summaries, pageable, products.getTotalElements());
+    }
+
+    // One extra row is fetched to know whether another page exists
+    private Limit keysetLimit(int size) {
+        if (size < 1 || size > MAX_CURSOR_PAGE_SIZE) {
+            throw new BadRequestException("Page size must be between 1 and " + MAX_CURSOR_PAGE_SIZE);
+        }
+        return Limit.of(size + 1);
+    }
+
+    private CursorPage<ProductSummaryDTO> toCursorPage(List<ProductSummaryProjection> products, int size) {
+        boolean hasNext = products.size() > size;
+        List<ProductSummaryDTO> summaries = products.stream()
+                .limit(size)
+                .map(this::convertToSummaryDTO)
+                .collect(Collectors.toList());
+        String nextCursor = null;
+        if (hasNext) {
+            ProductSummaryDTO last = summaries.get(summaries.size() - 1);
+            nextCursor = new ProductCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+        return new CursorPage<>(summaries, size, hasNext, nextCursor);
     }
 
     @Cacheable(value = "clientProducts", key = "#clientId", unless = "#result.size() == 0")
     public List<ProductSummaryDTO> getProductsByClient(UUID clientId) {
-        List<Product> products = productRepository.findBySellerIdOrderByCreatedAtDesc(clientId);
+        List<ProductSummaryProjection> products = productRepository.findSummariesBySellerId(clientId);
         return products.stream()
                 .map(this::convertToSummaryDTO)
                 .collect(Collectors.toList());
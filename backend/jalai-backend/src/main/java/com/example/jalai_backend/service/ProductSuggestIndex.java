@@ -0,0 +1,336 @@
+package com.example.jalai_backend.service;
+
+import com.example.jalai_backend.dto.ProductSummaryDTO;
+import com.example.jalai_backend.dto.SuggestionDTO;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * Search-box autocomplete over storefront product names and category names.
+ *
+ * Every word start of a name becomes a key ("red wooden chair", "wooden chair",
+ * "chair"), kept in one sorted array, so the keys sharing a prefix form a single
+ * contiguous range found by two binary searches. A segment tree of range maxima
+ * over the popularity weights then yields the top k entries of that range in
+ * O(k log n), however many keys share the prefix.
+ *
+ * Each write publishes a new immutable snapshot with one volatile write, like
+ * {@link StorefrontCatalog}. Only the changed product and its categories are
+ * re-tokenized; their keys are merged into the sorted array in one linear pass
+ * and the segment tree is rebuilt bottom-up, with no sorting.
+ */
+@Component
+public class ProductSuggestIndex {
+
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    // Longer names only get keys for their first few words
+    private static final int MAX_KEYS_PER_NAME = 6;
+
+    // Writer side only: the keys and suggestion of every product and category, and the
+    // per-category product counts that weigh category suggestions
+    private final Map<String, Owner> owners = new HashMap<>();
+    private final Map<UUID, UUID> productCategories = new HashMap<>();
+    private final Map<UUID, Integer> categoryCounts = new HashMap<>();
+    private final Map<UUID, String> categoryNames = new HashMap<>();
+
+    private volatile Snapshot snapshot;
+
+    public boolean isReady() {
+        return snapshot != null;
+    }
+
+    /**
+     * Replace the index content with the given storefront products
+     */
+    public synchronized void rebuild(Collection<ProductSummaryDTO> storefrontProducts) {
+        owners.clear();
+        productCategories.clear();
+        categoryCounts.clear();
+        categoryNames.clear();
+        Map<String, Owner> changes = new HashMap<>();
+        for (ProductSummaryDTO product : storefrontProducts) {
+            file(product, changes);
+        }
+
+        List<Entry> entries = new ArrayList<>();
+        changes.forEach((ownerKey, owner) -> {
+            if (owner != null) {
+                owners.put(ownerKey, owner);
+                owner.addEntries(entries);
+            }
+        });
+        entries.sort(Comparator.comparing(Entry::key));
+        snapshot = new Snapshot(entries.stream().map(Entry::key).toArray(String[]::new),
+                entries.stream().map(Entry::suggestion).toArray(SuggestionDTO[]::new));
+    }
+
+    /**
+     * Add or replace a product that is visible on the storefront
+     */
+    public synchronized void put(ProductSummaryDTO product) {
+        if (snapshot == null) {
+            return; // the initial rebuild will pick it up
+        }
+        Map<String, Owner> changes = new HashMap<>();
+        file(product, changes);
+        apply(changes);
+    }
+
+    /**
+     * Drop a product that left the storefront
+     */
+    public synchronized void remove(UUID productId) {
+        if (snapshot == null || !owners.containsKey(productOwner(productId))) {
+            return;
+        }
+        Map<String, Owner> changes = new HashMap<>();
+        changes.put(productOwner(productId), null);
+        UUID categoryId = productCategories.remove(productId);
+        if (categoryId != null) {
+            countCategory(categoryId, -1, changes);
+        }
+        apply(changes);
+    }
+
+    // Record the product's new keys and re-weigh the categories it leaves and joins
+    private void file(ProductSummaryDTO product, Map<String, Owner> changes) {
+        long weight = 1L + (product.getRatingCount() == null ? 0 : product.getRatingCount());
+        changes.put(productOwner(product.getId()), new Owner(product.getName(),
+                new SuggestionDTO(product.getName(), SuggestionDTO.Type.PRODUCT, product.getId(), weight)));
+
+        UUID previous = product.getCategoryId() == null
+                ? productCategories.remove(product.getId())
+                : productCategories.put(product.getId(), product.getCategoryId());
+        if (previous != null) {
+            countCategory(previous, -1, changes);
+        }
+        if (product.getCategoryId() != null) {
+            if (product.getCategoryName() != null) {
+                categoryNames.put(product.getCategoryId(), product.getCategoryName());
+            }
+            countCategory(product.getCategoryId(), 1, changes);
+        }
+    }
+
+    private void countCategory(UUID categoryId, int delta, Map<String, Owner> changes) {
+        int count = categoryCounts.getOrDefault(categoryId, 0) + delta;
+        if (count <= 0) {
+            categoryCounts.remove(categoryId);
+            categoryNames.remove(categoryId);
+            changes.put(categoryOwner(categoryId), null);
+            return;
+        }
+        categoryCounts.put(categoryId, count);
+        String name = categoryNames.get(categoryId);
+        changes.put(categoryOwner(categoryId), name == null ? null
+                : new Owner(name, new SuggestionDTO(name, SuggestionDTO.Type.CATEGORY, categoryId, count)));
+    }
+
+    // Merge the changed owners' keys into the published arrays in one pass
+    private void apply(Map<String, Owner> changes) {
+        Set<SuggestionDTO> dropped = Collections.newSetFromMap(new IdentityHashMap<>());
+        List<Entry> added = new ArrayList<>();
+        changes.forEach((ownerKey, owner) -> {
+            Owner previous = owner == null ? owners.remove(ownerKey) : owners.put(ownerKey, owner);
+            if (previous != null) {
+                dropped.add(previous.suggestion);
+            }
+            if (owner != null) {
+                owner.addEntries(added);
+            }
+        });
+        added.sort(Comparator.comparing(Entry::key));
+
+        Snapshot current = snapshot;
+        int size = current.keys.length + added.size();
+        String[] keys = new String[size];
+        SuggestionDTO[] suggestions = new SuggestionDTO[size];
+        int count = 0;
+        int next = 0;
+        for (int i = 0; i < current.keys.length; i++) {
+            if (dropped.contains(current.suggestions[i])) {
+                continue;
+            }
+            while (next < added.size() && added.get(next).key().compareTo(current.keys[i]) < 0) {
+                keys[count] = added.get(next).key();
+                suggestions[count++] = added.get(next++).suggestion();
+            }
+            keys[count] = current.keys[i];
+            suggestions[count++] = current.suggestions[i];
+        }
+        while (next < added.size()) {
+            keys[count] = added.get(next).key();
+            suggestions[count++] = added.get(next++).suggestion();
+        }
+        snapshot = new Snapshot(Arrays.copyOf(keys, count), Arrays.copyOf(suggestions, count));
+    }
+
+    private static String productOwner(UUID productId) {
+        return "product:" + productId;
+    }
+
+    private static String categoryOwner(UUID categoryId) {
+        return "category:" + categoryId;
+    }
+
+    /**
+     * The most popular names that have a word starting with the query, best first
+     */
+    public List<SuggestionDTO> suggest(String query, int limit) {
+        String prefix = normalize(query);
+        Snapshot current = snapshot;
+        if (prefix.isEmpty() || current == null || limit <= 0) {
+            return Collections.emptyList();
+        }
+        return current.topK(prefix, limit);
+    }
+
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        return String.join(" ", tokenize(text));
+    }
+
+    private static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        for (String token : TOKEN_SEPARATOR.split(text.toLowerCase(Locale.ROOT))) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    private record Entry(String key, SuggestionDTO suggestion) {
+    }
+
+    // A product or category: the keys it is filed under and the suggestion they lead to
+    private static final class Owner {
+        private final List<String> keys = new ArrayList<>();
+        private final SuggestionDTO suggestion;
+
+        private Owner(String name, SuggestionDTO suggestion) {
+            this.suggestion = suggestion;
+            List<String> tokens = tokenize(name == null ? "" : name);
+            for (int i = 0; i < tokens.size() && i < MAX_KEYS_PER_NAME; i++) {
+                keys.add(String.join(" ", tokens.subList(i, tokens.size())));
+            }
+        }
+
+        private void addEntries(List<Entry> entries) {
+            keys.forEach(key -> entries.add(new Entry(key, suggestion)));
+        }
+    }
+
+    private static final class Snapshot {
+        private final String[] keys;
+        private final SuggestionDTO[] suggestions;
+        // tree[n + i] = i; tree[i]: index of the heavier entry of its two children
+        private final int[] tree;
+
+        private Snapshot(String[] keys, SuggestionDTO[] suggestions) {
+            this.keys = keys;
+            this.suggestions = suggestions;
+            int n = keys.length;
+            this.tree = new int[2 * n];
+            for (int i = 0; i < n; i++) {
+                tree[n + i] = i;
+            }
+            for (int i = n - 1; i > 0; i--) {
+                tree[i] = heavier(tree[2 * i], tree[2 * i + 1]);
+            }
+        }
+
+        // Ties go to the earlier, alphabetically smaller key
+        private int heavier(int a, int b) {
+            if (a < 0 || b < 0) {
+                return Math.max(a, b);
+            }
+            long wa = suggestions[a].getWeight();
+            long wb = suggestions[b].getWeight();
+            return wa > wb || (wa == wb && a < b) ? a : b;
+        }
+
+        // Heaviest entry in [from, to), to > from
+        private int argMax(int from, int to) {
+            int n = keys.length;
+            int best = -1;
+            for (int low = from + n, high = to + n; low < high; low >>= 1, high >>= 1) {
+                if ((low & 1) == 1) {
+                    best = heavier(best, tree[low++]);
+                }
+                if ((high & 1) == 1) {
+                    best = heavier(best, tree[--high]);
+                }
+            }
+            return best;
+        }
+
+        private List<SuggestionDTO> topK(String prefix, int limit) {
+            int from = lowerBound(prefix);
+            int to = lowerBound(prefix + Character.MAX_VALUE);
+            if (from >= to) {
+                return Collections.emptyList();
+            }
+
+            // Best-first over sub-ranges, each keyed by its heaviest entry
+            PriorityQueue<int[]> ranges = new PriorityQueue<>((a, b) -> a[2] == b[2] ? 0
+                    : heavier(a[2], b[2]) == a[2] ? -1 : 1);
+            ranges.add(new int[] { from, to, argMax(from, to) });
+            List<SuggestionDTO> results = new ArrayList<>(limit);
+            Set<String> seen = new HashSet<>();
+            while (!ranges.isEmpty() && results.size() < limit) {
+                int[] range = ranges.poll();
+                int best = range[2];
+                // A name with several matching word starts, or a product name listed twice,
+                // only counts once; categories are told apart by id
+                SuggestionDTO suggestion = suggestions[best];
+                String identity = suggestion.getType() == SuggestionDTO.Type.CATEGORY
+                        ? String.valueOf(suggestion.getId())
+                        : suggestion.getText().toLowerCase(Locale.ROOT);
+                if (seen.add(suggestion.getType() + ":" + identity)) {
+                    results.add(new SuggestionDTO(suggestion));
+                }
+                if (range[0] < best) {
+                    ranges.add(new int[] { range[0], best, argMax(range[0], best) });
+                }
+                if (best + 1 < range[1]) {
+                    ranges.add(new int[] { best + 1, range[1], argMax(best + 1, range[1]) });
+                }
+            }
+            return results;
+        }
+
+        // First index whose key is not less than the given key
+        private int lowerBound(String key) {
+            int low = 0;
+            int high = keys.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (keys[mid].compareTo(key) < 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.example.jalai_backend.service;
+
+import com.example.jalai_backend.dto.ProductSummaryDTO;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Ring buffer of the newest storefront products, newest first.
+ *
+ * Entries are kept in the order of the recent-products query, (createdAt, id)
+ * descending, so the feed reads the same before and after a reload. A product
+ * reaching the storefront is inserted at its position (usually the head) and
+ * the oldest entry falls off once the buffer is full, so the feed never holds
+ * more than {@link #CAPACITY} products whatever the catalog size. Entries are
+ * copies, and so is every product handed out, so callers cannot change the feed.
+ */
+@Component
+public class RecentProductsFeed {
+
+    public static final int CAPACITY = 50;
+
+    private final ProductSummaryDTO[] slots;
+    private int head = -1; // slot of the newest entry
+    private int size;
+    private boolean ready;
+
+    public RecentProductsFeed() {
+        this(CAPACITY);
+    }
+
+    RecentProductsFeed(int capacity) {
+        this.slots = new ProductSummaryDTO[capacity];
+    }
+
+    public int capacity() {
+        return slots.length;
+    }
+
+    public synchronized boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Replace the feed with products ordered newest first
+     */
+    public synchronized void rebuild(List<ProductSummaryDTO> newestFirst) {
+        Arrays.fill(slots, null);
+        head = -1;
+        size = 0;
+        for (int i = Math.min(newestFirst.size(), slots.length) - 1; i >= 0; i--) {
+            append(new ProductSummaryDTO(newestFirst.get(i)));
+        }
+        ready = true;
+    }
+
+    /**
+     * Add a storefront product at its (createdAt, id) position, or move it there. A
+     * product older than every entry of a full feed is not among the newest and is left out.
+     */
+    public synchronized void insert(ProductSummaryDTO product) {
+        if (!ready) {
+            return; // the initial rebuild will pick it up
+        }
+        int index = indexOf(product.getId());
+        if (index >= 0) {
+            removeAt(index);
+        }
+        int position = 0;
+        while (position < size && StorefrontCatalog.NEWEST_FIRST.compare(slots[slot(position)], product) < 0) {
+            position++;
+        }
+        if (position == slots.length) {
+            return;
+        }
+        if (size == slots.length) {
+            slots[slot(size - 1)] = null;
+            size--;
+        }
+        insertAt(position, new ProductSummaryDTO(product));
+    }
+
+    /**
+     * Refresh a listed product's details without changing its position
+     */
+    public synchronized void replace(ProductSummaryDTO product) {
+        int index = indexOf(product.getId());
+        if (index >= 0) {
+            slots[slot(index)] = new ProductSummaryDTO(product);
+        }
+    }
+
+    /**
+     * Drop a product that left the storefront.
+     *
+     * @return false if a full feed lost an entry and must be reloaded to refill it
+     */
+    public synchronized boolean remove(UUID productId) {
+        int index = indexOf(productId);
+        if (index < 0) {
+            return true;
+        }
+        boolean wasFull = size == slots.length;
+        removeAt(index);
+        return !wasFull;
+    }
+
+    public synchronized List<ProductSummaryDTO> newest(int limit) {
+        int count = Math.min(limit, size);
+        List<ProductSummaryDTO> products = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            products.add(new ProductSummaryDTO(slots[slot(i)]));
+        }
+        return products;
+    }
+
+    private void append(ProductSummaryDTO product) {
+        head = (head + 1) % slots.length;
+        slots[head] = product;
+        if (size < slots.length) {
+            size++;
+        }
+    }
+
+    // Make room by moving every entry from the position on one step away from the head
+    private void insertAt(int index, ProductSummaryDTO product) {
+        if (index == 0) {
+            append(product);
+            return;
+        }
+        for (int i = size; i > index; i--) {
+            slots[slot(i)] = slots[slot(i - 1)];
+        }
+        slots[slot(index)] = product;
+        size++;
+    }
+
+    // Close the gap by moving every older entry one step towards the head
+    private void removeAt(int index) {
+        for (int i = index; i < size - 1; i++) {
+            slots[slot(i)] = slots[slot(i + 1)];
+        }
+        slots[slot(size - 1)] = null;
+        size--;
+    }
+
+    private int indexOf(UUID productId) {
+        for (int i = 0; i < size; i++) {
+            if (slots[slot(i)].getId().equals(productId)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    // Physical slot of the i-th newest entry
+    private int slot(int i) {
+        return Math.floorMod(head - i, slots.length);
+    }
+}
@@ -0,0 +1,214 @@
+package com.example.jalai_backend.service;
+
+import com.example.jalai_backend.dto.ProductSummaryDTO;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Precomputed "related products" per storefront product: the top
+ * {@link #NEIGHBOURS} other storefront products by
+ *
+ *   score = 2 x orders containing both products + category/price similarity
+ *
+ * where the similarity is 0 across categories and 0.5 to 1 within one, rising as
+ * the prices get closer. Any co-purchase therefore outranks pure similarity.
+ * Within a category only the nearest products by price are scored, so a list
+ * costs O(log n) to locate the product plus O(N) to score, never O(n).
+ *
+ * The storefront is mirrored here, each category kept cheapest first, and
+ * follows product writes one product at a time. A write or a confirmed order
+ * recomputes only the lists of the products it touched; the scheduled rebuild
+ * refreshes everyone else's. Writers are synchronized; readers never lock.
+ */
+@Component
+public class RelatedProducts {
+
+    public static final int NEIGHBOURS = 8;
+
+    // Per shared order; above the largest possible similarity
+    private static final double CO_PURCHASE_WEIGHT = 2;
+
+    // Same-category products scored per product, taken nearest in price first
+    private static final int CATEGORY_CANDIDATES = 2 * NEIGHBOURS;
+
+    private static final Comparator<ProductSummaryDTO> CHEAPEST_FIRST = Comparator
+            .comparing(ProductSummaryDTO::getPrice, Comparator.nullsLast(BigDecimal::compareTo))
+            .thenComparing(ProductSummaryDTO::getId);
+
+    // product id -> other product id -> orders containing both
+    private final Map<UUID, Map<UUID, Long>> coPurchases = new HashMap<>();
+
+    // Writer side only: the storefront, and each category's products cheapest first
+    private final Map<UUID, ProductSummaryDTO> byId = new HashMap<>();
+    private final Map<UUID, List<ProductSummaryDTO>> byCategory = new HashMap<>();
+
+    private volatile Map<UUID, List<UUID>> neighbours;
+
+    public boolean isReady() {
+        return neighbours != null;
+    }
+
+    /**
+     * Related product ids, best first; null when none were computed for the product
+     */
+    public List<UUID> get(UUID productId) {
+        Map<UUID, List<UUID>> current = neighbours;
+        return current == null ? null : current.get(productId);
+    }
+
+    /**
+     * Recompute every list from the storefront and all co-purchase counts
+     */
+    public synchronized void rebuild(Collection<ProductSummaryDTO> storefront,
+            Map<UUID, Map<UUID, Long>> coPurchaseCounts) {
+        coPurchases.clear();
+        coPurchaseCounts.forEach((productId, counts) -> coPurchases.put(productId, new HashMap<>(counts)));
+        byId.clear();
+        byCategory.clear();
+        for (ProductSummaryDTO product : storefront) {
+            byId.put(product.getId(), new ProductSummaryDTO(product));
+        }
+        for (ProductSummaryDTO product : byId.values()) {
+            if (product.getCategoryId() != null) {
+                byCategory.computeIfAbsent(product.getCategoryId(), id -> new ArrayList<>()).add(product);
+            }
+        }
+        byCategory.values().forEach(products -> products.sort(CHEAPEST_FIRST));
+
+        Map<UUID, List<UUID>> lists = new ConcurrentHashMap<>();
+        for (ProductSummaryDTO product : byId.values()) {
+            lists.put(product.getId(), neighbours(product));
+        }
+        neighbours = lists;
+    }
+
+    /**
+     * Add a storefront product or move it to its new category and price, and
+     * recompute its list
+     */
+    public synchronized void put(ProductSummaryDTO product) {
+        if (neighbours == null) {
+            return; // the initial rebuild will pick it up
+        }
+        unlist(product.getId());
+        ProductSummaryDTO copy = new ProductSummaryDTO(product);
+        byId.put(copy.getId(), copy);
+        if (copy.getCategoryId() != null) {
+            List<ProductSummaryDTO> products = byCategory.computeIfAbsent(copy.getCategoryId(),
+                    id -> new ArrayList<>());
+            products.add(-Collections.binarySearch(products, copy, CHEAPEST_FIRST) - 1, copy);
+        }
+        neighbours.put(copy.getId(), neighbours(copy));
+    }
+
+    /**
+     * Drop a product that left the storefront. Other lists may still name it until
+     * they are recomputed, so readers skip ids that are no longer on the storefront.
+     */
+    public synchronized void remove(UUID productId) {
+        if (neighbours == null) {
+            return;
+        }
+        unlist(productId);
+        neighbours.remove(productId);
+    }
+
+    /**
+     * Count a newly confirmed order and recompute the lists of its products
+     */
+    public synchronized void recordOrder(Collection<UUID> productIds) {
+        if (neighbours == null) {
+            return; // the initial rebuild will count it
+        }
+        Set<UUID> distinct = new HashSet<>(productIds);
+        for (UUID productId : distinct) {
+            for (UUID otherId : distinct) {
+                if (!productId.equals(otherId)) {
+                    coPurchases.computeIfAbsent(productId, id -> new HashMap<>()).merge(otherId, 1L, Long::sum);
+                }
+            }
+        }
+        for (UUID productId : distinct) {
+            ProductSummaryDTO product = byId.get(productId);
+            if (product != null) {
+                neighbours.put(productId, neighbours(product));
+            }
+        }
+    }
+
+    // Category similarity in [0.5, 1], 0 across categories or without prices
+    static double similarity(ProductSummaryDTO a, ProductSummaryDTO b) {
+        if (a.getCategoryId() == null || !a.getCategoryId().equals(b.getCategoryId())) {
+            return 0;
+        }
+        if (a.getPrice() == null || b.getPrice() == null) {
+            return 0.5;
+        }
+        double pa = a.getPrice().doubleValue();
+        double pb = b.getPrice().doubleValue();
+        double max = Math.max(pa, pb);
+        return max <= 0 ? 1 : 0.5 + 0.5 * (1 - Math.abs(pa - pb) / max);
+    }
+
+    private void unlist(UUID productId) {
+        ProductSummaryDTO previous = byId.remove(productId);
+        if (previous == null || previous.getCategoryId() == null) {
+            return;
+        }
+        List<ProductSummaryDTO> products = byCategory.get(previous.getCategoryId());
+        products.remove(Collections.binarySearch(products, previous, CHEAPEST_FIRST));
+        if (products.isEmpty()) {
+            byCategory.remove(previous.getCategoryId());
+        }
+    }
+
+    private List<UUID> neighbours(ProductSummaryDTO product) {
+        Map<UUID, Double> scores = new HashMap<>();
+        coPurchases.getOrDefault(product.getId(), Map.of()).forEach((otherId, orders) -> {
+            ProductSummaryDTO other = byId.get(otherId);
+            if (other != null) {
+                scores.put(otherId, CO_PURCHASE_WEIGHT * orders + similarity(product, other));
+            }
+        });
+        for (ProductSummaryDTO other : nearestInPrice(product)) {
+            scores.putIfAbsent(other.getId(), similarity(product, other));
+        }
+        return scores.entrySet().stream()
+                .sorted(Map.Entry.<UUID, Double>comparingByValue().reversed()
+                        .thenComparing(Map.Entry.comparingByKey()))
+                .limit(NEIGHBOURS)
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    // Walk outwards from the product's position in its category's price order
+    private List<ProductSummaryDTO> nearestInPrice(ProductSummaryDTO product) {
+        List<ProductSummaryDTO> products = byCategory.get(product.getCategoryId());
+        if (products == null) {
+            return List.of();
+        }
+        int at = Collections.binarySearch(products, product, CHEAPEST_FIRST);
+        int below = at - 1;
+        int above = at + 1;
+        List<ProductSummaryDTO> nearest = new ArrayList<>(CATEGORY_CANDIDATES);
+        while (nearest.size() < CATEGORY_CANDIDATES && (below >= 0 || above < products.size())) {
+            boolean takeBelow = above >= products.size()
+                    || (below >= 0 && similarity(product, products.get(below))
+                            >= similarity(product, products.get(above)));
+            nearest.add(products.get(takeBelow ? below-- : above++));
+        }
+        return nearest;
+    }
+}
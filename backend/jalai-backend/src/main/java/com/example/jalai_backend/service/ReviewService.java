@@ -0,0 +1,107 @@
+package com.example.jalai_backend.service;
+
+import com.example.jalai_backend.exception.BadRequestException;
+import com.example.jalai_backend.exception.InsufficientPermissionsException;
+import com.example.jalai_backend.model.Review;
+import com.example.jalai_backend.repository.ClientRepository;
+import com.example.jalai_backend.repository.ProductRepository;
+import com.example.jalai_backend.repository.ReviewRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+@Service
+@Transactional
+public class ReviewService {
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductService productService;
+
+    @Transactional(readOnly = true)
+    public List<Review> getReviewsByProduct(UUID productId) {
+        return reviewRepository.findByProductId(productId);
+    }
+
+    @Transactional(readOnly = true)
+    public List<Review> getReviewsByClient(UUID clientId) {
+        return reviewRepository.findByClientId(clientId);
+    }
+
+    public Review createReview(UUID clientId, UUID productId, Integer rating, String comment) {
+        validateRating(rating);
+        if (!clientRepository.existsById(clientId)) {
+            throw new RuntimeException("Client not found with id: " + clientId);
+        }
+        if (!productRepository.existsById(productId)) {
+            throw new RuntimeException("Product not found with id: " + productId);
+        }
+        if (reviewRepository.hasClientReviewedProduct(clientId, productId)) {
+            throw new RuntimeException("You have already reviewed this product");
+        }
+
+        Review review = new Review();
+        review.setClientId(clientId);
+        review.setProductId(productId);
+        review.setRating(rating);
+        review.setComment(comment);
+        review.setDate(new Date());
+        Review savedReview = reviewRepository.save(review);
+
+        applyRatingChange(productId, rating, 1);
+        return savedReview;
+    }
+
+    public Review updateReview(UUID reviewId, UUID clientId, Integer rating, String comment) {
+        validateRating(rating);
+        Review review = findOwnReview(reviewId, clientId);
+
+        int previousRating = review.getRating();
+        review.setRating(rating);
+        review.setComment(comment);
+        Review savedReview = reviewRepository.save(review);
+
+        applyRatingChange(review.getProductId(), rating - previousRating, 0);
+        return savedReview;
+    }
+
+    public void deleteReview(UUID reviewId, UUID clientId) {
+        Review review = findOwnReview(reviewId, clientId);
+        reviewRepository.delete(review);
+
+        applyRatingChange(review.getProductId(), -review.getRating(), -1);
+    }
+
+    // Adjust the product's stored rating aggregate and re-rank it, instead of re-averaging its reviews
+    private void applyRatingChange(UUID productId, long sumDelta, int countDelta) {
+        productRepository.adjustRating(productId, sumDelta, countDelta);
+        productService.refreshRating(productId);
+    }
+
+    private Review findOwnReview(UUID reviewId, UUID clientId) {
+        Review review = reviewRepository.findById(reviewId)
+                .orElseThrow(() -> new RuntimeException("Review not found with id: " + reviewId));
+        if (!review.getClientId().equals(clientId)) {
+            throw new InsufficientPermissionsException("You can only change your own reviews");
+        }
+        return review;
+    }
+
+    private void validateRating(Integer rating) {
+        if (rating == null || rating < 1 || rating > 5) {
+            throw new BadRequestException("Rating must be between 1 and 5");
+        }
+    }
+}
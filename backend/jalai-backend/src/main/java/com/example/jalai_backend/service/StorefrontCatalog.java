@@ -0,0 +1,207 @@
+package com.example.jalai_backend.service;
+
+import com.example.jalai_backend.dto.ProductSummaryDTO;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * In-memory read model of the public storefront: approved, available products,
+ * newest first, also grouped by category name.
+ *
+ * Every change builds a new immutable snapshot and publishes it with a single
+ * volatile write, so readers never lock and never see a half-applied update.
+ * A change copies the snapshot's arrays but does not sort again: the product is
+ * placed by binary search, and only its category lists are rebuilt. Products are
+ * copied on the way in and out, so callers can never modify a snapshot.
+ * Until the first rebuild the catalog is not ready and callers should read
+ * from the database instead.
+ */
+@Component
+public class StorefrontCatalog {
+
+    // Same order as the keyset listing queries: createdAt DESC, id DESC, with ids compared
+    // as unsigned bytes like the database does (UUID.compareTo is signed)
+    static final Comparator<ProductSummaryDTO> NEWEST_FIRST = Comparator
+            .comparing(ProductSummaryDTO::getCreatedAt, Comparator.nullsLast(Comparator.reverseOrder()))
+            .thenComparing(ProductSummaryDTO::getId, (a, b) -> compareUnsigned(b, a));
+
+    private volatile Snapshot snapshot;
+
+    // Starts at the boot time in milliseconds, so versions keep increasing across restarts
+    private long lastVersion = System.currentTimeMillis();
+
+    public boolean isReady() {
+        return snapshot != null;
+    }
+
+    public int size() {
+        Snapshot current = snapshot;
+        return current == null ? 0 : current.byId.size();
+    }
+
+    /**
+     * Changes with every published snapshot; used as the ETag of storefront listings
+     */
+    public long version() {
+        Snapshot current = snapshot;
+        return current == null ? 0 : current.version;
+    }
+
+    /**
+     * Replace the whole catalog with the given storefront products
+     */
+    public synchronized void rebuild(Collection<ProductSummaryDTO> products) {
+        Map<UUID, ProductSummaryDTO> byId = new HashMap<>();
+        for (ProductSummaryDTO product : products) {
+            byId.put(product.getId(), new ProductSummaryDTO(product));
+        }
+        List<ProductSummaryDTO> sorted = new ArrayList<>(byId.values());
+        sorted.sort(NEWEST_FIRST);
+
+        Map<String, List<ProductSummaryDTO>> grouped = new HashMap<>();
+        for (ProductSummaryDTO product : sorted) {
+            grouped.computeIfAbsent(categoryKey(product.getCategoryName()), key -> new ArrayList<>())
+                    .add(product);
+        }
+        grouped.replaceAll((key, categoryProducts) -> Collections.unmodifiableList(categoryProducts));
+        snapshot = new Snapshot(byId, sorted, grouped, ++lastVersion);
+    }
+
+    /**
+     * Add or replace a product that is visible on the storefront
+     */
+    public synchronized void put(ProductSummaryDTO product) {
+        Snapshot current = snapshot;
+        if (current == null) {
+            return; // the initial rebuild will pick it up
+        }
+        ProductSummaryDTO stored = new ProductSummaryDTO(product);
+        ProductSummaryDTO previous = current.byId.get(stored.getId());
+
+        Map<UUID, ProductSummaryDTO> byId = new HashMap<>(current.byId);
+        byId.put(stored.getId(), stored);
+        Map<String, List<ProductSummaryDTO>> byCategoryName = new HashMap<>(current.byCategoryName);
+        if (previous != null) {
+            withoutProduct(byCategoryName, previous);
+        }
+        List<ProductSummaryDTO> categoryProducts = new ArrayList<>(
+                byCategoryName.getOrDefault(categoryKey(stored.getCategoryName()), Collections.emptyList()));
+        insertSorted(categoryProducts, stored);
+        byCategoryName.put(categoryKey(stored.getCategoryName()), Collections.unmodifiableList(categoryProducts));
+
+        List<ProductSummaryDTO> newestFirst = new ArrayList<>(current.newestFirst);
+        if (previous != null) {
+            newestFirst.remove(Collections.binarySearch(newestFirst, previous, NEWEST_FIRST));
+        }
+        insertSorted(newestFirst, stored);
+        snapshot = new Snapshot(byId, newestFirst, byCategoryName, ++lastVersion);
+    }
+
+    /**
+     * Drop a product from the storefront (rejected, sold, donated or deleted)
+     */
+    public synchronized void remove(UUID productId) {
+        Snapshot current = snapshot;
+        if (current == null || !current.byId.containsKey(productId)) {
+            return;
+        }
+        ProductSummaryDTO previous = current.byId.get(productId);
+        Map<UUID, ProductSummaryDTO> byId = new HashMap<>(current.byId);
+        byId.remove(productId);
+        Map<String, List<ProductSummaryDTO>> byCategoryName = new HashMap<>(current.byCategoryName);
+        withoutProduct(byCategoryName, previous);
+        List<ProductSummaryDTO> newestFirst = new ArrayList<>(current.newestFirst);
+        newestFirst.remove(Collections.binarySearch(newestFirst, previous, NEWEST_FIRST));
+        snapshot = new Snapshot(byId, newestFirst, byCategoryName, ++lastVersion);
+    }
+
+    /**
+     * The storefront summary of a product, or null when it is not on the storefront
+     */
+    public ProductSummaryDTO get(UUID productId) {
+        ProductSummaryDTO product = snapshot.byId.get(productId);
+        return product == null ? null : new ProductSummaryDTO(product);
+    }
+
+    public Page<ProductSummaryDTO> findAll(Pageable pageable) {
+        return page(snapshot.newestFirst, pageable);
+    }
+
+    public Page<ProductSummaryDTO> findByCategoryName(String categoryName, Pageable pageable) {
+        List<ProductSummaryDTO> products = snapshot.byCategoryName.get(categoryKey(categoryName));
+        return page(products == null ? Collections.emptyList() : products, pageable);
+    }
+
+    // Database order of UUID columns: the 16 bytes compared as unsigned numbers
+    static int compareUnsigned(UUID a, UUID b) {
+        int high = Long.compareUnsigned(a.getMostSignificantBits(), b.getMostSignificantBits());
+        return high != 0 ? high : Long.compareUnsigned(a.getLeastSignificantBits(), b.getLeastSignificantBits());
+    }
+
+    private static void insertSorted(List<ProductSummaryDTO> products, ProductSummaryDTO product) {
+        int index = Collections.binarySearch(products, product, NEWEST_FIRST);
+        products.add(index < 0 ? -index - 1 : index, product);
+    }
+
+    private static void withoutProduct(Map<String, List<ProductSummaryDTO>> byCategoryName,
+            ProductSummaryDTO product) {
+        String key = categoryKey(product.getCategoryName());
+        List<ProductSummaryDTO> categoryProducts = new ArrayList<>(byCategoryName.get(key));
+        categoryProducts.remove(Collections.binarySearch(categoryProducts, product, NEWEST_FIRST));
+        if (categoryProducts.isEmpty()) {
+            byCategoryName.remove(key);
+        } else {
+            byCategoryName.put(key, Collections.unmodifiableList(categoryProducts));
+        }
+    }
+
+    // Copies of the requested slice only
+    private static Page<ProductSummaryDTO> page(List<ProductSummaryDTO> products, Pageable pageable) {
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(copies(products));
+        }
+        int from = (int) Math.min(pageable.getOffset(), products.size());
+        int to = Math.min(from + pageable.getPageSize(), products.size());
+        return new PageImpl<>(copies(products.subList(from, to)), pageable, products.size());
+    }
+
+    private static List<ProductSummaryDTO> copies(List<ProductSummaryDTO> products) {
+        List<ProductSummaryDTO> copies = new ArrayList<>(products.size());
+        for (ProductSummaryDTO product : products) {
+            copies.add(new ProductSummaryDTO(product));
+        }
+        return copies;
+    }
+
+    // Category lookups are case-insensitive, like the repository query they replace
+    private static String categoryKey(String categoryName) {
+        return categoryName == null ? "" : categoryName.toLowerCase(Locale.ROOT);
+    }
+
+    private static final class Snapshot {
+        private final Map<UUID, ProductSummaryDTO> byId;
+        private final List<ProductSummaryDTO> newestFirst;
+        private final Map<String, List<ProductSummaryDTO>> byCategoryName;
+        private final long version;
+
+        private Snapshot(Map<UUID, ProductSummaryDTO> byId, List<ProductSummaryDTO> newestFirst,
+                Map<String, List<ProductSummaryDTO>> byCategoryName, long version) {
+            this.byId = Collections.unmodifiableMap(byId);
+            this.newestFirst = Collections.unmodifiableList(newestFirst);
+            this.byCategoryName = Collections.unmodifiableMap(byCategoryName);
+            this.version = version;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.jalai_backend.service;
+
+import com.example.jalai_backend.dto.ProductSummaryDTO;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Bounded ranking of the best rated storefront products, kept in memory and
+ * adjusted one product at a time as ratings or product details change.
+ *
+ * Only the top {@link #CAPACITY} entries are held. When a listed product drops
+ * to the bottom of a full ranking (or leaves it) the next best product is not
+ * known here, so the update methods return false and the caller reloads the
+ * ranking with a bounded query.
+ */
+@Component
+public class TopRatedProducts {
+
+    public static final int CAPACITY = 20;
+
+    // Best average first, more reviews break ties, then newest
+    private static final Comparator<ProductSummaryDTO> BEST_RATED = Comparator
+            .comparing(ProductSummaryDTO::getAverageRating, Comparator.nullsLast(Comparator.reverseOrder()))
+            .thenComparing(ProductSummaryDTO::getRatingCount, Comparator.nullsLast(Comparator.reverseOrder()))
+            .thenComparing(ProductSummaryDTO::getCreatedAt, Comparator.nullsLast(Comparator.reverseOrder()))
+            .thenComparing(ProductSummaryDTO::getId);
+
+    private final int capacity;
+
+    private volatile List<ProductSummaryDTO> ranking;
+
+    public TopRatedProducts() {
+        this(CAPACITY);
+    }
+
+    TopRatedProducts(int capacity) {
+        this.capacity = capacity;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public boolean isReady() {
+        return ranking != null;
+    }
+
+    public List<ProductSummaryDTO> get() {
+        List<ProductSummaryDTO> current = ranking;
+        return current == null ? Collections.emptyList() : current;
+    }
+
+    /**
+     * Replace the ranking, e.g. with the result of a bounded top-rated query
+     */
+    public synchronized void rebuild(List<ProductSummaryDTO> products) {
+        List<ProductSummaryDTO> sorted = new ArrayList<>(products);
+        sorted.sort(BEST_RATED);
+        ranking = publish(sorted);
+    }
+
+    /**
+     * Re-rank a product after its rating or details changed.
+     *
+     * @return false if the ranking can no longer be trusted and must be reloaded
+     */
+    public synchronized boolean update(ProductSummaryDTO product) {
+        if (ranking == null) {
+            return true; // the initial rebuild will pick it up
+        }
+        List<ProductSummaryDTO> updated = new ArrayList<>(ranking);
+        boolean wasFull = updated.size() >= capacity;
+        boolean wasListed = updated.removeIf(listed -> listed.getId().equals(product.getId()));
+
+        int position = Collections.binarySearch(updated, product, BEST_RATED);
+        int insertAt = position >= 0 ? position : -position - 1;
+        if (insertAt >= capacity) {
+            // Not good enough for the ranking; if it was listed, a slot is now empty
+            if (wasListed) {
+                ranking = publish(updated);
+                return false;
+            }
+            return true;
+        }
+        updated.add(insertAt, product);
+        ranking = publish(updated);
+
+        // A listed product that sank to the last slot may now rank below an unlisted one
+        return !(wasListed && wasFull && insertAt == updated.size() - 1);
+    }
+
+    /**
+     * Drop a product that was deleted or left the storefront.
+     *
+     * @return false if a full ranking lost an entry and must be reloaded
+     */
+    public synchronized boolean remove(UUID productId) {
+        if (ranking == null) {
+            return true;
+        }
+        List<ProductSummaryDTO> updated = new ArrayList<>(ranking);
+        boolean wasFull = updated.size() >= capacity;
+        if (!updated.removeIf(listed -> listed.getId().equals(productId))) {
+            return true;
+        }
+        ranking = publish(updated);
+        return !wasFull;
+    }
+
+    private List<ProductSummaryDTO> publish(List<ProductSummaryDTO> sorted) {
+        return Collections.unmodifiableList(new ArrayList<>(sorted.subList(0, Math.min(capacity, sorted.size()))));
+    }
+}
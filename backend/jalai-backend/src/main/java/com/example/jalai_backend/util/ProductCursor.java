@@ -0,0 +1,60 @@
+package com.example.jalai_backend.util;
+
+import com.example.jalai_backend.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Position in a product listing ordered by (createdAt DESC, id DESC).
+ * Clients only ever see the opaque encoded form.
+ */
+public final class ProductCursor {
+
+    private static final String SEPARATOR = "|";
+
+    private final LocalDateTime createdAt;
+    private final UUID id;
+
+    public ProductCursor(LocalDateTime createdAt, UUID id) {
+        // Both are needed to resume; products.created_at is NOT NULL since V13
+        if (createdAt == null || id == null) {
+            throw new IllegalArgumentException("A cursor needs both createdAt and id");
+        }
+        this.createdAt = createdAt;
+        this.id = id;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    /**
+     * Encode as an opaque, URL-safe token
+     */
+    public String encode() {
+        String raw = createdAt + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a token produced by {@link #encode()}
+     */
+    public static ProductCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            return new ProductCursor(
+                    LocalDateTime.parse(raw.substring(0, separator)),
+                    UUID.fromString(raw.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new BadRequestException("Invalid page cursor");
+        }
+    }
+}
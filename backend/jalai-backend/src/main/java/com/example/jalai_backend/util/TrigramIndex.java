@@ -0,0 +1,236 @@
+package com.example.jalai_backend.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * Typo-tolerant name lookup. Each name is split into lowercase words, each word
+ * padded with two leading spaces and one trailing space and cut into trigrams
+ * ("chair" gives "  c", " ch", "cha", "hai", "air", "ir "), as PostgreSQL's
+ * pg_trgm does. Similarity is the Jaccard index of two trigram sets, so
+ * "chiar" still scores well against "chair".
+ *
+ * A name scores the best of its similarity as a whole and of each of its words,
+ * so a one-word query finds multi-word names; a name containing the query
+ * scores 1. Only names sharing enough of the query's trigrams to reach the
+ * threshold are scored: sharing a word start such as "  c" with the query does
+ * not make every name starting with a "c" a candidate.
+ *
+ * A query whose words are all shorter than three characters is too short to
+ * compare by trigrams and would be contained in most names, so it matches by
+ * word prefix instead: "jo h" finds "Joy Home" but not "Bojo". Its candidates
+ * come from the word-start trigrams ("  j", " jo"), never from a full scan.
+ *
+ * Not thread-safe: owners guard it with their own lock.
+ */
+public final class TrigramIndex {
+
+    private static final Pattern WORD_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final Map<String, Set<UUID>> postings = new HashMap<>();
+    private final Map<UUID, Entry> entries = new HashMap<>();
+
+    public record Match(UUID id, double score) {
+    }
+
+    /**
+     * Add or replace the name of an id
+     */
+    public void put(UUID id, String name) {
+        remove(id);
+        Entry entry = new Entry(name);
+        for (String trigram : entry.trigrams) {
+            postings.computeIfAbsent(trigram, t -> new HashSet<>()).add(id);
+        }
+        entries.put(id, entry);
+    }
+
+    public void remove(UUID id) {
+        Entry entry = entries.remove(id);
+        if (entry == null) {
+            return;
+        }
+        for (String trigram : entry.trigrams) {
+            Set<UUID> ids = postings.get(trigram);
+            if (ids != null) {
+                ids.remove(id);
+                if (ids.isEmpty()) {
+                    postings.remove(trigram);
+                }
+            }
+        }
+    }
+
+    public void clear() {
+        postings.clear();
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Ids whose name scores at least the threshold, best first
+     */
+    public List<Match> search(String query, double threshold) {
+        String normalized = normalize(query);
+        if (normalized.isEmpty()) {
+            return List.of();
+        }
+        String[] queryWords = normalized.split(" ");
+        if (Arrays.stream(queryWords).allMatch(word -> word.length() < 3)) {
+            return prefixMatches(queryWords);
+        }
+        Set<String> queryTrigrams = trigrams(normalized);
+        // Per name: query trigrams it has, and how many of them lie inside a word
+        Map<UUID, int[]> shared = new HashMap<>();
+        int innerTrigrams = 0;
+        for (String trigram : queryTrigrams) {
+            boolean inner = trigram.indexOf(' ') < 0;
+            if (inner) {
+                innerTrigrams++;
+            }
+            for (UUID id : postings.getOrDefault(trigram, Set.of())) {
+                int[] counts = shared.computeIfAbsent(id, key -> new int[2]);
+                counts[0]++;
+                if (inner) {
+                    counts[1]++;
+                }
+            }
+        }
+
+        List<Match> matches = new ArrayList<>();
+        for (Map.Entry<UUID, int[]> candidate : shared.entrySet()) {
+            // A similarity of at least the threshold needs that share of the query's
+            // trigrams; containing the query needs all of its inner trigrams
+            int[] counts = candidate.getValue();
+            if (counts[1] < innerTrigrams && (double) counts[0] / queryTrigrams.size() < threshold) {
+                continue;
+            }
+            UUID id = candidate.getKey();
+            double score = entries.get(id).score(normalized, queryTrigrams);
+            if (score >= threshold) {
+                matches.add(new Match(id, score));
+            }
+        }
+        matches.sort(Comparator.comparingDouble(Match::score).reversed()
+                .thenComparing(match -> entries.get(match.id()).normalized));
+        return matches;
+    }
+
+    // Names with a word starting with each query word, alphabetically
+    private List<Match> prefixMatches(String[] queryWords) {
+        Set<UUID> candidates = null;
+        for (String word : queryWords) {
+            String wordStart = word.length() == 1 ? "  " + word : " " + word;
+            Set<UUID> ids = postings.getOrDefault(wordStart, Set.of());
+            if (candidates == null) {
+                candidates = new HashSet<>(ids);
+            } else {
+                candidates.retainAll(ids);
+            }
+        }
+
+        List<Match> matches = new ArrayList<>();
+        for (UUID id : candidates) {
+            if (entries.get(id).startsWords(queryWords)) {
+                matches.add(new Match(id, 1));
+            }
+        }
+        matches.sort(Comparator.comparing(match -> entries.get(match.id()).normalized));
+        return matches;
+    }
+
+    private static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        List<String> words = new ArrayList<>();
+        for (String word : WORD_SEPARATOR.split(text.toLowerCase(Locale.ROOT))) {
+            if (!word.isEmpty()) {
+                words.add(word);
+            }
+        }
+        return String.join(" ", words);
+    }
+
+    private static Set<String> trigrams(String normalized) {
+        Set<String> trigrams = new HashSet<>();
+        for (String word : normalized.split(" ")) {
+            if (word.isEmpty()) {
+                continue;
+            }
+            String padded = "  " + word + " ";
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                trigrams.add(padded.substring(i, i + 3));
+            }
+        }
+        return trigrams;
+    }
+
+    private static double jaccard(Set<String> a, Set<String> b) {
+        if (a.isEmpty() || b.isEmpty()) {
+            return 0;
+        }
+        int shared = 0;
+        for (String trigram : a) {
+            if (b.contains(trigram)) {
+                shared++;
+            }
+        }
+        return (double) shared / (a.size() + b.size() - shared);
+    }
+
+    private static final class Entry {
+        private final String normalized;
+        private final Set<String> trigrams;
+        private final List<Set<String>> wordTrigrams = new ArrayList<>();
+
+        private Entry(String name) {
+            this.normalized = normalize(name);
+            this.trigrams = trigrams(normalized);
+            for (String word : normalized.split(" ")) {
+                if (!word.isEmpty()) {
+                    wordTrigrams.add(trigrams(word));
+                }
+            }
+        }
+
+        // Every query word starts a different word of the name, in order
+        private boolean startsWords(String[] queryWords) {
+            String[] words = normalized.split(" ");
+            int next = 0;
+            for (String queryWord : queryWords) {
+                while (next < words.length && !words[next].startsWith(queryWord)) {
+                    next++;
+                }
+                if (next == words.length) {
+                    return false;
+                }
+                next++;
+            }
+            return true;
+        }
+
+        private double score(String query, Set<String> queryTrigrams) {
+            if (normalized.contains(query)) {
+                return 1;
+            }
+            double best = jaccard(queryTrigrams, trigrams);
+            for (Set<String> word : wordTrigrams) {
+                best = Math.max(best, jaccard(queryTrigrams, word));
+            }
+            return best;
+        }
+    }
+}
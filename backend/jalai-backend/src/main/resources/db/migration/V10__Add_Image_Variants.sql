@@ -0,0 +1,13 @@
+-- Migration to store smaller renditions of each image next to the full-size file
+-- thumbnail_hash / card_hash are blob store keys like content_hash; rows uploaded
+-- earlier leave them NULL and serve the full-size image for every size
+
+ALTER TABLE images ADD COLUMN IF NOT EXISTS thumbnail_hash VARCHAR(64);
+ALTER TABLE images ADD COLUMN IF NOT EXISTS card_hash VARCHAR(64);
+
+-- Reference lookups by blob key, as for content_hash
+CREATE INDEX IF NOT EXISTS idx_images_thumbnail_hash ON images(thumbnail_hash);
+CREATE INDEX IF NOT EXISTS idx_images_card_hash ON images(card_hash);
+
+COMMENT ON COLUMN images.thumbnail_hash IS 'Blob store key of the 160px thumbnail';
+COMMENT ON COLUMN images.card_hash IS 'Blob store key of the 400px card rendition';
@@ -0,0 +1,13 @@
+-- Migration for asynchronous image processing
+-- Uploads are stored as-is (original_hash) and resized by background workers; status
+-- moves from PROCESSING to READY or FAILED. Earlier rows leave both NULL and are ready.
+
+ALTER TABLE images ADD COLUMN IF NOT EXISTS original_hash VARCHAR(64);
+ALTER TABLE images ADD COLUMN IF NOT EXISTS status VARCHAR(20);
+
+-- Resuming PROCESSING uploads at startup, and reference lookups by blob key
+CREATE INDEX IF NOT EXISTS idx_images_status ON images(status);
+CREATE INDEX IF NOT EXISTS idx_images_original_hash ON images(original_hash);
+
+COMMENT ON COLUMN images.original_hash IS 'SHA-256 of the uploaded bytes, kept in the blob store until processed';
+COMMENT ON COLUMN images.status IS 'PROCESSING, READY or FAILED; NULL for images uploaded before processing was asynchronous';
@@ -0,0 +1,8 @@
+-- Migration for sharing one image row between identical uploads
+-- An upload whose bytes hash to the original_hash of an existing image reuses that row;
+-- reference_count counts the uploads sharing it, and a delete only removes the row (and
+-- its blobs) once the last of them is gone. Existing rows each have one upload.
+
+ALTER TABLE images ADD COLUMN IF NOT EXISTS reference_count INTEGER NOT NULL DEFAULT 1;
+
+COMMENT ON COLUMN images.reference_count IS 'Number of uploads sharing this image; deleted when it drops to zero';
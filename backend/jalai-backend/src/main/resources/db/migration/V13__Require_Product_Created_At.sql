@@ -0,0 +1,8 @@
+-- Migration to make created_at mandatory on products
+-- Listings page by (created_at DESC, id DESC) and cursors encode created_at, so a row
+-- without one can be neither compared nor resumed from. Old rows fall back to their
+-- last update (or the migration time).
+
+UPDATE products SET created_at = COALESCE(updated_at, CURRENT_TIMESTAMP) WHERE created_at IS NULL;
+
+ALTER TABLE products ALTER COLUMN created_at SET NOT NULL;
@@ -0,0 +1,15 @@
+-- Migration to record who holds the references of a shared image
+-- images.reference_count stays the total; image_uploads splits it per uploader, so a
+-- delete only gives up one of the caller's own uploads. Images stored before this migration
+-- have no rows here; a delete of one of them just gives up one reference, as before.
+
+CREATE TABLE IF NOT EXISTS image_uploads (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    image_id UUID NOT NULL REFERENCES images(id) ON DELETE CASCADE,
+    uploader_id VARCHAR(255) NOT NULL,
+    upload_count INTEGER NOT NULL DEFAULT 1,
+    CONSTRAINT uk_image_uploads_image_uploader UNIQUE (image_id, uploader_id)
+);
+
+COMMENT ON TABLE image_uploads IS 'Uploads of a shared image, per uploading user';
+COMMENT ON COLUMN image_uploads.upload_count IS 'References of the image held by this user; deleted when it drops to zero';
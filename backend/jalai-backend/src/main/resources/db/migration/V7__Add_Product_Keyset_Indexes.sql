@@ -0,0 +1,16 @@
+-- Migration to support keyset (cursor) pagination on product listings
+-- Listings are ordered by (created_at DESC, id DESC) so every page can seek
+-- straight to the cursor position instead of scanning past an OFFSET
+
+-- All products
+CREATE INDEX IF NOT EXISTS idx_products_created_id ON products(created_at DESC, id DESC);
+
+-- Storefront (approved and available) products
+CREATE INDEX IF NOT EXISTS idx_products_storefront_created_id
+    ON products(created_at DESC, id DESC)
+    WHERE is_approved = TRUE AND is_available = TRUE;
+
+-- Available products per category
+CREATE INDEX IF NOT EXISTS idx_products_category_created_id
+    ON products(category_id, created_at DESC, id DESC)
+    WHERE is_available = TRUE;
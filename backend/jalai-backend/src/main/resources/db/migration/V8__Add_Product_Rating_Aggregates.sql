@@ -0,0 +1,25 @@
+-- Migration to keep a per-product rating aggregate next to the product row
+-- Review writes adjust rating_sum / rating_count / average_rating in place, so the
+-- top-rated listing reads an indexed column instead of averaging every review
+
+ALTER TABLE products ADD COLUMN IF NOT EXISTS rating_sum BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE products ADD COLUMN IF NOT EXISTS rating_count INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE products ADD COLUMN IF NOT EXISTS average_rating DOUBLE PRECISION NOT NULL DEFAULT 0;
+
+-- Backfill from existing reviews (the table may not exist yet on a fresh schema)
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM information_schema.tables WHERE table_name = 'reviews') THEN
+        UPDATE products p
+        SET rating_sum = r.rating_sum,
+            rating_count = r.rating_count,
+            average_rating = r.rating_sum::DOUBLE PRECISION / r.rating_count
+        FROM (SELECT product_id, SUM(rating) AS rating_sum, COUNT(*) AS rating_count
+              FROM reviews GROUP BY product_id) r
+        WHERE p.id = r.product_id;
+    END IF;
+END $$;
+
+-- Top-rated listing: best average first, more reviews break ties, then newest
+CREATE INDEX IF NOT EXISTS idx_products_top_rated
+    ON products(average_rating DESC, rating_count DESC, created_at DESC);
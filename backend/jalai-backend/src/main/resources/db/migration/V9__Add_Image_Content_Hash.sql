@@ -0,0 +1,12 @@
+-- Migration to move image bytes out of the database into the content-addressed blob store
+-- New rows keep only metadata plus content_hash, the SHA-256 key of the file in the store.
+-- Existing rows keep their bytes in data until the application moves them out at startup
+-- (ImageService.migrateLegacyImages), which then clears data.
+
+ALTER TABLE images ADD COLUMN IF NOT EXISTS content_hash VARCHAR(64);
+
+-- Reference lookups by blob key
+CREATE INDEX IF NOT EXISTS idx_images_content_hash ON images(content_hash);
+
+COMMENT ON COLUMN images.content_hash IS 'SHA-256 key of the image file in the blob store';
+COMMENT ON COLUMN images.data IS 'Legacy image bytes, cleared once moved to the blob store';
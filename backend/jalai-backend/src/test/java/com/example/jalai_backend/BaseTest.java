@@ -2,13 +2,16 @@ package com.example.jalai_backend;
 
 import com.example.jalai_backend.model.*;
 import com.example.jalai_backend.repository.*;
+import com.example.jalai_backend.service.CacheInvalidationRouter;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureWebMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -17,9 +20,10 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 @SpringBootTest
-@AutoConfigureWebMvc
+@AutoConfigureMockMvc
 @ActiveProfiles("test")
 @Transactional
+@RecordApplicationEvents
 public abstract class BaseTest {
 
     @Autowired
@@ -61,6 +65,12 @@ public abstract class BaseTest {
     @Autowired
     protected DonationRepository donationRepository;
 
+    @Autowired
+    protected ApplicationEvents applicationEvents;
+
+    @Autowired
+    private CacheInvalidationRouter cacheInvalidationRouter;
+
     // Test data
     protected Admin testAdmin;
     protected Client testClient;
@@ -74,6 +84,13 @@ public abstract class BaseTest {
         createTestData();
     }
 
+    // Test transactions roll back instead of committing, so after-commit listeners never
+    // fire; replay the events published so far as if the transaction had committed
+    protected void simulateCommit() {
+        applicationEvents.stream(Object.class).forEach(cacheInvalidationRouter::route);
+        applicationEvents.clear();
+    }
+
     protected void createTestData() {
         // Create test admin
         testAdmin = new Admin();
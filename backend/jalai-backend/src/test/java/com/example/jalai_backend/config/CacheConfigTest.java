@@ -0,0 +1,67 @@
+package com.example.jalai_backend.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CacheConfigTest {
+
+    private CacheManager cacheManager;
+
+    @BeforeEach
+    void setUp() {
+        CacheSettings.Spec spec = new CacheSettings.Spec();
+        spec.setMaxWeight(10);
+        spec.setTtl(Duration.ofMinutes(1));
+        CacheSettings settings = new CacheSettings();
+        settings.getCaches().put("approvedProducts", spec);
+        cacheManager = new CacheConfig().cacheManager(settings);
+    }
+
+    @Test
+    void cacheManager_ShouldOnlyServeConfiguredCaches() {
+        assertNotNull(cacheManager.getCache("approvedProducts"));
+        assertNull(cacheManager.getCache("unconfigured"));
+    }
+
+    @Test
+    void cache_ShouldBoundTotalWeightByListSizes() {
+        // Given
+        Cache<Object, Object> cache = nativeCache("approvedProducts");
+
+        // When: two lists of six elements exceed the weight limit of ten
+        cache.put("first", List.of(1, 2, 3, 4, 5, 6));
+        cache.put("second", List.of(1, 2, 3, 4, 5, 6));
+        cache.cleanUp();
+
+        // Then
+        assertEquals(1, cache.estimatedSize());
+        assertEquals(1, cache.stats().evictionCount());
+    }
+
+    @Test
+    void cache_ShouldRecordHitsAndMisses() {
+        // Given
+        org.springframework.cache.Cache cache = cacheManager.getCache("approvedProducts");
+        cache.put("key", List.of("value"));
+
+        // When
+        cache.get("key");
+        cache.get("missing");
+
+        // Then
+        assertEquals(1, nativeCache("approvedProducts").stats().hitCount());
+        assertEquals(1, nativeCache("approvedProducts").stats().missCount());
+    }
+
+    private Cache<Object, Object> nativeCache(String name) {
+        return ((CaffeineCache) cacheManager.getCache(name)).getNativeCache();
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.jalai_backend.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counts every SQL statement Hibernate prepares. Registered for the test profile
+ * through hibernate.session_factory.statement_inspector so tests can assert the
+ * number of queries an endpoint issues and catch N+1 regressions.
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final AtomicLong COUNT = new AtomicLong();
+
+    @Override
+    public String inspect(String sql) {
+        COUNT.incrementAndGet();
+        return sql;
+    }
+
+    public static void reset() {
+        COUNT.set(0);
+    }
+
+    public static long count() {
+        return COUNT.get();
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.jalai_backend.controller;
+
+import com.example.jalai_backend.BaseTest;
+import com.example.jalai_backend.config.SqlStatementCounter;
+import com.example.jalai_backend.model.Product;
+import com.example.jalai_backend.service.ProductService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.test.context.support.WithMockUser;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Repeat reads that send back the ETag they were given get 304 with an empty body
+class ConditionalGetTest extends BaseTest {
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private ProductService productService;
+
+    @BeforeEach
+    void clearPersistenceContext() {
+        entityManager.flush();
+        entityManager.clear();
+        productService.buildStorefrontCatalog();
+    }
+
+    @Test
+    @WithMockUser
+    void getProductById_WithCurrentEtag_ShouldAnswer304AfterSingleSelect() throws Exception {
+        // Given
+        String etag = etagOf("/api/products/" + testProduct.getId());
+
+        // When & Then
+        SqlStatementCounter.reset();
+        mockMvc.perform(get("/api/products/" + testProduct.getId()).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+        assertEquals(1, SqlStatementCounter.count(), "Unexpected number of SQL statements");
+    }
+
+    @Test
+    @WithMockUser
+    void getProductById_AfterUpdate_ShouldAnswer200WithNewEtag() throws Exception {
+        // Given
+        String etag = etagOf("/api/products/" + testProduct.getId());
+        productService.updateProduct(testProduct.getId(), productWithName("Renamed Product"));
+        entityManager.flush();
+        entityManager.clear();
+
+        // When & Then
+        String newEtag = mockMvc.perform(get("/api/products/" + testProduct.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotEquals(etag, newEtag);
+    }
+
+    @Test
+    void getApprovedProducts_WithCurrentEtag_ShouldAnswer304WithoutQuery() throws Exception {
+        // Given
+        String etag = etagOf("/api/products/approved?page=0&size=10");
+
+        // When & Then
+        SqlStatementCounter.reset();
+        mockMvc.perform(get("/api/products/approved?page=0&size=10").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+        assertEquals(0, SqlStatementCounter.count(), "Unexpected number of SQL statements");
+
+        // When the catalog changes, the old ETag no longer matches
+        createTestProduct("Fresh Product", new BigDecimal("12.00"), testSeller, testCategory);
+        productService.buildStorefrontCatalog();
+        mockMvc.perform(get("/api/products/approved?page=0&size=10").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void getAllCategoriesPublic_WithCurrentEtag_ShouldAnswer304AfterVersionQuery() throws Exception {
+        // Given
+        String etag = etagOf("/api/categories/public");
+
+        // When & Then
+        SqlStatementCounter.reset();
+        mockMvc.perform(get("/api/categories/public").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+        assertEquals(1, SqlStatementCounter.count(), "Unexpected number of SQL statements");
+    }
+
+    private String etagOf(String url) throws Exception {
+        String etag = mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(etag);
+        return etag;
+    }
+
+    private Product productWithName(String name) {
+        Product details = new Product();
+        details.setName(name);
+        details.setDescription(testProduct.getDescription());
+        details.setPrice(testProduct.getPrice());
+        return details;
+    }
+}
@@ -0,0 +1,228 @@
+package com.example.jalai_backend.controller;
+
+import com.example.jalai_backend.model.*;
+import com.example.jalai_backend.repository.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Serializes entity responses with no transaction around the test: the session closes with
+// the service transaction (no open session in view), so an association missing from the
+// fetch plan throws LazyInitializationException while writing the response. The data is
+// committed, so it uses its own names and is deleted after each test.
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class FetchPlanSerializationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private AdminRepository adminRepository;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CartRepository cartRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderItemRepository orderItemRepository;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    private Admin admin;
+    private Client client;
+    private Client seller;
+    private Category category;
+    private Product product;
+    private Cart cartItem;
+    private Order order;
+    private Payment payment;
+    private Notification notification;
+
+    @BeforeEach
+    void seedCommittedData() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+
+        admin = new Admin();
+        admin.setName("Fetch Plan Admin");
+        admin.setEmail("fetchplan-admin-" + suffix + "@test.com");
+        admin.setPassword(passwordEncoder.encode("TestPass123!"));
+        admin.setIsActive(true);
+        admin = adminRepository.save(admin);
+
+        client = createClient("Fetch Plan Client", "fetchplan-client-" + suffix + "@test.com");
+        seller = createClient("Fetch Plan Seller", "fetchplan-seller-" + suffix + "@test.com");
+
+        category = new Category();
+        category.setName("Fetch Plan " + suffix);
+        category.setIsActive(true);
+        category.setManagedBy(admin);
+        category = categoryRepository.save(category);
+
+        product = new Product();
+        product.setName("Fetch Plan Product");
+        product.setPrice(new BigDecimal("12.00"));
+        product.setSeller(seller);
+        product.setCategory(category);
+        product.setApprovedBy(admin);
+        product.setIsApproved(true);
+        product.setIsAvailable(true);
+        product.setIsDonated(false);
+        product = productRepository.save(product);
+
+        cartItem = new Cart();
+        cartItem.setClient(client);
+        cartItem.setProduct(product);
+        cartItem.setQuantity(2);
+        cartItem.setProductPrice(product.getPrice());
+        cartItem = cartRepository.save(cartItem);
+
+        order = new Order();
+        order.setClient(client);
+        order.setSeller(seller);
+        order.setStatus(Order.OrderStatus.PENDING);
+        order.setDeliveryDate(LocalDateTime.now().plusDays(7));
+        order.setTotalAmount(new BigDecimal("24.00"));
+        order = orderRepository.save(order);
+
+        OrderItem item = new OrderItem();
+        item.setOrder(order);
+        item.setProduct(product);
+        item.setQuantity(2);
+        item.setPrice(product.getPrice());
+        item.setTotal(new BigDecimal("24.00"));
+        orderItemRepository.save(item);
+
+        payment = new Payment();
+        payment.setCustomerId(client.getId());
+        payment.setClient(client);
+        payment.setOrder(order);
+        payment.setAmount(new BigDecimal("24.00"));
+        payment.setPaymentMethod(Payment.PaymentMethod.MOBILE_PAYMENT);
+        payment.setPaymentDate(LocalDateTime.now());
+        payment = paymentRepository.save(payment);
+
+        notification = new Notification();
+        notification.setTitle("Fetch Plan");
+        notification.setMessage("Fetch plan notification");
+        notification.setType(Notification.NotificationType.PAYMENT_INITIATED);
+        notification.setRecipientClient(client);
+        notification = notificationRepository.save(notification);
+    }
+
+    @AfterEach
+    void deleteCommittedData() {
+        notificationRepository.deleteById(notification.getId());
+        orderRepository.deleteById(order.getOrderId());
+        cartRepository.deleteById(cartItem.getId());
+        productRepository.deleteById(product.getId());
+        categoryRepository.deleteById(category.getId());
+        clientRepository.deleteAllById(List.of(client.getId(), seller.getId()));
+        adminRepository.deleteById(admin.getId());
+    }
+
+    @Test
+    @WithMockUser
+    void getPublicCategories_ShouldSerializeManagingAdmin() throws Exception {
+        mockMvc.perform(get("/api/categories/public"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/categories/" + category.getId() + "/public"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.managedBy.id").value(admin.getId().toString()));
+    }
+
+    @Test
+    @WithMockUser(roles = "CLIENT")
+    void getClientProfile_ShouldSerializeOutsideTheSession() throws Exception {
+        mockMvc.perform(get("/api/client/profile/" + client.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.email").value(client.getEmail()));
+        mockMvc.perform(get("/api/client/orders/" + client.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1));
+    }
+
+    @Test
+    @WithMockUser(roles = "CLIENT")
+    void getCart_ShouldSerializeClientAndProduct() throws Exception {
+        mockMvc.perform(get("/api/cart/" + client.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].product.seller.id").value(seller.getId().toString()))
+                .andExpect(jsonPath("$[0].product.category.managedBy.id").value(admin.getId().toString()));
+    }
+
+    @Test
+    @WithMockUser(roles = "CLIENT")
+    void getOrder_ShouldSerializePartiesItemsAndPayment() throws Exception {
+        mockMvc.perform(get("/api/orders/" + order.getOrderId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.seller.id").value(seller.getId().toString()))
+                .andExpect(jsonPath("$.orderItems[0].product.id").value(product.getId().toString()))
+                .andExpect(jsonPath("$.payment.paymentId").value(payment.getPaymentId().toString()));
+        mockMvc.perform(get("/api/orders/client/" + client.getId() + "?page=0&size=5"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void getPayment_ShouldSerializeClientAndOrder() throws Exception {
+        mockMvc.perform(get("/api/payments/" + payment.getPaymentId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.order.client.id").value(client.getId().toString()));
+        mockMvc.perform(get("/api/payments?page=0&size=5"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @WithMockUser(roles = "CLIENT")
+    void getUnreadNotifications_ShouldAnswerWithDtos() throws Exception {
+        mockMvc.perform(get("/api/notifications/client/" + client.getId() + "/unread"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].recipientClientId").value(client.getId().toString()));
+    }
+
+    private Client createClient(String name, String email) {
+        Client newClient = new Client();
+        newClient.setName(name);
+        newClient.setEmail(email);
+        newClient.setPassword(passwordEncoder.encode("TestPass123!"));
+        newClient.setIsActive(true);
+        newClient.setManagedBy(admin);
+        return clientRepository.save(newClient);
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.jalai_backend.controller;
+
+import com.example.jalai_backend.BaseTest;
+import com.example.jalai_backend.repository.ImageRepository;
+import com.example.jalai_backend.service.ImageService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MvcResult;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Image downloads: validators, conditional requests and byte ranges
+@WithMockUser
+class ImageControllerTest extends BaseTest {
+
+    @Autowired
+    private ImageService imageService;
+
+    @Autowired
+    private ImageRepository imageRepository;
+
+    private UUID imageId;
+    private String url;
+    private byte[] file;
+    private String etag;
+
+    @BeforeEach
+    void uploadImage() throws Exception {
+        imageId = imageService.saveOriginal(png(640, 480).getBytes(), "photo.png", "image/png", "seller-1");
+        imageService.processImage(imageId);
+        // Flush so the id reaches the known-id filter, as it would on commit
+        imageRepository.flush();
+        url = "/api/images/" + imageId;
+        MvcResult result = mockMvc.perform(get(url)).andReturn();
+        file = result.getResponse().getContentAsByteArray();
+        etag = result.getResponse().getHeader(HttpHeaders.ETAG);
+    }
+
+    @Test
+    void getImage_ShouldSendContentHashEtagAndAcceptRanges() throws Exception {
+        String contentHash = imageService.getImage(imageId).getContentHash();
+
+        mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + contentHash + "\""))
+                .andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"))
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, file.length))
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED));
+    }
+
+    @Test
+    void getImage_WithCurrentEtag_ShouldAnswer304() throws Exception {
+        mockMvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void getImage_WithIfModifiedSinceAfterUpload_ShouldAnswer304() throws Exception {
+        mockMvc.perform(get(url).header(HttpHeaders.IF_MODIFIED_SINCE, "Fri, 01 Jan 2100 00:00:00 GMT"))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void getImage_WithRange_ShouldAnswer206WithOnlyThoseBytes() throws Exception {
+        byte[] part = mockMvc.perform(get(url).header(HttpHeaders.RANGE, "bytes=10-19"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 10-19/" + file.length))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        assertArrayEquals(Arrays.copyOfRange(file, 10, 20), part);
+    }
+
+    @Test
+    void getImage_WithOpenEndedRangeAndMatchingIfRange_ShouldResumeTheDownload() throws Exception {
+        byte[] rest = mockMvc.perform(get(url).header(HttpHeaders.RANGE, "bytes=100-")
+                        .header(HttpHeaders.IF_RANGE, etag))
+                .andExpect(status().isPartialContent())
+                .andReturn().getResponse().getContentAsByteArray();
+
+        assertArrayEquals(Arrays.copyOfRange(file, 100, file.length), rest);
+    }
+
+    @Test
+    void getImage_WithStaleIfRange_ShouldSendTheWholeImage() throws Exception {
+        byte[] body = mockMvc.perform(get(url).header(HttpHeaders.RANGE, "bytes=0-9")
+                        .header(HttpHeaders.IF_RANGE, "\"0000\""))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+
+        assertEquals(file.length, body.length);
+    }
+
+    @Test
+    void getImage_WithRangePastTheEnd_ShouldAnswer416() throws Exception {
+        mockMvc.perform(get(url).header(HttpHeaders.RANGE, "bytes=" + file.length + "-"))
+                .andExpect(status().isRequestedRangeNotSatisfiable())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes */" + file.length));
+    }
+
+    @Test
+    void getImage_WhileProcessing_ShouldAskTheClientToRetry() throws Exception {
+        UUID queuedId = imageService.saveOriginal(png(200, 100).getBytes(), "queued.png", "image/png", "seller-1");
+        imageRepository.flush();
+
+        mockMvc.perform(get("/api/images/" + queuedId))
+                .andExpect(status().isAccepted())
+                .andExpect(header().exists(HttpHeaders.RETRY_AFTER));
+        mockMvc.perform(get("/api/images/" + queuedId + "/status"))
+                .andExpect(status().isOk())
+                .andExpect(content().json("{\"status\":\"PROCESSING\"}"));
+    }
+
+    private static MockMultipartFile png(int width, int height) throws Exception {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        for (int x = 0; x < width; x++) {
+            image.setRGB(x, x * height / width, 0x3366FF);
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return new MockMultipartFile("file", "photo.png", "image/png", out.toByteArray());
+    }
+}
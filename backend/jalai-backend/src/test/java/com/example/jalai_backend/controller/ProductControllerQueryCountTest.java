@@ -0,0 +1,190 @@
+package com.example.jalai_backend.controller;
+
+import com.example.jalai_backend.BaseTest;
+import com.example.jalai_backend.config.SqlStatementCounter;
+import com.example.jalai_backend.model.Category;
+import com.example.jalai_backend.model.Client;
+import com.example.jalai_backend.model.Product;
+import com.example.jalai_backend.service.ProductService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Asserts the number of SQL statements each product endpoint issues. The test
+// transaction keeps the session open, so a missing fetch plan does not throw; the
+// statement count (one lazy SELECT per row on a cleared persistence context) is what
+// fails. Paged requests use a small page size so Spring Data has to run the count query.
+class ProductControllerQueryCountTest extends BaseTest {
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private ProductService productService;
+
+    @BeforeEach
+    void seedCatalogAndClearPersistenceContext() {
+        Category secondCategory = new Category();
+        secondCategory.setName("Second Category");
+        secondCategory.setIsActive(true);
+        secondCategory.setManagedBy(testAdmin);
+        secondCategory = categoryRepository.save(secondCategory);
+
+        for (int i = 0; i < 4; i++) {
+            Client seller = createTestClient("Seller " + i, "seller" + i + "@test.com");
+            Product product = createTestProduct("Product " + i, new BigDecimal("10.00"), seller,
+                    i % 2 == 0 ? testCategory : secondCategory);
+            product.setApprovedBy(testAdmin);
+            productRepository.save(product);
+        }
+
+        // Start every request from an empty persistence context so lazy loads hit the database
+        entityManager.flush();
+        entityManager.clear();
+        productService.buildStorefrontCatalog();
+    }
+
+    @Test
+    void getApprovedProducts_ShouldBeServedFromStorefrontCatalog() throws Exception {
+        assertStatements(0, () -> mockMvc.perform(get("/api/products/approved?page=0&size=2")));
+    }
+
+    @Test
+    void getApprovedProductsInCursorMode_ShouldIssueSingleSelect() throws Exception {
+        assertStatements(1, () -> mockMvc.perform(get("/api/products/approved?mode=cursor&size=10")));
+    }
+
+    @Test
+    @WithMockUser
+    void getApprovedProductsByCategory_ShouldBeServedFromStorefrontCatalog() throws Exception {
+        assertStatements(0, () -> mockMvc.perform(
+                get("/api/products/approved/category/" + testCategory.getName() + "?page=0&size=2")));
+    }
+
+    @Test
+    void getProductsByCategory_ShouldIssueSelectAndCountOnly() throws Exception {
+        assertStatements(2, () -> mockMvc.perform(
+                get("/api/products/category/" + testCategory.getId() + "?page=0&size=2")));
+    }
+
+    @Test
+    void getProductsByCategoryInSliceMode_ShouldSkipTheCount() throws Exception {
+        assertStatements(1, () -> mockMvc.perform(
+                get("/api/products/category/" + testCategory.getId() + "?mode=slice&page=0&size=2")));
+    }
+
+    @Test
+    @WithMockUser
+    void getProductsInSliceMode_ShouldSkipTheCount() throws Exception {
+        assertStatements(1, () -> mockMvc.perform(get("/api/products?mode=slice&page=0&size=2"))
+                .andExpect(jsonPath("$.content.length()").value(2))
+                .andExpect(jsonPath("$.last").value(false))
+                .andExpect(jsonPath("$.totalElements").doesNotExist()));
+    }
+
+    @Test
+    void getApprovedProductsInSliceMode_ShouldBeServedFromStorefrontCatalog() throws Exception {
+        assertStatements(0, () -> mockMvc.perform(get("/api/products/approved?mode=slice&page=2&size=2"))
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.last").value(true)));
+    }
+
+    @Test
+    @WithMockUser
+    void getProductById_ShouldIssueSingleSelect() throws Exception {
+        assertStatements(1, () -> mockMvc.perform(get("/api/products/" + testProduct.getId())));
+    }
+
+    @Test
+    @WithMockUser
+    void getProductById_WithUnknownId_ShouldAnswer404WithoutQuery() throws Exception {
+        // An id the known-id filter rules out (retry past the rare false positive)
+        UUID unknownId = UUID.randomUUID();
+        while (productService.productMightExist(unknownId)) {
+            unknownId = UUID.randomUUID();
+        }
+
+        SqlStatementCounter.reset();
+        mockMvc.perform(get("/api/products/" + unknownId)).andExpect(status().isNotFound());
+        assertEquals(0, SqlStatementCounter.count(), "Unexpected number of SQL statements");
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void getProductsBySeller_ShouldIssueSingleSelect() throws Exception {
+        assertStatements(1, () -> mockMvc.perform(get("/api/products/seller/" + testSeller.getId())));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void getPendingApprovalProducts_ShouldIssueSingleSelect() throws Exception {
+        assertStatements(1, () -> mockMvc.perform(get("/api/products/pending-approval")));
+    }
+
+    @Test
+    @WithMockUser
+    void getTopRatedProducts_ShouldBeServedFromRanking() throws Exception {
+        assertStatements(0, () -> mockMvc.perform(get("/api/products/top-rated")));
+    }
+
+    @Test
+    @WithMockUser
+    void getRecentProducts_ShouldBeServedFromFeed() throws Exception {
+        assertStatements(0, () -> mockMvc.perform(get("/api/products/recent")));
+    }
+
+    @Test
+    @WithMockUser(roles = "CLIENT")
+    void getProductsByClient_ShouldIssueSingleSelect() throws Exception {
+        assertStatements(1, () -> mockMvc.perform(get("/api/products/client/" + testSeller.getId())));
+    }
+
+    @Test
+    @WithMockUser
+    void getProductsByPriceRange_ShouldBeServedFromPriceIndex() throws Exception {
+        assertStatements(0, () -> mockMvc.perform(get("/api/products/price-range?minPrice=5&maxPrice=50")));
+    }
+
+    @Test
+    void getProductFacets_ShouldBeServedFromFacetIndex() throws Exception {
+        assertStatements(0, () -> mockMvc.perform(get("/api/products/facets?donated=false")));
+    }
+
+    @Test
+    void searchProducts_ShouldNotTouchTheDatabase() throws Exception {
+        assertStatements(0, () -> mockMvc.perform(get("/api/products/search?keyword=product")));
+    }
+
+    @Test
+    @WithMockUser
+    void getRelatedProducts_ShouldBeServedFromMemory() throws Exception {
+        assertStatements(0, () -> mockMvc.perform(get("/api/products/" + testProduct.getId() + "/related")));
+    }
+
+    @Test
+    void suggestProducts_ShouldNotTouchTheDatabase() throws Exception {
+        assertStatements(0, () -> mockMvc.perform(get("/api/products/suggest?q=prod")));
+    }
+
+    private void assertStatements(long expected, RequestCall call) throws Exception {
+        SqlStatementCounter.reset();
+        call.perform().andExpect(status().isOk());
+        assertEquals(expected, SqlStatementCounter.count(), "Unexpected number of SQL statements");
+    }
+
+    @FunctionalInterface
+    private interface RequestCall {
+        ResultActions perform() throws Exception;
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.jalai_backend.controller;
+
+import com.example.jalai_backend.BaseTest;
+import com.example.jalai_backend.model.Client;
+import com.example.jalai_backend.model.Review;
+import com.example.jalai_backend.security.CustomUserDetailsService;
+import com.example.jalai_backend.service.ReviewService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class ReviewControllerTest extends BaseTest {
+
+    @Autowired
+    private ReviewService reviewService;
+
+    @Test
+    void createReview_ShouldBeWrittenAsTheSignedInClient() throws Exception {
+        // Given: a request body naming another client
+        Map<String, Object> request = Map.of(
+                "clientId", testSeller.getId(),
+                "productId", testProduct.getId(),
+                "rating", 4,
+                "comment", "Nice");
+
+        // When & Then
+        mockMvc.perform(post("/api/reviews")
+                .with(signedIn(testClient))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(asJsonString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.clientId").value(testClient.getId().toString()));
+    }
+
+    @Test
+    void updateReview_ByAnotherClient_ShouldBeForbidden() throws Exception {
+        // Given
+        Review review = reviewService.createReview(testClient.getId(), testProduct.getId(), 5, "Love it");
+
+        // When: another client edits it, naming the author in the body
+        Map<String, Object> request = Map.of("clientId", testClient.getId(), "rating", 1, "comment", "Not mine");
+        mockMvc.perform(put("/api/reviews/" + review.getReviewId())
+                .with(signedIn(testSeller))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(asJsonString(request)))
+                .andExpect(status().isForbidden());
+
+        // Then
+        Review stored = reviewRepository.findById(review.getReviewId()).orElseThrow();
+        assertEquals(5, stored.getRating());
+        assertEquals("Love it", stored.getComment());
+    }
+
+    @Test
+    void deleteReview_ByAnotherClient_ShouldBeForbidden() throws Exception {
+        // Given
+        Review review = reviewService.createReview(testClient.getId(), testProduct.getId(), 5, "Love it");
+
+        // When & Then
+        mockMvc.perform(delete("/api/reviews/" + review.getReviewId() + "?clientId=" + testClient.getId())
+                .with(signedIn(testSeller)))
+                .andExpect(status().isForbidden());
+        assertTrue(reviewRepository.existsById(review.getReviewId()));
+
+        mockMvc.perform(delete("/api/reviews/" + review.getReviewId())
+                .with(signedIn(testClient)))
+                .andExpect(status().isOk());
+        assertFalse(reviewRepository.existsById(review.getReviewId()));
+    }
+
+    // The principal the JWT filter puts in the security context
+    private static RequestPostProcessor signedIn(Client client) {
+        return user(new CustomUserDetailsService.CustomUserPrincipal(
+                client.getId().toString(), client.getEmail(), client.getPassword(),
+                true, true, true, true, List.of(new SimpleGrantedAuthority("ROLE_CLIENT")), "CLIENT"));
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.jalai_backend.service;
+
+import com.example.jalai_backend.BaseTest;
+import com.example.jalai_backend.dto.ProductSummaryDTO;
+import com.example.jalai_backend.model.Client;
+import com.example.jalai_backend.model.Product;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.PageRequest;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CacheInvalidationRouterTest extends BaseTest {
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ClientService clientService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private OrphanageService orphanageService;
+
+    @Test
+    void productUpdate_ShouldEvictSellerEntryOnlyOnceCommitted() {
+        // Given
+        productService.getProductsByClient(testSeller.getId());
+        Cache clientProducts = cacheManager.getCache("clientProducts");
+        assertNotNull(clientProducts.get(testSeller.getId()));
+        Product changes = new Product();
+        changes.setName("Renamed Product");
+        changes.setDescription(testProduct.getDescription());
+        changes.setPrice(new BigDecimal("42.00"));
+
+        // When
+        productService.updateProduct(testProduct.getId(), changes);
+
+        // Then: nothing is evicted before commit
+        assertNotNull(clientProducts.get(testSeller.getId()));
+
+        // When
+        simulateCommit();
+
+        // Then
+        assertNull(clientProducts.get(testSeller.getId()));
+    }
+
+    @Test
+    void sellerUpdate_ShouldRefreshSellerNameInReadModels() {
+        // Given
+        productService.buildStorefrontCatalog();
+        Client details = new Client();
+        details.setName("Renamed Seller");
+        details.setEmail(testSeller.getEmail());
+        details.setPhone(testSeller.getPhone());
+        details.setLocation(testSeller.getLocation());
+
+        // When
+        clientService.updateClient(testSeller.getId(), details);
+        simulateCommit();
+
+        // Then
+        ProductSummaryDTO listed = productService.getApprovedProductSummariesWithPagination(PageRequest.of(0, 100))
+                .getContent().stream()
+                .filter(p -> p.getId().equals(testProduct.getId()))
+                .findFirst().orElseThrow();
+        assertEquals("Renamed Seller", listed.getSellerName());
+    }
+
+    @Test
+    void productDelete_ShouldDropProductFromReadModels() {
+        // Given
+        productService.buildSearchIndex();
+        productService.buildStorefrontCatalog();
+
+        // When
+        productService.deleteProduct(testProduct.getId());
+        simulateCommit();
+
+        // Then
+        assertTrue(productService.getApprovedProductSummariesWithPagination(PageRequest.of(0, 100))
+                .getContent().stream().noneMatch(p -> p.getId().equals(testProduct.getId())));
+    }
+
+    @Test
+    void orphanageWrite_ShouldReachNameIndexOnceCommitted() {
+        // Given: testOrphanage was saved in setup; a rename follows
+        testOrphanage.setName("Bright Futures Home");
+        orphanageRepository.saveAndFlush(testOrphanage);
+
+        // When
+        simulateCommit();
+
+        // Then
+        assertEquals(testOrphanage.getId(),
+                orphanageService.searchOrphanagesByName("brite futures", true).get(0).getId());
+        assertTrue(orphanageService.searchOrphanagesByName("test orphanage", true).stream()
+                .noneMatch(o -> o.getId().equals(testOrphanage.getId())));
+    }
+}
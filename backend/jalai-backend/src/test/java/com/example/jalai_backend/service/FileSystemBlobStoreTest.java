@@ -0,0 +1,98 @@
+package com.example.jalai_backend.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.Resource;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FileSystemBlobStoreTest {
+
+    @TempDir
+    Path root;
+
+    private FileSystemBlobStore blobStore;
+
+    @BeforeEach
+    void setUp() {
+        blobStore = new FileSystemBlobStore(root.toString());
+    }
+
+    @Test
+    void put_ShouldStoreBytesUnderTheirSha256() throws Exception {
+        // Given
+        byte[] data = "hello".getBytes(StandardCharsets.UTF_8);
+
+        // When
+        String key = blobStore.put(data);
+
+        // Then
+        assertEquals("2cf24dba5fb0a30e26e83b2ac5b9e29e1b161e5c1fa7425e73043362938b9824", key);
+        assertTrue(Files.isRegularFile(root.resolve("2c").resolve("f2").resolve(key)));
+        Resource resource = blobStore.get(key);
+        assertNotNull(resource);
+        assertEquals(data.length, resource.contentLength());
+        assertArrayEquals(data, resource.getInputStream().readAllBytes());
+    }
+
+    @Test
+    void put_WithSameBytesTwice_ShouldKeepOneCopy() throws Exception {
+        byte[] data = "same photo".getBytes(StandardCharsets.UTF_8);
+
+        String first = blobStore.put(data);
+        String second = blobStore.put(data.clone());
+
+        assertEquals(first, second);
+        try (var files = Files.walk(root)) {
+            assertEquals(1, files.filter(Files::isRegularFile).count());
+        }
+    }
+
+    @Test
+    void deleteIfUnusedSince_ShouldRemoveOnlyBlobsWrittenBeforeTheCutoff() throws Exception {
+        String key = blobStore.put("gone".getBytes(StandardCharsets.UTF_8));
+
+        assertFalse(blobStore.deleteIfUnusedSince(key, Instant.now().minus(Duration.ofMinutes(1))));
+        assertTrue(blobStore.exists(key));
+
+        assertTrue(blobStore.deleteIfUnusedSince(key, Instant.now().plusSeconds(1)));
+        assertFalse(blobStore.exists(key));
+        assertNull(blobStore.get(key));
+        assertFalse(blobStore.deleteIfUnusedSince(key, Instant.now().plusSeconds(1)));
+    }
+
+    @Test
+    void put_OfStoredBytes_ShouldProtectThemFromCollection() throws Exception {
+        // Given: a blob last written a day ago
+        byte[] data = "reuploaded".getBytes(StandardCharsets.UTF_8);
+        String key = blobStore.put(data);
+        Path file = root.resolve(key.substring(0, 2)).resolve(key.substring(2, 4)).resolve(key);
+        Files.setLastModifiedTime(file, FileTime.from(Instant.now().minus(Duration.ofDays(1))));
+        Instant cutoff = Instant.now().minus(Duration.ofHours(1));
+        assertEquals(List.of(key), blobStore.keysWrittenBefore(cutoff));
+
+        // When: the same bytes are uploaded again
+        blobStore.put(data);
+
+        // Then
+        assertTrue(blobStore.keysWrittenBefore(cutoff).isEmpty());
+        assertFalse(blobStore.deleteIfUnusedSince(key, cutoff));
+        assertTrue(blobStore.exists(key));
+    }
+
+    @Test
+    void get_WithMalformedKey_ShouldNotResolveOutsideTheStore() {
+        assertNull(blobStore.get("../../etc/passwd"));
+        assertNull(blobStore.get(null));
+        assertFalse(blobStore.exists("ABC"));
+    }
+}
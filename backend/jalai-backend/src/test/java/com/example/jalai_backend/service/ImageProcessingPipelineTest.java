@@ -0,0 +1,163 @@
+package com.example.jalai_backend.service;
+
+import com.example.jalai_backend.exception.ImageQueueFullException;
+import com.example.jalai_backend.model.Image;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ImageProcessingPipelineTest {
+
+    private static final String SELLER = "seller-1";
+
+    private BlockingImageService imageService;
+    private ImageProcessingPipeline pipeline;
+
+    @BeforeEach
+    void setUp() {
+        imageService = new BlockingImageService();
+        // One worker and one queued upload
+        pipeline = new ImageProcessingPipeline(1, 1);
+        ReflectionTestUtils.setField(pipeline, "imageService", imageService);
+    }
+
+    @AfterEach
+    void tearDown() {
+        imageService.release.countDown();
+        pipeline.shutdown();
+    }
+
+    @Test
+    void submit_WhenWorkersAndQueueAreBusy_ShouldRefuseWithoutStoring() throws Exception {
+        // Given
+        pipeline.submit(new byte[] {1}, "a.jpg", "image/jpeg", SELLER);
+        pipeline.submit(new byte[] {2}, "b.jpg", "image/jpeg", SELLER);
+
+        // When / Then
+        assertThrows(ImageQueueFullException.class, () -> pipeline.submit(new byte[] {3}, "c.jpg", "image/jpeg", SELLER));
+        assertEquals(2, imageService.saved.size());
+        assertEquals(2, pipeline.getInFlight());
+    }
+
+    @Test
+    void submit_ShouldProcessInBackgroundAndFreeTheSlot() throws Exception {
+        // Given
+        UUID first = pipeline.submit(new byte[] {1}, "a.jpg", "image/jpeg", SELLER);
+        UUID second = pipeline.submit(new byte[] {2}, "b.jpg", "image/jpeg", SELLER);
+        assertTrue(imageService.processed.isEmpty());
+
+        // When
+        imageService.release.countDown();
+
+        // Then
+        waitUntilIdle();
+        assertEquals(List.of(first, second), List.copyOf(imageService.processed));
+        assertEquals(List.of(first, second), List.copyOf(imageService.released));
+        assertNotNull(pipeline.submit(new byte[] {3}, "c.jpg", "image/jpeg", SELLER));
+    }
+
+    @Test
+    void submit_WhenStoringFails_ShouldGiveTheSlotBack() {
+        imageService.failSaves = true;
+
+        assertThrows(IllegalArgumentException.class, () -> pipeline.submit(new byte[0], "a.jpg", "image/jpeg", SELLER));
+        assertEquals(0, pipeline.getInFlight());
+    }
+
+    @Test
+    void submit_WithBytesUploadedBefore_ShouldReuseTheImageWithoutASlot() throws Exception {
+        // Given: every slot taken
+        pipeline.submit(new byte[] {1}, "a.jpg", "image/jpeg", SELLER);
+        pipeline.submit(new byte[] {2}, "b.jpg", "image/jpeg", SELLER);
+        UUID earlier = UUID.randomUUID();
+        imageService.reusable = earlier;
+
+        // When / Then: nothing stored, nothing queued
+        assertEquals(earlier, pipeline.submit(new byte[] {1}, "a.jpg", "image/jpeg", SELLER));
+        assertEquals(2, imageService.saved.size());
+        assertEquals(2, pipeline.getInFlight());
+    }
+
+    @Test
+    void resumeProcessing_WithMoreUploadsThanSlots_ShouldQueueThemAll() throws Exception {
+        // Given: three uploads left PROCESSING by a restart, for two slots
+        List<UUID> pending = List.of(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID());
+        imageService.processing = pending;
+
+        // When
+        pipeline.resumeProcessing();
+        imageService.release.countDown();
+
+        // Then
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (imageService.processed.size() < pending.size() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        waitUntilIdle();
+        assertEquals(pending, List.copyOf(imageService.processed));
+    }
+
+    private void waitUntilIdle() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (pipeline.getInFlight() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(0, pipeline.getInFlight());
+    }
+
+    // Stands in for the database and blob store; workers block until released
+    private static class BlockingImageService extends ImageService {
+        private final CountDownLatch release = new CountDownLatch(1);
+        private final ConcurrentLinkedQueue<UUID> saved = new ConcurrentLinkedQueue<>();
+        private final ConcurrentLinkedQueue<UUID> processed = new ConcurrentLinkedQueue<>();
+        private final ConcurrentLinkedQueue<UUID> released = new ConcurrentLinkedQueue<>();
+        private volatile boolean failSaves;
+        private volatile UUID reusable;
+        private volatile List<UUID> processing = List.of();
+
+        @Override
+        public List<UUID> findProcessingImageIds() {
+            return processing;
+        }
+
+        @Override
+        public UUID reuseExistingUpload(byte[] data, String uploaderId) {
+            return reusable;
+        }
+
+        @Override
+        public UUID saveOriginal(byte[] data, String filename, String contentType, String uploaderId) {
+            if (failSaves) {
+                throw new IllegalArgumentException("File is empty");
+            }
+            UUID imageId = UUID.randomUUID();
+            saved.add(imageId);
+            return imageId;
+        }
+
+        @Override
+        public Image.Status processImage(UUID imageId) {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            processed.add(imageId);
+            return Image.Status.READY;
+        }
+
+        @Override
+        public void releaseOriginal(UUID imageId) {
+            released.add(imageId);
+        }
+    }
+}
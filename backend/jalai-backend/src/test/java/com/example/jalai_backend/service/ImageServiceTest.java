@@ -0,0 +1,308 @@
+package com.example.jalai_backend.service;
+
+import com.example.jalai_backend.BaseTest;
+import com.example.jalai_backend.event.ImageDeletedEvent;
+import com.example.jalai_backend.model.Image;
+import com.example.jalai_backend.repository.ImageRepository;
+import com.example.jalai_backend.repository.ImageUploadRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ImageServiceTest extends BaseTest {
+
+    private static final String SELLER = "seller-1";
+    private static final String OTHER_SELLER = "seller-2";
+
+    @Autowired
+    private ImageService imageService;
+
+    @Autowired
+    private ImageRepository imageRepository;
+
+    @Autowired
+    private ImageUploadRepository imageUploadRepository;
+
+    @Autowired
+    private BlobStore blobStore;
+
+    @Test
+    void processImage_ShouldKeepBytesInBlobStoreAndMetadataInRow() throws Exception {
+        // When
+        UUID imageId = upload(png("photo.png", 1200, 900));
+
+        // Then
+        Image image = imageRepository.findById(imageId).orElseThrow();
+        assertNotNull(image.getContentHash());
+        assertTrue(blobStore.exists(image.getContentHash()));
+
+        ImageService.ImageData data = imageService.getImage(imageId);
+        assertEquals("image/png", data.getContentType());
+        assertEquals(image.getSize(), data.getResource().contentLength());
+        BufferedImage stored = ImageIO.read(data.getResource().getInputStream());
+        assertEquals(800, stored.getWidth());
+        assertEquals(600, stored.getHeight());
+    }
+
+    @Test
+    void processImage_ShouldStoreEachVariantScaledToItsBounds() throws Exception {
+        // When
+        UUID imageId = upload(png("wide.png", 1600, 800));
+
+        // Then: the 2:1 aspect ratio is kept in every box
+        assertDimensions(imageId, Image.Variant.THUMBNAIL, 160, 80);
+        assertDimensions(imageId, Image.Variant.CARD, 400, 200);
+        assertDimensions(imageId, Image.Variant.FULL, 800, 400);
+    }
+
+    @Test
+    void processImage_WithSmallOriginal_ShouldNotUpscaleAndShareIdenticalVariants() throws Exception {
+        // When: the original is smaller than the card and full boxes
+        UUID imageId = upload(png("small.png", 300, 200));
+
+        // Then: card and full are the same unscaled file
+        Image image = imageRepository.findById(imageId).orElseThrow();
+        assertEquals(image.getContentHash(), image.getCardHash());
+        assertNotEquals(image.getContentHash(), image.getThumbnailHash());
+        assertDimensions(imageId, Image.Variant.CARD, 300, 200);
+    }
+
+    @Test
+    void processImage_ShouldRenderVariantsOfAStoredUploadAndDropTheOriginal() throws Exception {
+        // Given: an upload stored by the request thread
+        MockMultipartFile file = png("queued.png", 1200, 900);
+        UUID imageId = imageService.saveOriginal(file.getBytes(), "queued.png", "image/png", SELLER);
+        String originalHash = imageRepository.findById(imageId).orElseThrow().getOriginalHash();
+        assertEquals(Image.Status.PROCESSING, imageService.getImageStatus(imageId));
+        assertNull(imageService.getImage(imageId));
+        assertTrue(blobStore.exists(originalHash));
+
+        // When: a worker picks it up
+        assertEquals(Image.Status.READY, imageService.processImage(imageId));
+        imageService.releaseOriginal(imageId);
+
+        // Then
+        assertEquals(Image.Status.READY, imageService.getImageStatus(imageId));
+        assertDimensions(imageId, Image.Variant.THUMBNAIL, 160, 120);
+        assertDimensions(imageId, Image.Variant.FULL, 800, 600);
+        assertFalse(blobStore.exists(originalHash));
+    }
+
+    @Test
+    void saveOriginal_WithBytesThatAreNoImage_ShouldBeRejectedUpFront() {
+        assertThrows(IllegalArgumentException.class,
+                () -> imageService.saveOriginal("not an image".getBytes(), "a.png", "image/png", SELLER));
+    }
+
+    @Test
+    void variantUrl_ShouldOnlyRewriteUploadedImageUrls() {
+        // Given
+        UUID imageId = UUID.randomUUID();
+
+        // When / Then: the full size is the plain URL, external URLs are left alone
+        assertEquals("/api/images/" + imageId + "?size=thumbnail",
+                ImageService.variantUrl("/api/images/" + imageId, Image.Variant.THUMBNAIL));
+        assertEquals("/api/images/" + imageId,
+                ImageService.variantUrl("/api/images/" + imageId, Image.Variant.FULL));
+        assertEquals("https://cdn.example.com/a.jpg",
+                ImageService.variantUrl("https://cdn.example.com/a.jpg", Image.Variant.THUMBNAIL));
+        assertNull(ImageService.variantUrl(null, Image.Variant.THUMBNAIL));
+    }
+
+    @Test
+    void deleteImage_ShouldReleaseBlobOnlyWhenNoRowReferencesIt() throws Exception {
+        // Given: two uploads of the same photo share their blobs
+        UUID first = upload(png("a.png", 300, 200));
+        UUID second = upload(png("a.png", 300, 200));
+        Image image = imageRepository.findById(first).orElseThrow();
+        String contentHash = image.getContentHash();
+        String thumbnailHash = image.getThumbnailHash();
+        assertEquals(contentHash, imageRepository.findById(second).orElseThrow().getContentHash());
+
+        // When / Then
+        assertTrue(imageService.deleteImage(first, SELLER));
+        imageRepository.flush();
+        imageService.releaseBlob(contentHash);
+        imageService.releaseBlob(thumbnailHash);
+        assertTrue(blobStore.exists(contentHash));
+        assertTrue(blobStore.exists(thumbnailHash));
+
+        assertTrue(imageService.deleteImage(second, SELLER));
+        imageRepository.flush();
+        imageService.releaseBlob(contentHash);
+        imageService.releaseBlob(thumbnailHash);
+        assertFalse(blobStore.exists(contentHash));
+        assertFalse(blobStore.exists(thumbnailHash));
+        assertNull(imageService.getImage(second));
+    }
+
+    @Test
+    void deleteImage_WhileProcessing_ShouldReleaseTheUploadedBytes() throws Exception {
+        // Given: an upload no worker has picked up yet
+        UUID imageId = imageService.saveOriginal(png("queued.png", 64, 64).getBytes(), "queued.png", "image/png",
+                SELLER);
+        String originalHash = imageRepository.findById(imageId).orElseThrow().getOriginalHash();
+
+        // When
+        assertTrue(imageService.deleteImage(imageId, SELLER));
+
+        // Then
+        ImageDeletedEvent event = applicationEvents.stream(ImageDeletedEvent.class).findFirst().orElseThrow();
+        assertEquals(Set.of(originalHash), event.getBlobKeys());
+        imageRepository.flush();
+        event.getBlobKeys().forEach(imageService::releaseBlob);
+        assertFalse(blobStore.exists(originalHash));
+    }
+
+    @Test
+    void collectUnreferencedBlobs_ShouldDeleteOrphansOlderThanTheGracePeriod() throws Exception {
+        // Given: bytes of an upload whose row was rolled back, and a pending upload
+        String orphan = blobStore.put("rolled back upload".getBytes());
+        UUID imageId = imageService.saveOriginal(png("pending.png", 64, 64).getBytes(), "pending.png",
+                "image/png", SELLER);
+        imageRepository.flush();
+        String originalHash = imageRepository.findById(imageId).orElseThrow().getOriginalHash();
+
+        // Then: only the pending original counts as referenced
+        assertEquals(Set.of(originalHash), imageRepository.findReferencedBlobKeys(List.of(orphan, originalHash)));
+
+        // When: the sweep runs outside this test's uncommitted transaction
+        Thread.sleep(5);
+        imageService.collectUnreferencedBlobs();
+
+        // Then
+        assertFalse(blobStore.exists(orphan));
+
+        // Given: a grace period, and an orphan written just now
+        ReflectionTestUtils.setField(imageService, "blobGracePeriod", Duration.ofHours(1));
+        try {
+            String recent = blobStore.put("row not committed yet".getBytes());
+
+            // When
+            imageService.collectUnreferencedBlobs();
+            imageService.releaseBlob(recent);
+
+            // Then
+            assertTrue(blobStore.exists(recent));
+        } finally {
+            ReflectionTestUtils.setField(imageService, "blobGracePeriod", Duration.ZERO);
+        }
+    }
+
+    @Test
+    void reuseExistingUpload_ShouldShareTheImageUntilTheLastDelete() throws Exception {
+        // Given: the same photo uploaded by two sellers
+        UUID first = upload(png("a.png", 300, 200));
+        String originalHash = imageRepository.findById(first).orElseThrow().getOriginalHash();
+
+        // When
+        UUID second = imageService.reuseExistingUpload(png("b.png", 300, 200).getBytes(), OTHER_SELLER);
+
+        // Then: one row, kept until both uploads are deleted
+        assertEquals(first, second);
+        assertEquals(1, imageRepository.findIdsByOriginalHash(originalHash, Image.Status.FAILED).size());
+        assertTrue(imageService.deleteImage(first, SELLER));
+        assertNotNull(imageService.getImage(first));
+        assertTrue(imageService.deleteImage(second, OTHER_SELLER));
+        assertNull(imageService.getImage(first));
+        assertFalse(imageService.deleteImage(first, OTHER_SELLER));
+    }
+
+    @Test
+    void deleteImage_Retried_ShouldNeverDropAnotherSellersUpload() throws Exception {
+        // Given: a photo uploaded twice by one seller and once by another
+        byte[] bytes = png("a.png", 300, 200).getBytes();
+        UUID imageId = upload(png("a.png", 300, 200));
+        imageService.reuseExistingUpload(bytes, SELLER);
+        imageService.reuseExistingUpload(bytes, OTHER_SELLER);
+
+        // When: the first seller deletes both uploads, then retries
+        assertTrue(imageService.deleteImage(imageId, SELLER));
+        assertTrue(imageService.deleteImage(imageId, SELLER));
+        assertFalse(imageService.deleteImage(imageId, SELLER));
+
+        // Then: the other seller's upload still holds the image
+        assertNotNull(imageService.getImage(imageId));
+        assertEquals(0, applicationEvents.stream(ImageDeletedEvent.class).count());
+
+        // When: an admin deletes it
+        assertTrue(imageService.deleteImage(imageId, null));
+
+        // Then: it goes however many uploads share it
+        assertNull(imageService.getImage(imageId));
+        assertEquals(1, applicationEvents.stream(ImageDeletedEvent.class).count());
+        assertFalse(imageService.deleteImage(imageId, OTHER_SELLER));
+    }
+
+    @Test
+    void deleteImage_WithoutRecordedUploads_ShouldDropOneReference() throws Exception {
+        // Given: an image shared by two uploads, stored before uploads were recorded
+        byte[] bytes = png("a.png", 300, 200).getBytes();
+        UUID imageId = upload(png("a.png", 300, 200));
+        imageService.reuseExistingUpload(bytes, OTHER_SELLER);
+        imageUploadRepository.deleteByImageId(imageId);
+
+        // When / Then: each delete gives up one reference, the last one takes the image
+        assertTrue(imageService.deleteImage(imageId, SELLER));
+        assertNotNull(imageService.getImage(imageId));
+        assertTrue(imageService.deleteImage(imageId, OTHER_SELLER));
+        assertNull(imageService.getImage(imageId));
+        assertEquals(1, applicationEvents.stream(ImageDeletedEvent.class).count());
+        assertFalse(imageService.deleteImage(imageId, SELLER));
+    }
+
+    @Test
+    void reuseExistingUpload_ShouldMatchProcessedUploadsButNotFailedOnes() throws Exception {
+        // Given: a processed upload, whose original blob is already gone
+        byte[] bytes = png("queued.png", 640, 480).getBytes();
+        UUID imageId = imageService.saveOriginal(bytes, "queued.png", "image/png", SELLER);
+        imageService.processImage(imageId);
+        imageService.releaseOriginal(imageId);
+
+        // Then
+        assertEquals(imageId, imageService.reuseExistingUpload(bytes, SELLER));
+        assertNull(imageService.reuseExistingUpload(png("other.png", 640, 481).getBytes(), SELLER));
+
+        // A PNG signature with nothing after it passes the upload check but fails to decode
+        byte[] truncated = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+        UUID broken = imageService.saveOriginal(truncated, "broken.png", "image/png", SELLER);
+        assertEquals(Image.Status.FAILED, imageService.processImage(broken));
+        assertNull(imageService.reuseExistingUpload(truncated, SELLER));
+    }
+
+    // Both halves of an upload, as the request thread and a worker run them
+    private UUID upload(MockMultipartFile file) throws Exception {
+        UUID imageId = imageService.saveOriginal(file.getBytes(), file.getOriginalFilename(), file.getContentType(),
+                SELLER);
+        imageService.processImage(imageId);
+        imageService.releaseOriginal(imageId);
+        return imageId;
+    }
+
+    private void assertDimensions(UUID imageId, Image.Variant variant, int width, int height) throws Exception {
+        BufferedImage stored = ImageIO.read(imageService.getImage(imageId, variant).getResource().getInputStream());
+        assertEquals(width, stored.getWidth(), variant + " width");
+        assertEquals(height, stored.getHeight(), variant + " height");
+    }
+
+    private static MockMultipartFile png(String filename, int width, int height) throws Exception {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        for (int x = 0; x < width; x++) {
+            image.setRGB(x, x * height / width, 0xFF8800);
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return new MockMultipartFile("file", filename, "image/png", out.toByteArray());
+    }
+}
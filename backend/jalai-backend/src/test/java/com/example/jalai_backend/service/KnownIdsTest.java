@@ -0,0 +1,83 @@
+package com.example.jalai_backend.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KnownIdsTest {
+
+    private KnownIds knownIds;
+
+    @BeforeEach
+    void setUp() {
+        knownIds = new KnownIds();
+    }
+
+    @Test
+    void mightBeProduct_BeforeFirstRebuild_ShouldAllowEveryId() {
+        assertFalse(knownIds.isReady());
+        assertTrue(knownIds.mightBeProduct(UUID.randomUUID()));
+    }
+
+    @Test
+    void mightBeProduct_ShouldKeepKnownIdsAndRejectMostUnknownOnes() {
+        // Given
+        List<UUID> ids = randomIds(5_000);
+        knownIds.rebuildProducts(ids);
+
+        // When
+        int falsePositives = 0;
+        for (UUID unknown : randomIds(10_000)) {
+            if (knownIds.mightBeProduct(unknown)) {
+                falsePositives++;
+            }
+        }
+
+        // Then
+        assertTrue(ids.stream().allMatch(knownIds::mightBeProduct));
+        assertTrue(falsePositives < 300, "False positive rate too high: " + falsePositives);
+    }
+
+    @Test
+    void rebuild_ShouldKeepIdsAddedSinceThePreviousRebuild() {
+        // Given: an id inserted by a transaction the rebuild query did not see yet
+        knownIds.rebuildProducts(List.of());
+        UUID inserted = UUID.randomUUID();
+        knownIds.addProduct(inserted);
+
+        // When
+        knownIds.rebuildProducts(List.of());
+
+        // Then
+        assertTrue(knownIds.mightBeProduct(inserted));
+    }
+
+    @Test
+    void rebuild_ShouldAgeOutDeletedIds() {
+        // Given
+        UUID deleted = UUID.randomUUID();
+        knownIds.rebuildProducts(List.of(deleted));
+        knownIds.rebuildImages(List.of());
+
+        // When: two rebuilds that no longer load it
+        knownIds.rebuildProducts(List.of());
+        knownIds.rebuildProducts(List.of());
+
+        // Then
+        assertFalse(knownIds.mightBeProduct(deleted));
+        assertFalse(knownIds.mightBeImage(deleted));
+    }
+
+    private List<UUID> randomIds(int count) {
+        List<UUID> ids = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ids.add(UUID.randomUUID());
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.jalai_backend.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrphanageNameIndexTest {
+
+    private OrphanageNameIndex index;
+    private final UUID hope = UUID.randomUUID();
+    private final UUID sunrise = UUID.randomUUID();
+    private final UUID pending = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        index = new OrphanageNameIndex();
+        index.rebuild(Map.of(
+                hope, "Hope Children's Home",
+                sunrise, "Sunrise Orphanage",
+                pending, "Sunshine Orphanage"), Set.of(hope, sunrise));
+    }
+
+    @Test
+    void search_ShouldTolerateTypos() {
+        assertEquals(hope, index.search("hoppe childrens", 0.3, false, 10).get(0));
+        assertEquals(sunrise, index.search("sunrize", 0.3, false, 10).get(0));
+        assertTrue(index.search("xylophone", 0.3, false, 10).isEmpty());
+    }
+
+    @Test
+    void search_ShouldRankContainedNamesFirstAndHonourActiveOnly() {
+        // Both contain the query; only one is active
+        assertEquals(2, index.search("orphanage", 0.3, false, 10).size());
+        assertEquals(List.of(sunrise), index.search("orphanage", 0.3, true, 10));
+        // Shorter than a trigram, still found by containment
+        assertEquals(2, index.search("su", 0.3, false, 10).size());
+    }
+
+    @Test
+    void search_InsideAWord_ShouldBeFoundByContainment() {
+        // "nri" shares one of its four trigrams with "Sunrise", too few for a similarity of 0.3,
+        // and its word start "  n" with no name at all
+        assertEquals(List.of(sunrise), index.search("nri", 0.3, false, 10));
+        assertTrue(index.search("nrx", 0.3, false, 10).isEmpty());
+    }
+
+    @Test
+    void search_WithOnlyShortWords_ShouldMatchWordStarts() {
+        // "un" is inside "Sunrise" and "Sunshine" but starts no word
+        assertTrue(index.search("un", 0.3, false, 10).isEmpty());
+
+        // "s o" starts "Sunrise Orphanage" and "Sunshine Orphanage", alphabetically
+        assertEquals(List.of(sunrise, pending), index.search("s o", 0.3, false, 10));
+        assertEquals(List.of(hope), index.search("ho", 0.3, false, 10));
+    }
+
+    @Test
+    void putAndRemove_ShouldUpdateMatches() {
+        // When
+        index.put(pending, "Sunshine Orphanage", true);
+        index.remove(sunrise);
+
+        // Then
+        assertEquals(List.of(pending), index.search("orphanage", 0.3, true, 10));
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.jalai_backend.service;
+
+import com.example.jalai_backend.dto.ProductFacetsDTO;
+import com.example.jalai_backend.dto.ProductFacetsDTO.FacetCount;
+import com.example.jalai_backend.dto.ProductSummaryDTO;
+import com.example.jalai_backend.exception.BadRequestException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductFacetIndexTest {
+
+    private static final UUID BOOKS = UUID.randomUUID();
+    private static final UUID TOYS = UUID.randomUUID();
+
+    private ProductFacetIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ProductFacetIndex();
+        index.rebuild(List.of(
+                product(BOOKS, "Books", "2000", false, true),
+                product(BOOKS, "Books", "7500", true, true),
+                product(TOYS, "Toys", "3000", false, false),
+                product(TOYS, "Toys", "150000", false, true)));
+    }
+
+    @Test
+    void count_WithoutFilters_ShouldCountEveryFacetValue() {
+        // When
+        ProductFacetsDTO facets = index.count(null, null, null, null);
+
+        // Then
+        assertEquals(4, facets.getTotal());
+        assertEquals(2, count(facets.getCategories(), BOOKS.toString()));
+        assertEquals(2, count(facets.getPriceBuckets(), "0-5000"));
+        assertEquals(1, count(facets.getPriceBuckets(), "5000-20000"));
+        assertEquals(1, count(facets.getPriceBuckets(), "100000+"));
+        assertEquals(1, count(facets.getDonated(), "true"));
+        assertEquals(1, count(facets.getAvailable(), "false"));
+    }
+
+    @Test
+    void count_ShouldApplyOtherFiltersButNotAFacetsOwn() {
+        // When
+        ProductFacetsDTO facets = index.count(BOOKS, null, null, true);
+
+        // Then
+        assertEquals(2, facets.getTotal());
+        // Category counts ignore the category filter but honour availability
+        assertEquals(2, count(facets.getCategories(), BOOKS.toString()));
+        assertEquals(1, count(facets.getCategories(), TOYS.toString()));
+        // Price counts are limited to available books
+        assertEquals(1, count(facets.getPriceBuckets(), "0-5000"));
+        assertEquals(0, count(facets.getPriceBuckets(), "100000+"));
+        // Availability counts ignore the availability filter
+        assertEquals(0, count(facets.getAvailable(), "false"));
+    }
+
+    @Test
+    void count_ShouldFollowUpdatesAndRejectUnknownBuckets() {
+        // Given
+        ProductSummaryDTO lamp = product(TOYS, "Toys", "60000", false, true);
+        index.put(lamp);
+
+        // When
+        ProductFacetsDTO facets = index.count(null, "50000-100000", null, null);
+
+        // Then
+        assertEquals(1, facets.getTotal());
+        index.remove(lamp.getId());
+        assertEquals(0, index.count(null, "50000-100000", null, null).getTotal());
+        assertThrows(BadRequestException.class, () -> index.count(null, "cheap", null, null));
+    }
+
+    @Test
+    void put_ShouldMoveAnExistingProductBetweenValuesAndReuseFreedSlots() {
+        // Given
+        UUID garden = UUID.randomUUID();
+        ProductSummaryDTO bike = product(TOYS, "Toys", "4000", false, true);
+        index.put(bike);
+        ProductFacetsDTO before = index.count(null, null, null, null);
+
+        // When: re-filed under a new category, price and flags, then a removal and an add
+        bike.setCategoryId(garden);
+        bike.setCategoryName("Garden");
+        bike.setPrice(new BigDecimal("25000"));
+        bike.setIsDonated(true);
+        bike.setIsAvailable(false);
+        index.put(bike);
+        index.remove(bike.getId());
+        index.put(product(BOOKS, "Books", "1000", false, true));
+
+        // Then: the earlier snapshot is unchanged and the emptied category is gone
+        assertEquals(3, count(before.getCategories(), TOYS.toString()));
+        ProductFacetsDTO facets = index.count(null, null, null, null);
+        assertEquals(5, facets.getTotal());
+        assertEquals(5, index.size());
+        assertEquals(3, count(facets.getCategories(), BOOKS.toString()));
+        assertEquals(2, count(facets.getCategories(), TOYS.toString()));
+        assertTrue(facets.getCategories().stream().noneMatch(c -> c.getValue().equals(garden.toString())));
+        assertEquals(0, count(facets.getPriceBuckets(), "20000-50000"));
+        assertEquals(4, count(facets.getDonated(), "false"));
+    }
+
+    private int count(List<FacetCount> counts, String value) {
+        return counts.stream()
+                .filter(c -> c.getValue().equals(value))
+                .findFirst().orElseThrow()
+                .getCount();
+    }
+
+    private ProductSummaryDTO product(UUID categoryId, String categoryName, String price, boolean donated,
+            boolean available) {
+        ProductSummaryDTO dto = new ProductSummaryDTO();
+        dto.setId(UUID.randomUUID());
+        dto.setCategoryId(categoryId);
+        dto.setCategoryName(categoryName);
+        dto.setPrice(new BigDecimal(price));
+        dto.setIsDonated(donated);
+        dto.setIsAvailable(available);
+        return dto;
+    }
+}
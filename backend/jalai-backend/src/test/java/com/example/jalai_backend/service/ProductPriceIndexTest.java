@@ -0,0 +1,123 @@
+package com.example.jalai_backend.service;
+
+import com.example.jalai_backend.dto.ProductSummaryDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductPriceIndexTest {
+
+    private ProductPriceIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ProductPriceIndex();
+    }
+
+    @Test
+    void findByPriceRange_ShouldIncludeBothBoundsAndSortCheapestFirst() {
+        // Given
+        ProductSummaryDTO cheap = product("9.99");
+        ProductSummaryDTO lower = product("10.00");
+        ProductSummaryDTO upper = product("20.00");
+        ProductSummaryDTO expensive = product("20.01");
+        index.rebuild(List.of(expensive, upper, cheap, lower));
+
+        // When
+        Page<ProductSummaryDTO> results = index.findByPriceRange(new BigDecimal("10"), new BigDecimal("20"),
+                PageRequest.of(0, 10));
+
+        // Then
+        assertEquals(List.of(lower, upper), results.getContent());
+    }
+
+    @Test
+    void findByPriceRange_ShouldRoundFractionalCentBoundsInward() {
+        // Given
+        ProductSummaryDTO product = product("5.00");
+        index.rebuild(List.of(product));
+
+        // When & Then
+        assertTrue(index.findByPriceRange(new BigDecimal("5.001"), new BigDecimal("6"), PageRequest.of(0, 10))
+                .isEmpty());
+        assertEquals(1, index.findByPriceRange(new BigDecimal("4.999"), new BigDecimal("5.009"),
+                PageRequest.of(0, 10)).getTotalElements());
+    }
+
+    @Test
+    void findByPriceRange_ShouldPaginate() {
+        // Given
+        index.rebuild(List.of());
+        for (int i = 1; i <= 25; i++) {
+            index.put(product(i + ".00"));
+        }
+
+        // When
+        Page<ProductSummaryDTO> thirdPage = index.findByPriceRange(BigDecimal.ZERO, new BigDecimal("100"),
+                PageRequest.of(2, 10));
+
+        // Then
+        assertEquals(25, thirdPage.getTotalElements());
+        assertEquals(5, thirdPage.getContent().size());
+        assertEquals(new BigDecimal("21.00"), thirdPage.getContent().get(0).getPrice());
+    }
+
+    @Test
+    void put_ShouldMoveProductToNewPriceAndRemoveShouldDropIt() {
+        // Given
+        ProductSummaryDTO product = product("50.00");
+        index.rebuild(List.of(product));
+
+        // When
+        product.setPrice(new BigDecimal("5.00"));
+        index.put(product);
+
+        // Then
+        assertTrue(index.findByPriceRange(new BigDecimal("40"), new BigDecimal("60"), PageRequest.of(0, 10))
+                .isEmpty());
+        assertEquals(1, index.findByPriceRange(BigDecimal.ZERO, BigDecimal.TEN, PageRequest.of(0, 10))
+                .getTotalElements());
+
+        // When
+        index.remove(product.getId());
+
+        // Then
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    void put_ShouldKeepEqualPricesInIdOrderAndDropProductsThatLoseTheirPrice() {
+        // Given
+        ProductSummaryDTO low = product("7.00");
+        low.setId(UUID.fromString("10000000-0000-0000-0000-000000000000"));
+        ProductSummaryDTO high = product("7.00");
+        high.setId(UUID.fromString("f0000000-0000-0000-0000-000000000000"));
+        ProductSummaryDTO other = product("3.00");
+        index.rebuild(List.of(high, other));
+
+        // When
+        index.put(low);
+        other.setPrice(null);
+        index.put(other);
+
+        // Then
+        assertEquals(List.of(low, high), index.findByPriceRange(BigDecimal.ZERO, BigDecimal.TEN,
+                PageRequest.of(0, 10)).getContent());
+        assertEquals(2, index.size());
+    }
+
+    private ProductSummaryDTO product(String price) {
+        ProductSummaryDTO dto = new ProductSummaryDTO();
+        dto.setId(UUID.randomUUID());
+        dto.setName("Product " + price);
+        dto.setPrice(new BigDecimal(price));
+        return dto;
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.jalai_backend.service;
+
+import com.example.jalai_backend.dto.ProductSummaryDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductSearchIndexTest {
+
+    private ProductSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ProductSearchIndex();
+    }
+
+    @Test
+    void search_ShouldRankNameMatchesAboveDescriptionMatches() {
+        // Given
+        ProductSummaryDTO inDescription = product("Phone Case", "Protective case for any android phone");
+        ProductSummaryDTO inName = product("Android Tablet", "Ten inch screen");
+        index.rebuild(List.of(inDescription, inName));
+
+        // When
+        Page<ProductSummaryDTO> results = index.search("android", PageRequest.of(0, 10));
+
+        // Then
+        assertEquals(2, results.getTotalElements());
+        assertEquals(inName.getId(), results.getContent().get(0).getId());
+        assertEquals(inDescription.getId(), results.getContent().get(1).getId());
+    }
+
+    @Test
+    void search_ShouldRequireAllTokensAndMatchLastTokenAsPrefix() {
+        // Given
+        index.index(product("Wooden Chair", "Solid oak"));
+        index.index(product("Wooden Table", "Solid pine"));
+
+        // When
+        Page<ProductSummaryDTO> results = index.search("wooden ch", PageRequest.of(0, 10));
+
+        // Then
+        assertEquals(1, results.getTotalElements());
+        assertEquals("Wooden Chair", results.getContent().get(0).getName());
+    }
+
+    @Test
+    void search_ShouldPaginateRankedResults() {
+        // Given
+        for (int i = 0; i < 15; i++) {
+            index.index(product("Book " + i, "Paperback"));
+        }
+
+        // When
+        Page<ProductSummaryDTO> secondPage = index.search("book", PageRequest.of(1, 10));
+
+        // Then
+        assertEquals(15, secondPage.getTotalElements());
+        assertEquals(5, secondPage.getContent().size());
+    }
+
+    @Test
+    void index_ShouldReplacePreviousTokensOnUpdate() {
+        // Given
+        ProductSummaryDTO product = product("Red Shoes", "Leather");
+        index.index(product);
+
+        // When
+        product.setName("Blue Shoes");
+        index.index(product);
+
+        // Then
+        assertTrue(index.search("red", PageRequest.of(0, 10)).isEmpty());
+        assertEquals(1, index.search("blue", PageRequest.of(0, 10)).getTotalElements());
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void remove_ShouldDropProductFromResults() {
+        // Given
+        ProductSummaryDTO product = product("Kitchen Blender", "Five speeds");
+        index.index(product);
+
+        // When
+        index.remove(product.getId());
+
+        // Then
+        assertTrue(index.search("blender", PageRequest.of(0, 10)).isEmpty());
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    void fuzzySearch_ShouldMatchMisspelledNamesMostSimilarFirst() {
+        // Given
+        index.index(product("Wooden Chair", "Solid oak"));
+        index.index(product("Chairlift Poster", "Vintage print"));
+        index.index(product("Garden Hose", "Twenty meters"));
+
+        // When
+        Page<ProductSummaryDTO> results = index.fuzzySearch("wooden chiar", 0.3, PageRequest.of(0, 10));
+
+        // Then
+        assertTrue(index.search("wooden chiar", PageRequest.of(0, 10)).isEmpty());
+        assertEquals(1, results.getTotalElements());
+        assertEquals("Wooden Chair", results.getContent().get(0).getName());
+        assertEquals("Garden Hose", index.fuzzySearch("gardn", 0.3, PageRequest.of(0, 10))
+                .getContent().get(0).getName());
+    }
+
+    private ProductSummaryDTO product(String name, String description) {
+        ProductSummaryDTO dto = new ProductSummaryDTO();
+        dto.setId(UUID.randomUUID());
+        dto.setName(name);
+        dto.setDescription(description);
+        dto.setCreatedAt(LocalDateTime.now());
+        return dto;
+    }
+}
@@ -1,16 +1,36 @@
 package com.example.jalai_backend.service;
 
 import com.example.jalai_backend.BaseTest;
+import com.example.jalai_backend.dto.BulkModerationRequest;
+import com.example.jalai_backend.dto.BulkModerationResult;
+import com.example.jalai_backend.dto.CursorPage;
+import com.example.jalai_backend.dto.ProductSummaryDTO;
+import com.example.jalai_backend.exception.BadRequestException;
+import com.example.jalai_backend.model.Category;
+import com.example.jalai_backend.model.Client;
+import com.example.jalai_backend.model.Notification;
+import com.example.jalai_backend.model.Order;
+import com.example.jalai_backend.model.OrderItem;
 import com.example.jalai_backend.model.Product;
+import com.example.jalai_backend.repository.NotificationRepository;
+import com.example.jalai_backend.util.ProductCursor;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.security.test.context.support.WithMockUser;
 
+import java.io.ByteArrayOutputStream;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -19,6 +39,12 @@ class ProductServiceTest extends BaseTest {
     @Autowired
     private ProductService productService;
 
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private OrderService orderService;
+
     @Test
     void getAllAvailableProducts_ShouldReturnOnlyAvailableProducts() {
         // Given
@@ -56,6 +82,116 @@ class ProductServiceTest extends BaseTest {
         assertTrue(productPage.getTotalElements() >= 15);
     }
 
+    @Test
+    void getApprovedProductSummariesAfter_ShouldWalkAllPagesWithoutDuplicates() {
+        // Given
+        for (int i = 1; i <= 7; i++) {
+            createTestProduct("Cursor Product " + i, new BigDecimal("10.00"), testSeller, testCategory);
+        }
+        long approvedCount = productRepository.findAll().stream()
+                .filter(p -> p.getIsApproved() && p.getIsAvailable())
+                .count();
+
+        // When
+        Set<UUID> seen = new HashSet<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            CursorPage<ProductSummaryDTO> page = productService.getApprovedProductSummariesAfter(cursor, 3);
+            assertTrue(page.getContent().size() <= 3);
+            page.getContent().forEach(p -> assertTrue(seen.add(p.getId()), "Duplicate across pages"));
+            cursor = page.getNextCursor();
+            assertEquals(page.isHasNext(), cursor != null);
+            pages++;
+        } while (cursor != null);
+
+        // Then
+        assertEquals(approvedCount, seen.size());
+        assertEquals((approvedCount + 2) / 3, pages);
+    }
+
+    @Test
+    void getProductSummariesAfter_WithSizeOutOfRange_ShouldThrowBadRequest() {
+        assertThrows(BadRequestException.class, () -> productService.getProductSummariesAfter(null, 0));
+        assertThrows(BadRequestException.class,
+                () -> productService.getProductSummariesAfter(null, ProductService.MAX_CURSOR_PAGE_SIZE + 1));
+        assertThrows(BadRequestException.class,
+                () -> productService.getProductSummariesAfter(null, Integer.MAX_VALUE));
+        assertNotNull(productService.getProductSummariesAfter(null, ProductService.MAX_CURSOR_PAGE_SIZE));
+    }
+
+    @Test
+    void getApprovedProductSummariesAfter_WithMalformedCursor_ShouldThrowBadRequest() {
+        assertThrows(BadRequestException.class,
+                () -> productService.getApprovedProductSummariesAfter("not-a-cursor", 10));
+    }
+
+    @Test
+    void productCursor_WithoutCreatedAt_ShouldNotBeEncoded() {
+        assertThrows(IllegalArgumentException.class, () -> new ProductCursor(null, UUID.randomUUID()));
+    }
+
+    @Test
+    void getApprovedProductsByCategoryWithPagination_ShouldReturnSummariesFromProjection() {
+        // Given
+        createTestProduct("Projected Product", new BigDecimal("42.00"), testSeller, testCategory);
+        productService.buildStorefrontCatalog();
+
+        // When
+        Page<ProductSummaryDTO> summaries = productService.getApprovedProductsByCategoryWithPagination(
+                testCategory.getName().toUpperCase(), PageRequest.of(0, 10));
+
+        // Then
+        assertTrue(summaries.getTotalElements() >= 2);
+        ProductSummaryDTO projected = summaries.getContent().stream()
+                .filter(p -> p.getName().equals("Projected Product"))
+                .findFirst().orElseThrow();
+        assertEquals(testSeller.getId(), projected.getSellerId());
+        assertEquals(testSeller.getName(), projected.getSellerName());
+        assertEquals(testCategory.getId(), projected.getCategoryId());
+        assertEquals("active", projected.getStatus());
+    }
+
+    @Test
+    void getProductsByClient_ShouldReturnNewestFirst() throws InterruptedException {
+        // Given: creation timestamps a few milliseconds apart
+        Client seller = createTestClient("Projection Seller", "projection.seller@test.com");
+        createTestProduct("Older Listing", new BigDecimal("5.00"), seller, testCategory);
+        Thread.sleep(5);
+        createTestProduct("Newer Listing", new BigDecimal("6.00"), seller, null);
+
+        // When
+        List<ProductSummaryDTO> products = productService.getProductsByClient(seller.getId());
+
+        // Then
+        assertEquals(2, products.size());
+        assertTrue(products.stream().allMatch(p -> seller.getId().equals(p.getSellerId())));
+        assertTrue(products.stream().anyMatch(p -> p.getCategoryId() == null));
+        assertEquals(List.of("Newer Listing", "Older Listing"),
+                products.stream().map(ProductSummaryDTO::getName).toList());
+        assertTrue(products.get(0).getCreatedAt().isAfter(products.get(1).getCreatedAt()));
+    }
+
+    @Test
+    void getProductSummarySlice_ShouldWalkNewestFirstWithoutRepeats() throws InterruptedException {
+        // Given: creation timestamps a few milliseconds apart
+        createTestProduct("Slice Older", new BigDecimal("5.00"), testSeller, testCategory);
+        Thread.sleep(5);
+        createTestProduct("Slice Newer", new BigDecimal("6.00"), testSeller, testCategory);
+
+        // When
+        List<ProductSummaryDTO> walked = new ArrayList<>();
+        walked.addAll(productService.getProductSummarySlice(PageRequest.of(0, 2)).getContent());
+        walked.addAll(productService.getProductSummarySlice(PageRequest.of(1, 2)).getContent());
+
+        // Then
+        assertEquals(walked.size(), walked.stream().map(ProductSummaryDTO::getId).distinct().count());
+        List<ProductSummaryDTO> sorted = new ArrayList<>(walked);
+        sorted.sort(StorefrontCatalog.NEWEST_FIRST);
+        assertEquals(sorted, walked);
+        assertEquals("Slice Newer", walked.get(0).getName());
+    }
+
     @Test
     void getProductById_WithExistingId_ShouldReturnProduct() {
         // When
@@ -168,6 +304,80 @@ class ProductServiceTest extends BaseTest {
         assertFalse(rejectedProduct.getIsAvailable());
     }
 
+    @Test
+    void getProductSummariesByPriceRange_ShouldFollowPriceUpdates() {
+        // Given
+        Product product = createTestProduct("Repriced Product", new BigDecimal("1000.00"), testSeller, testCategory);
+        productService.buildSearchIndex();
+        Product repriced = new Product();
+        repriced.setName(product.getName());
+        repriced.setDescription(product.getDescription());
+        repriced.setPrice(new BigDecimal("1.50"));
+
+        // When
+        productService.updateProduct(product.getId(), repriced);
+        simulateCommit();
+
+        // Then
+        Page<ProductSummaryDTO> cheap = productService.getProductSummariesByPriceRange(
+                new BigDecimal("1.00"), new BigDecimal("2.00"), PageRequest.of(0, 10));
+        assertTrue(cheap.getContent().stream().anyMatch(p -> p.getId().equals(product.getId())));
+        assertThrows(BadRequestException.class, () -> productService.getProductSummariesByPriceRange(
+                BigDecimal.TEN, BigDecimal.ONE, PageRequest.of(0, 10)));
+    }
+
+    @Test
+    void approveProduct_ShouldPutProductAtHeadOfRecentFeed() {
+        // Given
+        Product product = createTestProduct("Fresh Product", new BigDecimal("12.00"), testSeller, testCategory);
+        product.setIsApproved(false);
+        productRepository.save(product);
+        productService.buildRecentProductsFeed();
+
+        // When
+        productService.approveProduct(product.getId(), testAdmin.getId());
+        simulateCommit();
+
+        // Then
+        List<ProductSummaryDTO> recent = productService.getRecentProducts(5);
+        assertEquals(product.getId(), recent.get(0).getId());
+        assertTrue(recent.size() <= 5);
+
+        // When
+        productService.markAsDonated(product.getId());
+        simulateCommit();
+
+        // Then
+        assertTrue(productService.getRecentProducts(5).stream()
+                .noneMatch(p -> p.getId().equals(product.getId())));
+    }
+
+    @Test
+    void approveAndRejectProduct_ShouldUpdateStorefrontListing() {
+        // Given
+        Product product = createTestProduct("Moderated Product", new BigDecimal("15.00"), testSeller, testCategory);
+        product.setIsApproved(false);
+        productRepository.save(product);
+        productService.buildStorefrontCatalog();
+        PageRequest firstPage = PageRequest.of(0, 100);
+
+        // When
+        productService.approveProduct(product.getId(), testAdmin.getId());
+        simulateCommit();
+
+        // Then
+        assertTrue(productService.getApprovedProductSummariesWithPagination(firstPage).getContent().stream()
+                .anyMatch(p -> p.getId().equals(product.getId())));
+
+        // When
+        productService.rejectProduct(product.getId(), testAdmin.getId(), "Duplicate listing");
+        simulateCommit();
+
+        // Then
+        assertTrue(productService.getApprovedProductSummariesWithPagination(firstPage).getContent().stream()
+                .noneMatch(p -> p.getId().equals(product.getId())));
+    }
+
     @Test
     void markAsDonated_ShouldSetDonatedAndUnavailable() {
         // When
@@ -197,6 +407,25 @@ class ProductServiceTest extends BaseTest {
         assertFalse(phoneProducts.stream().anyMatch(p -> p.getName().contains("Laptop")));
     }
 
+    @Test
+    void searchProductSummaries_ShouldFindProductsCreatedThroughService() {
+        // Given
+        Product newProduct = new Product();
+        newProduct.setName("Indexed Espresso Machine");
+        newProduct.setDescription("Fifteen bar pump");
+        newProduct.setPrice(new BigDecimal("149.99"));
+        Product created = productService.createProduct(newProduct, testSeller.getId(), testCategory.getId());
+        simulateCommit();
+
+        // When
+        Page<ProductSummaryDTO> results = productService.searchProductSummaries("espresso",
+                PageRequest.of(0, 10));
+
+        // Then
+        assertTrue(results.getContent().stream().anyMatch(p -> p.getId().equals(created.getId())));
+        assertEquals(testCategory.getName(), results.getContent().get(0).getCategoryName());
+    }
+
     @Test
     void getProductsByPriceRange_ShouldReturnProductsInRange() {
         // Given
@@ -271,4 +500,145 @@ class ProductServiceTest extends BaseTest {
             productService.deleteProduct(nonExistentId);
         });
     }
+
+    @Test
+    @WithMockUser(username = "testadmin@test.com", roles = "ADMIN")
+    void moderateProducts_Approve_ShouldUpdatePendingProductsAndNotifySellers() {
+        // Given
+        Product first = createPendingProduct("Pending One");
+        Product second = createPendingProduct("Pending Two");
+        UUID unknownId = UUID.randomUUID();
+        BulkModerationRequest request = new BulkModerationRequest(
+                List.of(first.getId(), second.getId(), testProduct.getId(), unknownId),
+                BulkModerationRequest.Action.APPROVE, null);
+
+        // When
+        BulkModerationResult result = productService.moderateProducts(request);
+        simulateCommit();
+
+        // Then
+        assertEquals(2, result.getUpdated());
+        assertEquals(List.of(testProduct.getId(), unknownId), result.getSkippedIds());
+        Product approved = productRepository.findWithAssociationsById(first.getId()).orElseThrow();
+        assertTrue(approved.getIsApproved());
+        assertEquals(testAdmin.getId(), approved.getApprovedBy().getId());
+        List<Notification> notifications = notificationRepository.findAll().stream()
+                .filter(n -> n.getType() == Notification.NotificationType.PRODUCT_APPROVED)
+                .toList();
+        assertEquals(2, notifications.size());
+        assertTrue(notifications.stream().allMatch(n -> n.getRecipientClient().getId().equals(testSeller.getId())));
+        assertTrue(productService.getApprovedProductSummariesWithPagination(PageRequest.of(0, 10)).getContent()
+                .stream().anyMatch(p -> p.getId().equals(second.getId())));
+    }
+
+    @Test
+    @WithMockUser(username = "testadmin@test.com", roles = "ADMIN")
+    void moderateProducts_Approve_ShouldAddProductsToRecentFeed() {
+        // Given
+        Product first = createPendingProduct("Bulk Fresh One");
+        Product second = createPendingProduct("Bulk Fresh Two");
+        productService.buildRecentProductsFeed();
+
+        // When
+        productService.moderateProducts(new BulkModerationRequest(List.of(first.getId(), second.getId()),
+                BulkModerationRequest.Action.APPROVE, null));
+        simulateCommit();
+
+        // Then
+        List<UUID> recentIds = productService.getRecentProducts(5).stream().map(ProductSummaryDTO::getId).toList();
+        assertTrue(recentIds.contains(first.getId()));
+        assertTrue(recentIds.contains(second.getId()));
+    }
+
+    @Test
+    @WithMockUser(username = "testadmin@test.com", roles = "ADMIN")
+    void moderateProducts_Reject_ShouldRequireReasonAndHideProducts() {
+        // Given
+        BulkModerationRequest withoutReason = new BulkModerationRequest(List.of(testProduct.getId()),
+                BulkModerationRequest.Action.REJECT, " ");
+
+        // When & Then
+        assertThrows(BadRequestException.class, () -> productService.moderateProducts(withoutReason));
+
+        // When
+        BulkModerationResult result = productService.moderateProducts(new BulkModerationRequest(
+                List.of(testProduct.getId()), BulkModerationRequest.Action.REJECT, "Blurry photos"));
+
+        // Then
+        assertEquals(1, result.getUpdated());
+        Product rejected = productRepository.findById(testProduct.getId()).orElseThrow();
+        assertFalse(rejected.getIsApproved());
+        assertFalse(rejected.getIsAvailable());
+        assertTrue(notificationRepository.findAll().stream()
+                .anyMatch(n -> n.getType() == Notification.NotificationType.PRODUCT_REJECTED
+                        && n.getMessage().contains("Blurry photos")));
+    }
+
+    @Test
+    void exportApprovedCatalog_ShouldWriteOneJsonLinePerStorefrontProduct() throws Exception {
+        // Given
+        createTestProduct("Exported Lamp", new BigDecimal("40.00"), testSeller, testCategory);
+        createPendingProduct("Not Yet Approved");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        long written = productService.exportApprovedCatalog(out);
+
+        // Then
+        List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+        assertEquals(2, written);
+        assertEquals(2, lines.size());
+        List<String> names = new ArrayList<>();
+        for (String line : lines) {
+            names.add(objectMapper.readValue(line, ProductSummaryDTO.class).getName());
+        }
+        assertTrue(names.contains("Exported Lamp"));
+        assertTrue(lines.stream().noneMatch(line -> line.contains("Not Yet Approved")));
+    }
+
+    @Test
+    void confirmOrder_ShouldMakeOrderedProductsRelated() {
+        // Given: two products nothing else would relate
+        Category toys = new Category();
+        toys.setName("Outdoor Toys");
+        toys.setIsActive(true);
+        toys.setManagedBy(testAdmin);
+        toys = categoryRepository.save(toys);
+        Product kite = createTestProduct("Kite", new BigDecimal("8.00"), testSeller, toys);
+        Order order = new Order();
+        order.setClient(testClient);
+        order.setSeller(testSeller);
+        order.setDeliveryDate(LocalDateTime.now().plusDays(3));
+        order.setTotalAmount(testProduct.getPrice().add(kite.getPrice()));
+        order.setOrderItems(new ArrayList<>(List.of(orderItem(order, testProduct), orderItem(order, kite))));
+        order = orderRepository.save(order);
+        productService.buildStorefrontCatalog();
+        productService.buildRelatedProducts();
+        assertTrue(productService.getRelatedProducts(kite.getId(), 8).isEmpty());
+
+        // When
+        orderService.confirmOrder(order.getOrderId());
+        simulateCommit();
+
+        // Then
+        assertEquals(testProduct.getId(), productService.getRelatedProducts(kite.getId(), 8).get(0).getId());
+        assertEquals(kite.getId(), productService.getRelatedProducts(testProduct.getId(), 8).get(0).getId());
+        assertThrows(BadRequestException.class, () -> productService.getRelatedProducts(kite.getId(), 0));
+    }
+
+    private OrderItem orderItem(Order order, Product product) {
+        OrderItem item = new OrderItem();
+        item.setOrder(order);
+        item.setProduct(product);
+        item.setQuantity(1);
+        item.setPrice(product.getPrice());
+        item.setTotal(product.getPrice());
+        return item;
+    }
+
+    private Product createPendingProduct(String name) {
+        Product product = createTestProduct(name, new BigDecimal("25.00"), testSeller, testCategory);
+        product.setIsApproved(false);
+        return productRepository.save(product);
+    }
 }
@@ -0,0 +1,150 @@
+package com.example.jalai_backend.service;
+
+import com.example.jalai_backend.dto.ProductSummaryDTO;
+import com.example.jalai_backend.dto.SuggestionDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductSuggestIndexTest {
+
+    private ProductSuggestIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ProductSuggestIndex();
+    }
+
+    @Test
+    void suggest_ShouldMatchAnyWordStartAndRankByPopularity() {
+        // Given
+        index.rebuild(List.of(
+                product("Wooden Chair", 2, "Furniture"),
+                product("Red Wooden Table", 10, "Furniture"),
+                product("Wool Scarf", 0, "Clothing")));
+
+        // When
+        List<SuggestionDTO> results = index.suggest("woo", 10);
+
+        // Then
+        assertEquals(List.of("Red Wooden Table", "Wooden Chair", "Wool Scarf"),
+                results.stream().map(SuggestionDTO::getText).toList());
+        assertTrue(index.suggest("chair", 10).stream().anyMatch(s -> s.getText().equals("Wooden Chair")));
+        assertTrue(index.suggest("table", 10).stream().anyMatch(s -> s.getText().equals("Red Wooden Table")));
+    }
+
+    @Test
+    void suggest_ShouldIncludeCategoriesWeightedByProductCount() {
+        // Given
+        List<ProductSummaryDTO> products = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            products.add(product("Novel " + i, 0, "Books"));
+        }
+        products.add(product("Bookshelf", 3, "Furniture"));
+        index.rebuild(products);
+
+        // When
+        List<SuggestionDTO> results = index.suggest("boo", 10);
+
+        // Then
+        assertEquals(SuggestionDTO.Type.CATEGORY, results.get(0).getType());
+        assertEquals("Books", results.get(0).getText());
+        assertEquals(5, results.get(0).getWeight());
+        assertEquals("Bookshelf", results.get(1).getText());
+    }
+
+    @Test
+    void suggest_ShouldReturnTopKFromLargeRangeWithoutDuplicates() {
+        // Given
+        List<ProductSummaryDTO> products = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            products.add(product("Shirt shirt " + i, i, null));
+        }
+        products.add(product("Shirt shirt 499", 499, null)); // same name listed twice
+        index.rebuild(products);
+
+        // When
+        List<SuggestionDTO> results = index.suggest("shi", 3);
+
+        // Then
+        assertEquals(List.of("Shirt shirt 499", "Shirt shirt 498", "Shirt shirt 497"),
+                results.stream().map(SuggestionDTO::getText).toList());
+    }
+
+    @Test
+    void putAndRemove_ShouldUpdateSuggestions() {
+        // Given
+        index.rebuild(List.of());
+        ProductSummaryDTO lamp = product("Desk Lamp", 0, "Lighting");
+
+        // When
+        index.put(lamp);
+
+        // Then
+        assertEquals(2, index.suggest("l", 10).size());
+
+        // When
+        index.remove(lamp.getId());
+
+        // Then
+        assertTrue(index.suggest("l", 10).isEmpty());
+        assertTrue(index.suggest("  ", 10).isEmpty());
+    }
+
+    @Test
+    void suggest_ShouldKeepSameNamedCategoriesApart() {
+        // Given: two categories called "Toys"
+        ProductSummaryDTO car = product("Car", 0, "Toys");
+        ProductSummaryDTO doll = product("Doll", 0, null);
+        doll.setCategoryId(UUID.randomUUID());
+        doll.setCategoryName("Toys");
+        index.rebuild(List.of(car, doll));
+
+        // When
+        List<SuggestionDTO> categories = index.suggest("toy", 10);
+
+        // Then
+        assertEquals(2, categories.size());
+        assertEquals(1, categories.get(0).getWeight());
+        assertNotEquals(categories.get(0).getId(), categories.get(1).getId());
+    }
+
+    @Test
+    void put_ShouldMoveAProductBetweenCategoriesAndReweighThem() {
+        // Given
+        ProductSummaryDTO novel = product("Novel", 0, "Books");
+        ProductSummaryDTO atlas = product("Atlas", 0, "Books");
+        index.rebuild(List.of(novel, atlas));
+
+        // When: the atlas is renamed and moved to a new category
+        atlas.setName("World Map");
+        atlas.setCategoryId(UUID.nameUUIDFromBytes("Maps".getBytes()));
+        atlas.setCategoryName("Maps");
+        index.put(atlas);
+
+        // Then
+        assertEquals(1, index.suggest("books", 10).get(0).getWeight());
+        assertEquals(List.of("Maps"), index.suggest("map", 10).stream()
+                .filter(s -> s.getType() == SuggestionDTO.Type.CATEGORY)
+                .map(SuggestionDTO::getText).toList());
+        assertTrue(index.suggest("atlas", 10).isEmpty());
+        assertEquals("World Map", index.suggest("world", 10).get(0).getText());
+    }
+
+    private ProductSummaryDTO product(String name, int ratingCount, String categoryName) {
+        ProductSummaryDTO dto = new ProductSummaryDTO();
+        dto.setId(UUID.randomUUID());
+        dto.setName(name);
+        dto.setRatingCount(ratingCount);
+        if (categoryName != null) {
+            dto.setCategoryId(UUID.nameUUIDFromBytes(categoryName.getBytes()));
+            dto.setCategoryName(categoryName);
+        }
+        return dto;
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.jalai_backend.service;
+
+import com.example.jalai_backend.dto.ProductSummaryDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RecentProductsFeedTest {
+
+    private RecentProductsFeed feed;
+
+    @BeforeEach
+    void setUp() {
+        feed = new RecentProductsFeed(3);
+    }
+
+    @Test
+    void insert_ShouldOverwriteOldestOnceFull() {
+        // Given
+        ProductSummaryDTO first = product("First", 4);
+        ProductSummaryDTO second = product("Second", 3);
+        feed.rebuild(List.of(second, first));
+
+        // When
+        ProductSummaryDTO third = product("Third", 2);
+        ProductSummaryDTO fourth = product("Fourth", 1);
+        feed.insert(third);
+        feed.insert(fourth);
+
+        // Then
+        assertEquals(List.of(fourth, third, second), feed.newest(10));
+        assertEquals(List.of(fourth), feed.newest(1));
+    }
+
+    @Test
+    void insert_ShouldPlaceProductsByCreationDateLikeAReload() {
+        // Given
+        ProductSummaryDTO newest = product("Newest", 1);
+        ProductSummaryDTO oldest = product("Oldest", 5);
+        feed.rebuild(List.of(newest, oldest));
+
+        // When: approved late, and an old product available again
+        ProductSummaryDTO middle = product("Middle", 3);
+        feed.insert(middle);
+        feed.insert(oldest);
+
+        // Then
+        assertEquals(List.of(newest, middle, oldest), feed.newest(10));
+    }
+
+    @Test
+    void insert_OlderThanAFullFeed_ShouldBeLeftOut() {
+        // Given
+        ProductSummaryDTO a = product("A", 1);
+        ProductSummaryDTO b = product("B", 2);
+        ProductSummaryDTO c = product("C", 3);
+        feed.rebuild(List.of(a, b, c));
+
+        // When
+        feed.insert(product("Ancient", 30));
+
+        // Then
+        assertEquals(List.of(a, b, c), feed.newest(10));
+    }
+
+    @Test
+    void remove_ShouldCloseGapAndRequestReloadOnlyWhenFull() {
+        // Given
+        ProductSummaryDTO a = product("A", 1);
+        ProductSummaryDTO b = product("B", 2);
+        ProductSummaryDTO c = product("C", 3);
+        feed.rebuild(List.of(a, b, c));
+
+        // When & Then
+        assertFalse(feed.remove(b.getId()));
+        assertEquals(List.of(a, c), feed.newest(10));
+        assertTrue(feed.remove(a.getId()));
+        assertEquals(List.of(c), feed.newest(10));
+    }
+
+    @Test
+    void insert_BeforeFirstRebuild_ShouldBeIgnored() {
+        // When
+        feed.insert(product("Early", 1));
+
+        // Then
+        assertFalse(feed.isReady());
+        assertTrue(feed.newest(10).isEmpty());
+    }
+
+    @Test
+    void feed_ShouldNotChangeWhenCallersModifyTheirProducts() {
+        // Given
+        ProductSummaryDTO lamp = product("Lamp", 2);
+        ProductSummaryDTO desk = product("Desk", 1);
+        feed.rebuild(List.of(lamp));
+        feed.insert(desk);
+
+        // When: the callers' instances and a handed-out one are all modified
+        lamp.setName("Changed");
+        desk.setName("Changed too");
+        feed.newest(10).get(0).setName("Changed again");
+
+        // Then
+        List<ProductSummaryDTO> newest = feed.newest(10);
+        assertEquals("Desk", newest.get(0).getName());
+        assertEquals("Lamp", newest.get(1).getName());
+    }
+
+    private ProductSummaryDTO product(String name, int daysOld) {
+        ProductSummaryDTO dto = new ProductSummaryDTO();
+        dto.setId(UUID.randomUUID());
+        dto.setName(name);
+        dto.setCreatedAt(LocalDateTime.now().minusDays(daysOld));
+        return dto;
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.jalai_backend.service;
+
+import com.example.jalai_backend.dto.ProductSummaryDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RelatedProductsTest {
+
+    private final UUID books = UUID.randomUUID();
+    private final UUID toys = UUID.randomUUID();
+
+    private RelatedProducts related;
+
+    @BeforeEach
+    void setUp() {
+        related = new RelatedProducts();
+    }
+
+    @Test
+    void rebuild_ShouldRankSameCategoryByPriceProximity() {
+        // Given
+        ProductSummaryDTO novel = product(books, "10.00");
+        ProductSummaryDTO close = product(books, "11.00");
+        ProductSummaryDTO far = product(books, "40.00");
+        ProductSummaryDTO otherCategory = product(toys, "10.00");
+
+        // When
+        related.rebuild(List.of(novel, close, far, otherCategory), Map.of());
+
+        // Then
+        assertEquals(List.of(close.getId(), far.getId()), related.get(novel.getId()));
+        assertTrue(related.get(otherCategory.getId()).isEmpty());
+    }
+
+    @Test
+    void rebuild_ShouldRankCoPurchasesAboveSimilarity() {
+        // Given
+        ProductSummaryDTO novel = product(books, "10.00");
+        ProductSummaryDTO sameCategory = product(books, "10.00");
+        ProductSummaryDTO boughtWith = product(toys, "500.00");
+
+        // When
+        related.rebuild(List.of(novel, sameCategory, boughtWith),
+                Map.of(novel.getId(), Map.of(boughtWith.getId(), 1L)));
+
+        // Then
+        assertEquals(List.of(boughtWith.getId(), sameCategory.getId()), related.get(novel.getId()));
+    }
+
+    @Test
+    void recordOrder_ShouldUpdateListsOfOrderedProductsOnly() {
+        // Given
+        ProductSummaryDTO lamp = product(toys, "20.00");
+        ProductSummaryDTO kite = product(books, "5.00");
+        ProductSummaryDTO unrelated = product(null, "1.00");
+        List<ProductSummaryDTO> storefront = List.of(lamp, kite, unrelated);
+        related.rebuild(storefront, Map.of());
+        assertTrue(related.get(lamp.getId()).isEmpty());
+
+        // When
+        related.recordOrder(List.of(lamp.getId(), kite.getId()));
+
+        // Then
+        assertEquals(List.of(kite.getId()), related.get(lamp.getId()));
+        assertEquals(List.of(lamp.getId()), related.get(kite.getId()));
+        assertTrue(related.get(unrelated.getId()).isEmpty());
+    }
+
+    @Test
+    void rebuild_ShouldKeepTopNeighboursOnly() {
+        // Given
+        List<ProductSummaryDTO> storefront = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            storefront.add(product(books, (100 + i) + ".00"));
+        }
+
+        // When
+        related.rebuild(storefront, Map.of());
+
+        // Then
+        List<UUID> neighbours = related.get(storefront.get(0).getId());
+        assertEquals(RelatedProducts.NEIGHBOURS, neighbours.size());
+        assertEquals(storefront.get(1).getId(), neighbours.get(0));
+    }
+
+    @Test
+    void putAndRemove_ShouldFollowStorefrontChanges() {
+        // Given
+        ProductSummaryDTO novel = product(books, "10.00");
+        ProductSummaryDTO atlas = product(books, "30.00");
+        related.rebuild(List.of(novel, atlas), Map.of());
+
+        // When: the atlas moves to toys, and a new book arrives
+        atlas.setCategoryId(toys);
+        related.put(atlas);
+        ProductSummaryDTO poems = product(books, "11.00");
+        related.put(poems);
+
+        // Then
+        assertEquals(List.of(novel.getId()), related.get(poems.getId()));
+        assertTrue(related.get(atlas.getId()).isEmpty());
+
+        // When
+        related.remove(novel.getId());
+        related.put(poems);
+
+        // Then
+        assertNull(related.get(novel.getId()));
+        assertTrue(related.get(poems.getId()).isEmpty());
+    }
+
+    private ProductSummaryDTO product(UUID categoryId, String price) {
+        ProductSummaryDTO dto = new ProductSummaryDTO();
+        dto.setId(UUID.randomUUID());
+        dto.setName("Product " + price);
+        dto.setCategoryId(categoryId);
+        dto.setPrice(new BigDecimal(price));
+        return dto;
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.jalai_backend.service;
+
+import com.example.jalai_backend.BaseTest;
+import com.example.jalai_backend.dto.ProductSummaryDTO;
+import com.example.jalai_backend.model.Client;
+import com.example.jalai_backend.model.Product;
+import com.example.jalai_backend.model.Review;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReviewServiceTest extends BaseTest {
+
+    @Autowired
+    private ReviewService reviewService;
+
+    @Autowired
+    private ProductService productService;
+
+    @BeforeEach
+    void resetTopRatedRanking() {
+        productService.buildTopRatedProducts();
+    }
+
+    @Test
+    void createReview_ShouldUpdateRatingAggregateAndRanking() {
+        // Given
+        Client otherClient = createTestClient("Other Client", "otherclient@test.com");
+
+        // When
+        reviewService.createReview(testClient.getId(), testProduct.getId(), 4, "Good");
+        reviewService.createReview(otherClient.getId(), testProduct.getId(), 5, "Great");
+        simulateCommit();
+
+        // Then
+        Product product = productRepository.findById(testProduct.getId()).orElseThrow();
+        assertEquals(9L, product.getRatingSum());
+        assertEquals(2, product.getRatingCount());
+        assertEquals(4.5, product.getAverageRating());
+
+        List<ProductSummaryDTO> topRated = productService.getTopRatedProducts();
+        assertEquals(testProduct.getId(), topRated.get(0).getId());
+        assertEquals(4.5, topRated.get(0).getAverageRating());
+    }
+
+    @Test
+    void createReview_OnProductOffTheStorefront_ShouldNotRankIt() {
+        // Given: a pending product
+        Product pending = createTestProduct("Pending Lamp", new BigDecimal("20.00"), testSeller, testCategory);
+        pending.setIsApproved(false);
+        productRepository.save(pending);
+
+        // When
+        reviewService.createReview(testClient.getId(), pending.getId(), 5, "Perfect");
+        simulateCommit();
+
+        // Then: neither the incremental update nor a reload lists it
+        assertTrue(productService.getTopRatedProducts().stream().noneMatch(p -> p.getId().equals(pending.getId())));
+        productService.buildTopRatedProducts();
+        assertTrue(productService.getTopRatedProducts().stream().noneMatch(p -> p.getId().equals(pending.getId())));
+    }
+
+    @Test
+    void updateReview_ShouldAdjustAggregateByRatingDifference() {
+        // Given
+        Review review = reviewService.createReview(testClient.getId(), testProduct.getId(), 2, "Meh");
+
+        // When
+        reviewService.updateReview(review.getReviewId(), testClient.getId(), 4, "Better after all");
+
+        // Then
+        Product product = productRepository.findById(testProduct.getId()).orElseThrow();
+        assertEquals(4L, product.getRatingSum());
+        assertEquals(1, product.getRatingCount());
+        assertEquals(4.0, product.getAverageRating());
+    }
+
+    @Test
+    void deleteReview_ShouldRemoveRatingFromAggregate() {
+        // Given
+        Review review = reviewService.createReview(testClient.getId(), testProduct.getId(), 3, "Okay");
+
+        // When
+        reviewService.deleteReview(review.getReviewId(), testClient.getId());
+
+        // Then
+        Product product = productRepository.findById(testProduct.getId()).orElseThrow();
+        assertEquals(0L, product.getRatingSum());
+        assertEquals(0, product.getRatingCount());
+        assertEquals(0.0, product.getAverageRating());
+        assertFalse(reviewRepository.existsById(review.getReviewId()));
+    }
+
+    @Test
+    void updateReview_ByAnotherClient_ShouldThrowException() {
+        // Given
+        Review review = reviewService.createReview(testClient.getId(), testProduct.getId(), 5, "Love it");
+
+        // When & Then
+        assertThrows(RuntimeException.class,
+                () -> reviewService.updateReview(review.getReviewId(), testSeller.getId(), 1, "Not mine"));
+    }
+}
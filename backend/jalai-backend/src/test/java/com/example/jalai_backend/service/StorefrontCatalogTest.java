@@ -0,0 +1,136 @@
+package com.example.jalai_backend.service;
+
+import com.example.jalai_backend.dto.ProductSummaryDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StorefrontCatalogTest {
+
+    private StorefrontCatalog catalog;
+
+    @BeforeEach
+    void setUp() {
+        catalog = new StorefrontCatalog();
+    }
+
+    @Test
+    void isReady_ShouldBeFalseUntilFirstRebuild() {
+        // Given
+        catalog.put(product("Lamp", "Home", 1));
+
+        // Then
+        assertFalse(catalog.isReady());
+        assertEquals(0, catalog.size());
+
+        // When
+        catalog.rebuild(List.of());
+
+        // Then
+        assertTrue(catalog.isReady());
+    }
+
+    @Test
+    void findAll_ShouldPageNewestFirst() {
+        // Given
+        ProductSummaryDTO oldest = product("Oldest", "Home", 3);
+        ProductSummaryDTO middle = product("Middle", "Home", 2);
+        ProductSummaryDTO newest = product("Newest", "Books", 1);
+        catalog.rebuild(List.of(oldest, newest, middle));
+
+        // When
+        Page<ProductSummaryDTO> first = catalog.findAll(PageRequest.of(0, 2));
+        Page<ProductSummaryDTO> second = catalog.findAll(PageRequest.of(1, 2));
+
+        // Then
+        assertEquals(3, first.getTotalElements());
+        assertEquals(List.of(newest, middle), first.getContent());
+        assertEquals(List.of(oldest), second.getContent());
+    }
+
+    @Test
+    void findByCategoryName_ShouldIgnoreCaseAndFollowUpdates() {
+        // Given
+        ProductSummaryDTO chair = product("Chair", "Furniture", 2);
+        catalog.rebuild(List.of(chair, product("Novel", "Books", 1)));
+
+        // When
+        ProductSummaryDTO table = product("Table", "Furniture", 1);
+        catalog.put(table);
+        catalog.remove(chair.getId());
+
+        // Then
+        Page<ProductSummaryDTO> furniture = catalog.findByCategoryName("FURNITURE", PageRequest.of(0, 10));
+        assertEquals(List.of(table), furniture.getContent());
+        assertTrue(catalog.findByCategoryName("Garden", PageRequest.of(0, 10)).isEmpty());
+        assertEquals(2, catalog.size());
+    }
+
+    @Test
+    void findAll_WithSameCreationTime_ShouldOrderIdsAsUnsignedBytesLikeTheDatabase() {
+        // Given: UUID.compareTo would put the id with the high bit set first
+        LocalDateTime createdAt = LocalDateTime.now();
+        ProductSummaryDTO low = product("Low", "Home", 0);
+        low.setId(UUID.fromString("10000000-0000-0000-0000-000000000000"));
+        low.setCreatedAt(createdAt);
+        ProductSummaryDTO high = product("High", "Home", 0);
+        high.setId(UUID.fromString("f0000000-0000-0000-0000-000000000000"));
+        high.setCreatedAt(createdAt);
+
+        // When
+        catalog.rebuild(List.of(low));
+        catalog.put(high);
+
+        // Then: id DESC
+        assertEquals(List.of(high, low), catalog.findAll(PageRequest.of(0, 10)).getContent());
+        assertEquals(List.of(high, low), catalog.findByCategoryName("home", PageRequest.of(0, 10)).getContent());
+    }
+
+    @Test
+    void put_ShouldMoveAProductWhoseCategoryChanged() {
+        // Given
+        ProductSummaryDTO lamp = product("Lamp", "Home", 2);
+        catalog.rebuild(List.of(lamp, product("Novel", "Books", 1)));
+
+        // When
+        ProductSummaryDTO moved = new ProductSummaryDTO(lamp);
+        moved.setCategoryName("Books");
+        catalog.put(moved);
+
+        // Then
+        assertTrue(catalog.findByCategoryName("Home", PageRequest.of(0, 10)).isEmpty());
+        assertEquals(2, catalog.findByCategoryName("Books", PageRequest.of(0, 10)).getTotalElements());
+        assertEquals(2, catalog.size());
+    }
+
+    @Test
+    void snapshot_ShouldNotChangeWhenCallersModifyTheirProducts() {
+        // Given
+        ProductSummaryDTO lamp = product("Lamp", "Home", 1);
+        catalog.rebuild(List.of(lamp));
+
+        // When: the caller's instance and a handed-out one are both modified
+        lamp.setName("Changed");
+        catalog.findAll(PageRequest.of(0, 10)).getContent().get(0).setName("Changed too");
+        catalog.get(lamp.getId()).setPrice(null);
+
+        // Then
+        assertEquals("Lamp", catalog.get(lamp.getId()).getName());
+    }
+
+    private ProductSummaryDTO product(String name, String categoryName, int daysOld) {
+        ProductSummaryDTO dto = new ProductSummaryDTO();
+        dto.setId(UUID.randomUUID());
+        dto.setName(name);
+        dto.setCategoryName(categoryName);
+        dto.setCreatedAt(LocalDateTime.now().minusDays(daysOld));
+        return dto;
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.jalai_backend.service;
+
+import com.example.jalai_backend.dto.ProductSummaryDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TopRatedProductsTest {
+
+    private TopRatedProducts ranking;
+
+    @BeforeEach
+    void setUp() {
+        ranking = new TopRatedProducts(3);
+    }
+
+    @Test
+    void update_ShouldInsertInRankAndKeepOnlyCapacity() {
+        // Given
+        ProductSummaryDTO good = product(4.0, 10);
+        ProductSummaryDTO fair = product(3.0, 10);
+        ProductSummaryDTO poor = product(2.0, 10);
+        ranking.rebuild(List.of(poor, good, fair));
+
+        // When
+        ProductSummaryDTO best = product(5.0, 1);
+        boolean trusted = ranking.update(best);
+
+        // Then
+        assertTrue(trusted);
+        assertEquals(List.of(best, good, fair), ranking.get());
+    }
+
+    @Test
+    void update_ShouldBreakTiesOnReviewCount() {
+        // Given
+        ProductSummaryDTO fewReviews = product(4.0, 2);
+        ranking.rebuild(List.of(fewReviews));
+
+        // When
+        ProductSummaryDTO manyReviews = product(4.0, 20);
+        ranking.update(manyReviews);
+
+        // Then
+        assertEquals(List.of(manyReviews, fewReviews), ranking.get());
+    }
+
+    @Test
+    void update_WhenListedProductSinksToLastSlot_ShouldRequestReload() {
+        // Given
+        ProductSummaryDTO first = product(5.0, 1);
+        ProductSummaryDTO second = product(4.0, 1);
+        ProductSummaryDTO third = product(3.0, 1);
+        ranking.rebuild(List.of(first, second, third));
+
+        // When
+        first.setAverageRating(1.0);
+        boolean trusted = ranking.update(first);
+
+        // Then
+        assertFalse(trusted);
+    }
+
+    @Test
+    void remove_FromFullRanking_ShouldRequestReload() {
+        // Given
+        ProductSummaryDTO first = product(5.0, 1);
+        ranking.rebuild(List.of(first, product(4.0, 1), product(3.0, 1)));
+
+        // When & Then
+        assertFalse(ranking.remove(first.getId()));
+        assertEquals(2, ranking.get().size());
+        assertTrue(ranking.remove(UUID.randomUUID()));
+    }
+
+    private ProductSummaryDTO product(double averageRating, int ratingCount) {
+        ProductSummaryDTO dto = new ProductSummaryDTO();
+        dto.setId(UUID.randomUUID());
+        dto.setAverageRating(averageRating);
+        dto.setRatingCount(ratingCount);
+        dto.setCreatedAt(LocalDateTime.now());
+        return dto;
+    }
+}